@@ -0,0 +1,93 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * CPU side of the compression tradeoff for full-roster responses: server-side gzip at a given level, and client-side
+ * streaming decode (inflate while Jackson parses) versus parsing the identity body. Compressed sizes are printed once
+ * per trial so the bandwidth side can be read off directly.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=CompressionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressionBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> ROSTER_TYPE = new TypeReference<>() {};
+
+    @Param({"50", "10000"})
+    private int rosterSize;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] identity;
+    private byte[] gzipped;
+
+    @Setup
+    public void setUp() throws IOException {
+        identity = objectMapper.writeValueAsBytes(ApiResponse.<List<Employee>>builder()
+                .data(Rosters.employees(rosterSize))
+                .status("Successfully processed request.")
+                .build());
+        gzipped = gzip(identity, level);
+        System.out.printf(
+                "%nroster=%d level=%d identity=%d bytes gzip=%d bytes (%.1f%%)%n",
+                rosterSize, level, identity.length, gzipped.length, 100.0 * gzipped.length / identity.length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        return gzip(identity, level);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> decodeIdentity() throws IOException {
+        return objectMapper.readValue(identity, ROSTER_TYPE);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> decodeGzipStreaming() throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return objectMapper.readValue(in, ROSTER_TYPE);
+        }
+    }
+
+    private static byte[] gzip(byte[] body, int level) throws IOException {
+        final var buffer = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream out = new LeveledGzipOutputStream(buffer, level)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
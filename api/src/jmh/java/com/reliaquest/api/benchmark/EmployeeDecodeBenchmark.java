@@ -0,0 +1,76 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDeserializer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decode cost of a full roster response: the previous path, with a type reference built per call and the bean
+ * deserializer, against a cached {@link ObjectReader} with the bean deserializer and with the streaming
+ * {@link EmployeeDeserializer}. Run with {@code -prof gc} to compare allocation per roster.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=EmployeeDecodeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeDecodeBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> ROSTER_TYPE = new TypeReference<>() {};
+
+    @Param({"50", "10000"})
+    private int rosterSize;
+
+    private final ObjectMapper beanMapper = new ObjectMapper().addMixIn(Employee.class, BeanDeserialized.class);
+    private final ObjectMapper streamingMapper = new ObjectMapper();
+
+    private ObjectReader beanReader;
+    private ObjectReader streamingReader;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        json = streamingMapper.writeValueAsBytes(ApiResponse.<List<Employee>>builder()
+                .data(Rosters.employees(rosterSize))
+                .status("Successfully processed request.")
+                .build());
+        beanReader = beanMapper.readerFor(ROSTER_TYPE);
+        streamingReader = streamingMapper.readerFor(ROSTER_TYPE);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> beanPerCallType() throws Exception {
+        return beanMapper.readValue(json, new TypeReference<ApiResponse<List<Employee>>>() {});
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> beanCachedReader() throws Exception {
+        return beanReader.readValue(json);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> streamingCachedReader() throws Exception {
+        return streamingReader.readValue(json);
+    }
+
+    /*
+     * Mix-in restoring Jackson's bean deserializer for Employee, i.e. the decoding before EmployeeDeserializer.
+     */
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class BeanDeserialized {}
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reliaquest.api.dto.ErrorResponse;
+import com.reliaquest.api.exception.ErrorBodyTemplate;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Error-path throughput under a 429 storm: throwing the exception from some depth of stack, catching it at the top as
+ * the exception handler would, and producing the response body. The previous path captures a stack trace and
+ * serializes a fresh {@link ErrorResponse}; the current one throws a stackless exception and renders a pre-encoded
+ * template. The depth stands in for the Spring MVC, AOP and retry frames between the handler and the throw site.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=ErrorPathBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ErrorPathBenchmark {
+
+    private static final String PATH = "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+    private static final String MESSAGE = "Too many requests, retrying...";
+
+    private static final ErrorBodyTemplate TEMPLATE = new ErrorBodyTemplate(
+            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", "Please try again after sometime");
+
+    @Param({"20", "120"})
+    private int stackDepth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Benchmark
+    public byte[] stackTraceAndObjectMapper() throws JsonProcessingException {
+        try {
+            throwFrom(stackDepth, true);
+            return null;
+        } catch (RuntimeException e) {
+            return objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                    .error("Too Many Requests")
+                    .message("Please try again after sometime")
+                    .path(("uri=" + PATH).replace("uri=", ""))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessAndTemplate() {
+        try {
+            throwFrom(stackDepth, false);
+            return null;
+        } catch (RuntimeException e) {
+            return TEMPLATE.render(LocalDateTime.now(), PATH);
+        }
+    }
+
+    private static void throwFrom(int depth, boolean withStackTrace) {
+        if (depth > 0) {
+            throwFrom(depth - 1, withStackTrace);
+            return;
+        }
+        throw withStackTrace ? new StackfulTooManyRequestsException(MESSAGE) : new TooManyRequestsException(MESSAGE);
+    }
+
+    /*
+     * TooManyRequestsException as it was before it became stackless.
+     */
+    private static final class StackfulTooManyRequestsException extends RuntimeException {
+
+        private StackfulTooManyRequestsException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.util.Uuids;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Id validation on the getEmployeeById path: the previous trim plus {@link UUID#fromString} with an exception for
+ * invalid input, against {@link Uuids#parseOrNull}. Run with {@code -prof gc} to compare allocation per call.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=IdParsingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdParsingBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String input;
+
+    private String id;
+
+    @Setup
+    public void setUp() {
+        String uuid = UUID.randomUUID().toString();
+        id = "valid".equals(input) ? uuid : uuid.substring(0, 35) + "z";
+    }
+
+    @Benchmark
+    public UUID trimAndFromString() {
+        if (id == null || id.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public UUID parseOrNull() {
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        return Uuids.parseOrNull(id);
+    }
+}
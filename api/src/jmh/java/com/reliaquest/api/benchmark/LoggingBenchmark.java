@@ -0,0 +1,99 @@
+package com.reliaquest.api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.reliaquest.api.util.RateLimitedLogger;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Cost of one per-request log line on the request thread, with four threads logging at once. {@code sync} formats and
+ * writes on the caller as the default console appender does; {@code async} hands the event to a non-blocking
+ * {@link AsyncAppender}; {@code rateLimited} goes through a {@link RateLimitedLogger} at five lines a second; and
+ * {@code off} is the line demoted below the logger's level. Output is discarded, so {@code sync} understates what a
+ * real console costs.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=LoggingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String EMPLOYEE_ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+
+    @Param({"off", "sync", "async", "rateLimited"})
+    private String mode;
+
+    private LoggerContext context;
+    private ch.qos.logback.classic.Logger logger;
+    private RateLimitedLogger rateLimitedLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> appender = console;
+        if (mode.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_CONSOLE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            appender = async;
+        }
+
+        logger = context.getLogger("com.reliaquest.api.service.impl.EmployeeService");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        logger.setLevel(
+                mode.equals("off") ? ch.qos.logback.classic.Level.INFO : ch.qos.logback.classic.Level.DEBUG);
+        rateLimitedLogger = RateLimitedLogger.of(logger, 5, Duration.ofSeconds(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logRequest() {
+        if (mode.equals("rateLimited")) {
+            rateLimitedLogger.info("Fetching employee by id {}", EMPLOYEE_ID);
+        } else {
+            logger.debug("Fetching employee by id {}", EMPLOYEE_ID);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Name lookups over a roster of realistic first and last names: the substring scan behind name search, against prefix
+ * autocomplete and typo-tolerant fuzzy search on a {@link NameIndex} and by the scan used before an index is built,
+ * plus the cost of building the index for a view.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=NameSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+        "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Margaret", "Anthony", "Betty", "Mark", "Sandra",
+        "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily", "Andrew", "Donna", "Joshua", "Michelle"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee",
+        "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young",
+        "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores"
+    };
+
+    @Param({"10000", "100000"})
+    private int rosterSize;
+
+    private List<Employee> employees;
+    private RosterView view;
+    private NameIndex index;
+
+    @Setup
+    public void setUp() {
+        employees = IntStream.range(0, rosterSize)
+                .mapToObj(i -> Employee.builder()
+                        .id(String.valueOf(i))
+                        .employeeName(FIRST_NAMES[i % FIRST_NAMES.length] + " "
+                                + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length])
+                        .build())
+                .toList();
+        view = RosterView.of(employees, Instant.now());
+        index = NameIndex.of(employees);
+    }
+
+    @Benchmark
+    public List<Employee> substringScan() {
+        return view.searchByName("jenn");
+    }
+
+    @Benchmark
+    public List<Employee> autocomplete() {
+        return index.autocomplete("jenn", 10);
+    }
+
+    @Benchmark
+    public List<Employee> fuzzySearch() {
+        return index.fuzzySearch("jenifer robinsen", 10);
+    }
+
+    @Benchmark
+    public List<Employee> fuzzySearchScan() {
+        return NameIndex.scanFuzzySearch(employees, "jenifer robinsen", 10);
+    }
+
+    @Benchmark
+    public NameIndex build() {
+        return NameIndex.of(employees);
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.export.ColumnarRosterWriter;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of exporting a roster snapshot as the columnar file versus gzipped JSON, both streamed to a discarding output
+ * so only encoding and compression are measured. Run with {@code -prof gc} to compare allocation per export; file
+ * sizes are printed once per trial.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=RosterExportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RosterExportBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int rosterSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Employee> roster;
+
+    @Setup
+    public void setUp() throws IOException {
+        roster = Rosters.employees(rosterSize);
+        final var columnar = new ByteArrayOutputStream();
+        writeColumnar(columnar);
+        final var json = new ByteArrayOutputStream();
+        writeGzipJson(json);
+        System.out.printf(
+                "%nroster=%d json.gz=%d bytes columnar=%d bytes (%.1f%%)%n",
+                rosterSize, json.size(), columnar.size(), 100.0 * columnar.size() / json.size());
+    }
+
+    @Benchmark
+    public void columnar() throws IOException {
+        writeColumnar(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void gzipJson() throws IOException {
+        writeGzipJson(OutputStream.nullOutputStream());
+    }
+
+    private void writeColumnar(OutputStream out) throws IOException {
+        try (final var writer = new ColumnarRosterWriter(out)) {
+            writer.write(roster);
+        }
+    }
+
+    private void writeGzipJson(OutputStream out) throws IOException {
+        try (final var gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, roster);
+        }
+    }
+}
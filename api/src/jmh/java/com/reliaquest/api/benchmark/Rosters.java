@@ -0,0 +1,35 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic rosters shaped like the mock server's generated data.
+ */
+final class Rosters {
+
+    private static final String[] TITLES = {
+        "Documentation Engineer", "Financial Advisor", "Chief Operations Specialist", "Sales Manager"
+    };
+
+    private Rosters() {}
+
+    static List<Employee> employees(int size) {
+        return IntStream.range(0, size).mapToObj(Rosters::employee).toList();
+    }
+
+    static Employee employee(int index) {
+        final var random = ThreadLocalRandom.current();
+        return Employee.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Employee " + index)
+                .employeeSalary(random.nextInt(30000, 500000))
+                .employeeAge(random.nextInt(16, 70))
+                .employeeTitle(TITLES[index % TITLES.length])
+                .employeeEmail("employee" + index + "@company.com")
+                .build();
+    }
+}
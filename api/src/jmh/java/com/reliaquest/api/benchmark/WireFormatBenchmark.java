@@ -0,0 +1,62 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decode cost of a full roster response in JSON versus Smile. Payload sizes are printed once per trial.
+ *
+ * <p>Run with {@code ./gradlew api:jmh -Pjmh.includes=WireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> ROSTER_TYPE = new TypeReference<>() {};
+
+    @Param({"50", "10000"})
+    private int rosterSize;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new SmileMapper();
+
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() throws Exception {
+        final var roster = ApiResponse.<List<Employee>>builder()
+                .data(Rosters.employees(rosterSize))
+                .status("Successfully processed request.")
+                .build();
+        json = jsonMapper.writeValueAsBytes(roster);
+        smile = smileMapper.writeValueAsBytes(roster);
+        System.out.printf(
+                "%nroster=%d json=%d bytes smile=%d bytes (%.1f%%)%n",
+                rosterSize, json.length, smile.length, 100.0 * smile.length / json.length);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> decodeJson() throws Exception {
+        return jsonMapper.readValue(json, ROSTER_TYPE);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> decodeSmile() throws Exception {
+        return smileMapper.readValue(smile, ROSTER_TYPE);
+    }
+}
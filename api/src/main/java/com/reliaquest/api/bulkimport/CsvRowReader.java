@@ -0,0 +1,179 @@
+package com.reliaquest.api.bulkimport;
+
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.RequestValidationException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comma-separated values as in RFC 4180: a header row naming the columns {@code name}, {@code salary}, {@code age} and
+ * {@code title} in any order, then one employee per record. Fields may be quoted, with {@code ""} for a quote inside
+ * them and line breaks allowed; other columns are ignored. The header is read when the reader is opened, so an upload
+ * without the required columns is rejected before any row is processed.
+ */
+public class CsvRowReader implements ImportRowReader {
+
+    private static final List<String> COLUMNS = List.of("name", "salary", "age", "title");
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final int[] columnIndexes = new int[COLUMNS.size()];
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    private int headerSize;
+    private long line = 1;
+    private boolean exhausted;
+    private boolean tooLong;
+    private boolean unterminated;
+
+    private CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static CsvRowReader open(Reader reader) throws IOException {
+        CsvRowReader csv = new CsvRowReader(reader);
+        csv.readHeader();
+        return csv;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            long startLine = line;
+            if (!readRecord()) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (tooLong) {
+                return ImportRow.unreadable(startLine, "Row is longer than " + MAX_ROW_CHARS + " characters");
+            }
+            if (unterminated) {
+                return ImportRow.unreadable(startLine, "Quoted field is never closed");
+            }
+            if (fields.size() != headerSize) {
+                return ImportRow.unreadable(
+                        startLine, "Expected " + headerSize + " fields but found " + fields.size());
+            }
+            return toRow(startLine);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (!readRecord()) {
+            throw invalidHeader();
+        }
+        if (!fields.isEmpty() && !fields.get(0).isEmpty() && fields.get(0).charAt(0) == BYTE_ORDER_MARK) {
+            fields.set(0, fields.get(0).substring(1));
+        }
+        List<String> names = fields.stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columnIndexes[i] = names.indexOf(COLUMNS.get(i));
+            if (columnIndexes[i] < 0) {
+                throw invalidHeader();
+            }
+        }
+        headerSize = names.size();
+    }
+
+    private ImportRow toRow(long startLine) {
+        try {
+            return ImportRow.parsed(
+                    startLine,
+                    EmployeeRequest.builder()
+                            .name(text(0))
+                            .salary(number(1))
+                            .age(number(2))
+                            .title(text(3))
+                            .build());
+        } catch (NumberFormatException e) {
+            return ImportRow.unreadable(startLine, e.getMessage());
+        }
+    }
+
+    private String text(int column) {
+        String value = fields.get(columnIndexes[column]).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Integer number(int column) {
+        String value = text(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(COLUMNS.get(column) + ": must be a whole number, got '" + value + "'");
+        }
+    }
+
+    /*
+     * Reads the next record into fields. False at the end of the upload when there is no record left.
+     */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        tooLong = false;
+        unterminated = false;
+        int length = 0;
+        boolean quoted = false;
+
+        int c = exhausted ? -1 : reader.read();
+        if (c == -1) {
+            exhausted = true;
+            return false;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                length = append(c, length);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return true;
+            } else if (c != '\r') {
+                length = append(c, length);
+            }
+            c = reader.read();
+        }
+        exhausted = true;
+        unterminated = quoted;
+        fields.add(field.toString());
+        return true;
+    }
+
+    private int append(int c, int length) {
+        if (length < MAX_ROW_CHARS) {
+            field.append((char) c);
+        } else {
+            tooLong = true;
+        }
+        return length + 1;
+    }
+
+    private static RequestValidationException invalidHeader() {
+        return new RequestValidationException(
+                "Validation failed", List.of("CSV header must name the columns " + String.join(", ", COLUMNS)));
+    }
+}
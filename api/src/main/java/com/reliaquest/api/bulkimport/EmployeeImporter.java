@@ -0,0 +1,385 @@
+package com.reliaquest.api.bulkimport;
+
+import com.reliaquest.api.dto.EmployeeBatchRequest;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.dto.ImportEvent;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.RequestValidationException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.upstream.UpstreamOperation;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Streams an upload of employees to the upstream. The request thread reads and validates rows and hands valid ones
+ * over in batches; a sender thread creates each batch with a single upstream call, or row by row when the upstream has
+ * no batch endpoint, waiting out throttling instead of giving up.
+ *
+ * <p>At most {@code pipeline-depth} batches wait for the sender. Once they are full the request thread stops reading,
+ * so a fast upload is slowed to the pace the upstream accepts creates at and memory stays bounded by the batches in
+ * flight. Invalid rows, progress after each batch and a final summary are reported as {@link ImportEvent}s while the
+ * import runs.
+ *
+ * <p>Creates are not idempotent. A create that fails without a clear answer, such as on a dropped connection or a
+ * server error, may still have been applied, so it is never retried: the import stops and reports the line it stopped
+ * at, and the rows from there on can be checked and uploaded again.
+ */
+@Slf4j
+@Component
+public class EmployeeImporter implements DisposableBean {
+
+    private static final long POLL_MILLIS = 100;
+    private static final Duration MIN_UNAVAILABLE_WAIT = Duration.ofSeconds(1);
+
+    /*
+     * Handed to the sender after the last batch.
+     */
+    private static final List<ImportRow> END = List.of();
+
+    private final EmployeeService employeeService;
+    private final int batchSize;
+    private final int pipelineDepth;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor executor;
+
+    public EmployeeImporter(
+            EmployeeService employeeService,
+            @Value("${app.import.max-concurrent:1}") int maxConcurrent,
+            @Value("${app.import.batch-size:100}") int batchSize,
+            @Value("${app.import.pipeline-depth:2}") int pipelineDepth,
+            @Value("${app.import.max-attempts:5}") int maxAttempts,
+            @Value("${app.import.retry-delay:30s}") Duration retryDelay) {
+        this.employeeService = employeeService;
+        if (batchSize > EmployeeBatchRequest.MAX_EMPLOYEES) {
+            log.warn(
+                    "app.import.batch-size {} is above the external service's limit, using {}",
+                    batchSize,
+                    EmployeeBatchRequest.MAX_EMPLOYEES);
+        }
+        this.batchSize = Math.min(batchSize, EmployeeBatchRequest.MAX_EMPLOYEES);
+        this.pipelineDepth = pipelineDepth;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.slots = new Semaphore(maxConcurrent);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Receives the events of one import, from the request thread and the sender one at a time. Events that need not
+     * reach the client straight away are not flushed.
+     */
+    @FunctionalInterface
+    public interface EventSink {
+
+        void accept(ImportEvent event, boolean flush) throws IOException;
+    }
+
+    /*
+     * Runs an import on the calling thread until every row has been read and sent, or until the upload or the sink
+     * fails. Throws TooManyRequestsException when max-concurrent imports are already running.
+     */
+    public void run(ImportRowReader rows, EventSink sink) {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many imports in progress");
+        }
+        try {
+            new Run(rows, sink).execute();
+        } finally {
+            slots.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /*
+     * Only an answer from the upstream, a client error, shows that nothing was created.
+     */
+    private static boolean mayHaveCreated(ExternalServiceException e) {
+        return !(e.getCause() instanceof HttpClientErrorException);
+    }
+
+    private final class Run {
+
+        private final ImportRowReader rows;
+        private final EventSink sink;
+        private final BlockingQueue<List<ImportRow>> batches = new ArrayBlockingQueue<>(pipelineDepth);
+        private final long startedAt = System.nanoTime();
+
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long rowsRead;
+
+        /*
+         * Set once the import should stop. Checked under the lock before every event, so nothing is written to the
+         * sink after the run has returned.
+         */
+        private volatile boolean aborted;
+
+        private Run(ImportRowReader rows, EventSink sink) {
+            this.rows = rows;
+            this.sink = sink;
+        }
+
+        private void execute() {
+            Future<?> sender = executor.submit(this::drain);
+            try {
+                read();
+                if (hand(END)) {
+                    sender.get();
+                }
+            } catch (IOException e) {
+                abort("Upload could not be read: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort("Import interrupted");
+            } catch (ExecutionException e) {
+                log.error("Import sender failed", e.getCause());
+                abort("Import failed: " + e.getCause().getMessage());
+            } finally {
+                sender.cancel(true);
+            }
+
+            boolean completed = !aborted;
+            if (completed) {
+                emit(summary(ImportEvent.Type.COMPLETED).build(), true);
+            }
+            close();
+            log.info(
+                    "Import {} after {} rows: {} created, {} failed",
+                    completed ? "completed" : "aborted",
+                    rowsRead,
+                    created.get(),
+                    failed.get());
+        }
+
+        private void read() throws IOException, InterruptedException {
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            for (ImportRow row = rows.next(); row != null && !aborted; row = rows.next()) {
+                rowsRead++;
+                List<String> errors = validate(row);
+                if (errors != null) {
+                    failed.incrementAndGet();
+                    emit(failure(row.line(), errors), false);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    if (!hand(batch)) {
+                        return;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                hand(batch);
+            }
+        }
+
+        private List<String> validate(ImportRow row) {
+            if (row.error() != null) {
+                return List.of(row.error());
+            }
+            try {
+                employeeService.validateReqBody(row.request());
+                return null;
+            } catch (RequestValidationException e) {
+                return e.getValidationErrors();
+            }
+        }
+
+        /*
+         * Blocks while the pipeline is full. False if the import was aborted in the meantime.
+         */
+        private boolean hand(List<ImportRow> batch) throws InterruptedException {
+            while (!batches.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (aborted) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<ImportRow> batch = batches.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (batch == END || (batch == null && aborted)) {
+                        return;
+                    }
+                    if (batch != null) {
+                        send(batch);
+                        emit(summary(ImportEvent.Type.PROGRESS).build(), true);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Stops the reader too, which would otherwise wait on a full pipeline forever.
+                log.error("Import sender failed", e);
+                abort("Import failed: " + e.getMessage());
+            }
+        }
+
+        private void send(List<ImportRow> batch) throws InterruptedException {
+            List<EmployeeRequest> requests = batch.stream().map(ImportRow::request).toList();
+            Optional<List<Employee>> createdBatch =
+                    withRetries(batch, () -> employeeService.submitEmployees(requests, UpstreamOperation.IMPORT));
+            if (createdBatch == null) {
+                return;
+            }
+            if (createdBatch.isPresent()) {
+                int count = Math.min(createdBatch.get().size(), batch.size());
+                created.addAndGet(count);
+                for (ImportRow row : batch.subList(count, batch.size())) {
+                    failed.incrementAndGet();
+                    emit(failure(row.line(), List.of("Not created by external service")), false);
+                }
+                return;
+            }
+
+            for (ImportRow row : batch) {
+                Employee employee = withRetries(
+                        List.of(row), () -> employeeService.submitEmployee(row.request(), UpstreamOperation.IMPORT));
+                if (employee != null) {
+                    created.incrementAndGet();
+                }
+            }
+        }
+
+        /*
+         * Calls the upstream until it answers. Throttling and unavailability are waited out for as long as they last;
+         * rejections are retried up to max-attempts, after which the rows are reported as failed, and a failure that
+         * may have created the rows aborts the import. Null if the rows were given up on or the import was aborted.
+         */
+        private <T> T withRetries(List<ImportRow> batch, Supplier<T> call) throws InterruptedException {
+            int attempts = 0;
+            while (!aborted) {
+                try {
+                    return call.get();
+                } catch (TooManyRequestsException e) {
+                    retryLater(retryDelay, "External service is throttling creates");
+                } catch (UpstreamUnavailableException e) {
+                    Duration wait = e.getRetryAfter().compareTo(MIN_UNAVAILABLE_WAIT) > 0
+                            ? e.getRetryAfter()
+                            : MIN_UNAVAILABLE_WAIT;
+                    retryLater(wait, e.getMessage());
+                } catch (ExternalServiceException e) {
+                    if (mayHaveCreated(e)) {
+                        stopAt(batch, e);
+                        return null;
+                    }
+                    if (++attempts >= maxAttempts) {
+                        String error = "Gave up after " + attempts + " attempts: " + e.getMessage();
+                        failed.addAndGet(batch.size());
+                        batch.forEach(row -> emit(failure(row.line(), List.of(error)), false));
+                        return null;
+                    }
+                    retryLater(retryDelay, e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        private void stopAt(List<ImportRow> batch, ExternalServiceException e) {
+            long first = batch.get(0).line();
+            long last = batch.get(batch.size() - 1).line();
+            log.warn("Stopping import at line {}: {}", first, e.getMessage());
+            abort(
+                    first,
+                    "External service failed without a clear answer and may have created some of lines " + first + "-"
+                            + last + "; check them before uploading again from line " + first + ": " + e.getMessage());
+        }
+
+        private void retryLater(Duration delay, String reason) throws InterruptedException {
+            log.info("Import waiting {} before retrying: {}", delay, reason);
+            emit(
+                    summary(ImportEvent.Type.RETRYING)
+                            .retryInMillis(delay.toMillis())
+                            .message(reason)
+                            .build(),
+                    true);
+            long deadline = System.nanoTime() + delay.toNanos();
+            long remaining;
+            while (!aborted && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS)));
+            }
+        }
+
+        private ImportEvent.ImportEventBuilder summary(ImportEvent.Type type) {
+            return ImportEvent.builder()
+                    .type(type)
+                    .rowsRead(rowsRead)
+                    .created(created.get())
+                    .failed(failed.get())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+
+        private ImportEvent failure(long line, List<String> errors) {
+            return ImportEvent.builder()
+                    .type(ImportEvent.Type.FAILED)
+                    .line(line)
+                    .errors(errors)
+                    .build();
+        }
+
+        private synchronized void emit(ImportEvent event, boolean flush) {
+            if (aborted) {
+                return;
+            }
+            try {
+                sink.accept(event, flush);
+            } catch (IOException e) {
+                log.info("Aborting import, its events could not be written: {}", e.getMessage());
+                aborted = true;
+            }
+        }
+
+        private void abort(String message) {
+            abort(null, message);
+        }
+
+        private synchronized void abort(Long line, String message) {
+            emit(summary(ImportEvent.Type.ABORTED).line(line).message(message).build(), true);
+            aborted = true;
+        }
+
+        private synchronized void close() {
+            aborted = true;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.bulkimport;
+
+import com.reliaquest.api.dto.EmployeeRequest;
+
+/**
+ * One row of an upload: the employee it describes, or why it could not be read. {@code line} is where the row starts
+ * in the upload, counting from one.
+ */
+public record ImportRow(long line, EmployeeRequest request, String error) {
+
+    static ImportRow parsed(long line, EmployeeRequest request) {
+        return new ImportRow(line, request, null);
+    }
+
+    static ImportRow unreadable(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.bulkimport;
+
+import java.io.IOException;
+
+/**
+ * Reads an upload one row at a time, holding no more than the current row in memory. Rows longer than
+ * {@link #MAX_ROW_CHARS} are skipped and reported as unreadable rather than buffered.
+ */
+public interface ImportRowReader {
+
+    int MAX_ROW_CHARS = 16_384;
+
+    /**
+     * The next row, or {@code null} once the upload is exhausted.
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Newline-delimited JSON: one {@code EmployeeRequest} object per line. Blank lines are skipped, and a line that is not
+ * a valid object is reported on its own without affecting the lines after it.
+ */
+public class NdjsonRowReader implements ImportRowReader {
+
+    private final Reader reader;
+    private final ObjectReader objectReader;
+    private final StringBuilder line = new StringBuilder();
+
+    private long lineNumber;
+    private boolean exhausted;
+
+    public NdjsonRowReader(Reader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (!exhausted) {
+            boolean tooLong = readLine();
+            lineNumber++;
+            if (tooLong) {
+                return ImportRow.unreadable(lineNumber, "Row is longer than " + MAX_ROW_CHARS + " characters");
+            }
+            if (line.chars().allMatch(Character::isWhitespace)) {
+                continue;
+            }
+            try {
+                return ImportRow.parsed(lineNumber, objectReader.readValue(line.toString()));
+            } catch (JsonProcessingException e) {
+                return ImportRow.unreadable(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Reads up to the next newline, keeping at most MAX_ROW_CHARS of it. True if the line was longer.
+     */
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        for (int c = reader.read(); c != -1; c = reader.read()) {
+            if (c == '\n') {
+                return tooLong;
+            }
+            if (line.length() < MAX_ROW_CHARS) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+        exhausted = true;
+        return tooLong;
+    }
+}
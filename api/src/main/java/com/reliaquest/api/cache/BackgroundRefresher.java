@@ -0,0 +1,51 @@
+package com.reliaquest.api.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs deferred refreshes of stale data on a single background thread. Refreshes are de-duplicated by key, so a burst
+ * of stale reads queues at most one upstream call per key, and they are delayed until the throttle window has passed.
+ */
+@Slf4j
+@Component
+public class BackgroundRefresher implements DisposableBean {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stale-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public void schedule(String key, Duration delay, Runnable refresh) {
+        if (!pending.add(key)) {
+            return;
+        }
+        executor.schedule(
+                () -> {
+                    try {
+                        refresh.run();
+                    } catch (RuntimeException e) {
+                        log.debug("Background refresh of {} failed: {}", key, e.getMessage());
+                    } finally {
+                        pending.remove(key);
+                    }
+                },
+                delay.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.Uuids;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fresh per-id answers for employee lookups, bounded with Caffeine's W-TinyLFU eviction. Found employees are kept for
+ * the TTL. Ids the upstream answered 404 for are kept as negative entries for a shorter TTL, so repeated lookups of a
+ * missing id do not spend upstream budget either.
+ */
+@Component
+public class EmployeeCache {
+
+    private final Cache<UUID, Entry> entriesById;
+
+    public EmployeeCache(
+            @Value("${app.employee-cache.max-size:10000}") long maxSize,
+            @Value("${app.employee-cache.ttl:60s}") Duration ttl,
+            @Value("${app.employee-cache.negative-ttl:5s}") Duration negativeTtl) {
+        this.entriesById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<UUID, Entry>() {
+                    @Override
+                    public long expireAfterCreate(UUID id, Entry entry, long currentTime) {
+                        return entry.isNotFound() ? negativeTtl.toNanos() : ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID id, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID id, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public Optional<Entry> lookup(UUID id) {
+        return Optional.ofNullable(entriesById.getIfPresent(id));
+    }
+
+    public void put(Employee employee) {
+        UUID id = employee == null ? null : Uuids.parseOrNull(employee.getId());
+        if (id != null) {
+            entriesById.put(id, new Entry(employee));
+        }
+    }
+
+    public void putAll(Collection<Employee> employees) {
+        employees.forEach(this::put);
+    }
+
+    public void putNotFound(UUID id) {
+        entriesById.put(id, new Entry(null));
+    }
+
+    public void invalidate(UUID id) {
+        entriesById.invalidate(id);
+    }
+
+    /*
+     * A cached answer for one id; a null employee records that the upstream did not know the id.
+     */
+    public record Entry(Employee employee) {
+
+        public boolean isNotFound() {
+            return employee == null;
+        }
+    }
+}
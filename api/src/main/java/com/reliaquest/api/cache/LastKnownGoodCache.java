@@ -0,0 +1,132 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.Uuids;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Last successful upstream answers for read operations, kept so reads can be served immediately (marked with their
+ * age) while the upstream is throttling us. Also tracks the throttle window itself, so no read spends upstream budget
+ * that is known to be exhausted.
+ */
+@Component
+public class LastKnownGoodCache {
+
+    private final Duration throttleBackoff;
+    private final Clock clock;
+    private final Map<UUID, Snapshot<Employee>> employeesById;
+
+    private volatile Snapshot<List<Employee>> roster;
+    private volatile Instant throttledUntil = Instant.EPOCH;
+
+    public LastKnownGoodCache(
+            @Value("${app.stale.max-entries:10000}") int maxEntries,
+            @Value("${app.stale.throttle-backoff:30s}") Duration throttleBackoff) {
+        this.throttleBackoff = throttleBackoff;
+        this.clock = Clock.systemUTC();
+        this.employeesById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Snapshot<Employee>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void putRoster(List<Employee> employees) {
+        roster = new Snapshot<>(List.copyOf(employees), clock.instant());
+    }
+
+    public Optional<Snapshot<List<Employee>>> roster() {
+        return Optional.ofNullable(roster);
+    }
+
+    public void putEmployee(Employee employee) {
+        UUID id = employee == null ? null : Uuids.parseOrNull(employee.getId());
+        if (id == null) {
+            return;
+        }
+        synchronized (employeesById) {
+            employeesById.put(id, new Snapshot<>(employee, clock.instant()));
+        }
+    }
+
+    /*
+     * Falls back to the last known roster when the id was never fetched on its own.
+     */
+    public Optional<Snapshot<Employee>> employee(UUID id) {
+        synchronized (employeesById) {
+            Snapshot<Employee> cached = employeesById.get(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Snapshot<List<Employee>> current = roster;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return current.value().stream()
+                .filter(employee -> Uuids.matches(id, employee.getId()))
+                .findFirst()
+                .map(employee -> new Snapshot<>(employee, current.fetchedAt()));
+    }
+
+    public void applyCreated(Employee employee) {
+        if (employee != null) {
+            applyCreated(List.of(employee));
+        }
+    }
+
+    public synchronized void applyCreated(List<Employee> created) {
+        created.forEach(this::putEmployee);
+        Snapshot<List<Employee>> current = roster;
+        if (current != null && !created.isEmpty()) {
+            List<Employee> employees = new ArrayList<>(current.value().size() + created.size());
+            employees.addAll(current.value());
+            employees.addAll(created);
+            roster = new Snapshot<>(List.copyOf(employees), current.fetchedAt());
+        }
+    }
+
+    public synchronized void applyDeleted(UUID id) {
+        synchronized (employeesById) {
+            employeesById.remove(id);
+        }
+        Snapshot<List<Employee>> current = roster;
+        if (current != null) {
+            roster = new Snapshot<>(
+                    current.value().stream()
+                            .filter(employee -> !Uuids.matches(id, employee.getId()))
+                            .toList(),
+                    current.fetchedAt());
+        }
+    }
+
+    public void markThrottled() {
+        throttledUntil = clock.instant().plus(throttleBackoff);
+    }
+
+    public boolean isThrottled() {
+        return clock.instant().isBefore(throttledUntil);
+    }
+
+    public Duration remainingThrottle() {
+        Duration remaining = Duration.between(clock.instant(), throttledUntil);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public Duration ageOf(Snapshot<?> snapshot) {
+        return Duration.between(snapshot.fetchedAt(), clock.instant());
+    }
+
+    public record Snapshot<T>(T value, Instant fetchedAt) {}
+}
@@ -0,0 +1,281 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cluster.PeerRosterSync;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamOperation;
+import com.reliaquest.api.util.Uuids;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Publishes the {@link RosterView} that roster reads are answered from, rebuilt in the background so no read computes
+ * over the roster or waits on the upstream. The view is rebuilt from the {@link RosterReplica} whenever it has applied
+ * new changes; without a replica, from a full roster pull at a fixed interval. Pulls are not cheap: at the default 30s
+ * they spend 3 of the roughly 5 calls per 90s the upstream allows at its strictest. Creates and deletes made through
+ * this api are applied to the view straight away, and replayed over a pull that was read before they happened, so a
+ * slow pull cannot undo them. In a cluster of api instances, followers build the view from the leader's roster through
+ * {@link PeerRosterSync} and never pull it from upstream.
+ *
+ * <p>Each new view replaces the previous one through a single volatile reference. Until the first view is built,
+ * reads fall back to computing over the roster on demand.
+ *
+ * <p>The {@link NameIndex} for autocomplete and fuzzy search is built on the refresh thread too, after a new view is
+ * published, and replaces the previous index only once it is complete. No read waits for an index to be built; until
+ * the new one is ready, name searches are answered from the previous one, which may lag the view by a tick.
+ */
+@Slf4j
+@Component
+public class MaterializedRoster {
+
+    private static final ParameterizedTypeReference<ApiResponse<List<Employee>>> EMPLOYEES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final UpstreamGuard upstreamGuard;
+    private final RosterReplica rosterReplica;
+    private final PeerRosterSync peerRosterSync;
+    private final EmployeeCache employeeCache;
+    private final String domain;
+    private final String basePath;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration retryDelay;
+    private final Clock clock;
+
+    private volatile RosterView view;
+    private volatile NameIndex nameIndex;
+
+    /*
+     * Only touched by the refresh thread.
+     */
+    private List<Employee> builtFrom;
+    private RosterView indexed;
+    private Instant nextPull = Instant.EPOCH;
+
+    /*
+     * Guarded by this. Numbers local creates and deletes; those made while a roster pull is in flight are kept to be
+     * replayed over its result.
+     */
+    private long writeSequence;
+    private boolean pulling;
+    private final List<LocalWrite> writesDuringPull = new ArrayList<>();
+
+    public MaterializedRoster(
+            RestTemplate restTemplate,
+            UpstreamGuard upstreamGuard,
+            RosterReplica rosterReplica,
+            PeerRosterSync peerRosterSync,
+            EmployeeCache employeeCache,
+            @Value("${app.employee-service.domain}") String domain,
+            @Value("${app.employee-service.base-path}") String basePath,
+            @Value("${app.roster.view.enabled:true}") boolean enabled,
+            @Value("${app.roster.view.interval:30s}") Duration interval,
+            @Value("${app.roster.view.retry-delay:30s}") Duration retryDelay) {
+        this.restTemplate = restTemplate;
+        this.upstreamGuard = upstreamGuard;
+        this.rosterReplica = rosterReplica;
+        this.peerRosterSync = peerRosterSync;
+        this.employeeCache = employeeCache;
+        this.domain = domain;
+        this.basePath = basePath;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.retryDelay = retryDelay;
+        this.clock = Clock.systemUTC();
+    }
+
+    public Optional<RosterView> view() {
+        return Optional.ofNullable(view);
+    }
+
+    /*
+     * The name index of the latest view it has been built for, which may be older than the current view.
+     */
+    public Optional<NameIndex> nameIndex() {
+        return Optional.ofNullable(nameIndex);
+    }
+
+    @Scheduled(fixedDelayString = "${app.roster.view.tick:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        refreshView();
+        refreshNameIndex();
+    }
+
+    private void refreshView() {
+        boolean follower = peerRosterSync.isFollower();
+        Optional<List<Employee>> replicated = follower ? peerRosterSync.employees() : rosterReplica.employees();
+        if (replicated.isPresent()) {
+            // Both copies publish a new list for every batch of changes, so identity tells whether one moved on.
+            if (replicated.get() != builtFrom) {
+                builtFrom = replicated.get();
+                publish(RosterView.of(replicated.get(), clock.instant()));
+                employeeCache.putAll(replicated.get());
+            }
+            return;
+        }
+        builtFrom = null;
+        if (follower) {
+            return;
+        }
+
+        if (clock.instant().isBefore(nextPull)) {
+            return;
+        }
+        long pullStartedAt = beginPull();
+        try {
+            List<Employee> employees = publishPulled(fetchRoster(), pullStartedAt);
+            employeeCache.putAll(employees);
+            nextPull = clock.instant().plus(interval);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                log.debug("Roster view refresh throttled, retrying in {}", retryDelay);
+            } else {
+                log.warn("Roster view refresh failed with status {}, retrying in {}", e.getStatusCode(), retryDelay);
+            }
+            nextPull = clock.instant().plus(retryDelay);
+        } catch (RestClientException e) {
+            log.warn("Roster view refresh failed: {}, retrying in {}", e.getMessage(), retryDelay);
+            nextPull = clock.instant().plus(retryDelay);
+        } catch (UpstreamUnavailableException e) {
+            log.debug("Roster view refresh skipped: {}", e.getMessage());
+            nextPull = clock.instant().plus(e.getRetryAfter());
+        } finally {
+            endPull();
+        }
+    }
+
+    public void applyCreated(Employee employee) {
+        applyCreated(List.of(employee));
+    }
+
+    /*
+     * Applies a batch of creates with a single rebuild of the view.
+     */
+    public synchronized void applyCreated(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        employees.forEach(employee -> recordWrite(Uuids.parseOrNull(employee.getId()), employee));
+        RosterView current = view;
+        if (current != null) {
+            view = current.withCreated(employees, clock.instant());
+        }
+    }
+
+    public synchronized void applyDeleted(UUID id) {
+        recordWrite(id, null);
+        RosterView current = view;
+        if (current != null) {
+            view = current.withDeleted(id, clock.instant());
+        }
+    }
+
+    private void refreshNameIndex() {
+        RosterView current = view;
+        if (current != null && current != indexed) {
+            nameIndex = NameIndex.of(current.employees());
+            indexed = current;
+            log.debug("Built name index for roster view of {} employees", current.employees().size());
+        }
+    }
+
+    private synchronized void publish(RosterView next) {
+        view = next;
+        log.debug("Published roster view of {} employees", next.employees().size());
+    }
+
+    private synchronized long beginPull() {
+        pulling = true;
+        writesDuringPull.clear();
+        return writeSequence;
+    }
+
+    private synchronized void endPull() {
+        pulling = false;
+        writesDuringPull.clear();
+    }
+
+    private synchronized void recordWrite(UUID id, Employee created) {
+        writeSequence++;
+        if (pulling && id != null) {
+            writesDuringPull.add(new LocalWrite(writeSequence, id, created));
+        }
+    }
+
+    /*
+     * Publishes a pulled roster with the local writes made since the pull started replayed over it, and returns what
+     * was published. The upstream may have answered before those writes reached it, and publishing its answer as is
+     * would bring back deleted employees and drop created ones until the next pull.
+     */
+    private synchronized List<Employee> publishPulled(List<Employee> pulled, long pullStartedAt) {
+        // Latest write per id, in order of first write; a null employee is a delete.
+        Map<UUID, Employee> latest = new LinkedHashMap<>();
+        for (LocalWrite write : writesDuringPull) {
+            if (write.sequence() > pullStartedAt) {
+                latest.put(write.id(), write.created());
+            }
+        }
+
+        List<Employee> employees = pulled;
+        if (!latest.isEmpty()) {
+            employees = new ArrayList<>(pulled.size() + latest.size());
+            for (Employee employee : pulled) {
+                UUID id = Uuids.parseOrNull(employee.getId());
+                if (id == null || !latest.containsKey(id)) {
+                    employees.add(employee);
+                }
+            }
+            latest.values().stream().filter(Objects::nonNull).forEach(employees::add);
+            log.debug("Replayed {} local writes over the pulled roster", latest.size());
+        }
+        publish(RosterView.of(employees, clock.instant()));
+        return employees;
+    }
+
+    private List<Employee> fetchRoster() {
+        ResponseEntity<ApiResponse<List<Employee>>> response = upstreamGuard.call(
+                UpstreamOperation.ROSTER_SYNC,
+                () -> restTemplate.exchange(
+                        UriComponentsBuilder.fromHttpUrl(domain)
+                                .path(basePath)
+                                .build()
+                                .toUri(),
+                        HttpMethod.GET,
+                        null,
+                        EMPLOYEES_RESPONSE));
+
+        if (response.getBody() == null || response.getBody().getData() == null) {
+            throw new RestClientException("Invalid roster response from external service");
+        }
+        return response.getBody().getData();
+    }
+
+    private record LocalWrite(long sequence, UUID id, Employee created) {}
+}
@@ -0,0 +1,246 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.ChangeFeed;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.LoadBalancingInterceptor;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamOperation;
+import com.reliaquest.api.util.Uuids;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Local copy of the upstream roster, kept current by long-polling the mock server's change feed and applying create
+ * and delete events in sequence order. A full reload happens on first sync, when the replica falls behind the
+ * upstream's retained history, and when the upstream restarts.
+ *
+ * <p>The replica disables itself if the upstream does not expose a change feed, in which case reads go upstream. In a
+ * cluster of api instances only the leader runs it; the others follow the leader's roster instead.
+ */
+@Slf4j
+@Component
+public class RosterReplica {
+
+    static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+
+    /*
+     * Sequences and epochs belong to one upstream instance, so every replica call goes to the same one.
+     */
+    private static final HttpEntity<Void> PINNED = pinnedRequest();
+    private static final ParameterizedTypeReference<ApiResponse<List<Employee>>> EMPLOYEES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<ChangeFeed>> CHANGE_FEED_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final UpstreamGuard upstreamGuard;
+    private final ClusterMembership membership;
+    private final String domain;
+    private final String basePath;
+    private final boolean enabled;
+    private final Duration wait;
+    private final Duration retryDelay;
+
+    private final Map<UUID, Employee> employeesById = new LinkedHashMap<>();
+
+    private volatile Synced synced;
+    private volatile boolean supported = true;
+    private volatile Instant nextAttempt = Instant.EPOCH;
+
+    public RosterReplica(
+            RestTemplate restTemplate,
+            UpstreamGuard upstreamGuard,
+            ClusterMembership membership,
+            @Value("${app.employee-service.domain}") String domain,
+            @Value("${app.employee-service.base-path}") String basePath,
+            @Value("${app.roster.sync.enabled:true}") boolean enabled,
+            @Value("${app.roster.sync.wait:30s}") Duration wait,
+            @Value("${app.roster.sync.retry-delay:30s}") Duration retryDelay) {
+        this.restTemplate = restTemplate;
+        this.upstreamGuard = upstreamGuard;
+        this.membership = membership;
+        this.domain = domain;
+        this.basePath = basePath;
+        this.enabled = enabled;
+        this.wait = wait;
+        this.retryDelay = retryDelay;
+    }
+
+    public boolean isSynced() {
+        return synced != null;
+    }
+
+    public Optional<List<Employee>> employees() {
+        Synced current = synced;
+        return current == null ? Optional.empty() : Optional.of(current.employees());
+    }
+
+    @Scheduled(fixedDelayString = "${app.roster.sync.interval:100}")
+    public void sync() {
+        if (!enabled || !supported || Instant.now().isBefore(nextAttempt)) {
+            return;
+        }
+        if (membership.isFollower()) {
+            if (synced != null) {
+                log.info("Roster replica paused while following the cluster leader");
+                synced = null;
+            }
+            return;
+        }
+
+        try {
+            Synced current = synced;
+            if (current == null) {
+                resync();
+                return;
+            }
+
+            ChangeFeed feed = fetchChanges(current);
+            if (feed.isResyncRequired() || !current.epoch().equals(feed.getEpoch())) {
+                log.info("Roster replica fell behind the upstream change feed, reloading");
+                resync();
+                return;
+            }
+            apply(current, feed.getEvents());
+
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED) {
+                disable("External service does not expose a change feed");
+                return;
+            }
+            log.warn("Roster replica sync failed with status {}, retrying in {}", e.getStatusCode(), retryDelay);
+            nextAttempt = Instant.now().plus(retryDelay);
+        } catch (RestClientException e) {
+            log.warn("Roster replica sync failed: {}, retrying in {}", e.getMessage(), retryDelay);
+            nextAttempt = Instant.now().plus(retryDelay);
+        } catch (UpstreamUnavailableException e) {
+            log.debug("Roster replica sync skipped: {}", e.getMessage());
+            nextAttempt = Instant.now().plus(e.getRetryAfter());
+        }
+    }
+
+    private void resync() {
+        ResponseEntity<ApiResponse<List<Employee>>> response = upstreamGuard.call(
+                UpstreamOperation.ROSTER_SYNC,
+                () -> restTemplate.exchange(buildUri(), HttpMethod.GET, PINNED, EMPLOYEES_RESPONSE));
+
+        Long version = parseVersion(response.getHeaders().getFirst(ROSTER_VERSION_HEADER));
+        String epoch = response.getHeaders().getFirst(ROSTER_EPOCH_HEADER);
+        if (version == null || epoch == null || epoch.isBlank()) {
+            disable("External service does not report roster versions");
+            return;
+        }
+
+        List<Employee> employees = response.getBody() == null || response.getBody().getData() == null
+                ? List.of()
+                : response.getBody().getData();
+        synchronized (employeesById) {
+            employeesById.clear();
+            employees.forEach(this::put);
+            synced = new Synced(epoch, version, List.copyOf(employeesById.values()));
+        }
+        log.info("Roster replica loaded {} employees at sequence {}", employees.size(), version);
+    }
+
+    private ChangeFeed fetchChanges(Synced current) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(domain)
+                .path(basePath)
+                .pathSegment("changes")
+                .queryParam("since", current.sequence())
+                .queryParam("epoch", current.epoch())
+                .queryParam("waitMs", wait.toMillis())
+                .build()
+                .toUri();
+        ResponseEntity<ApiResponse<ChangeFeed>> response = upstreamGuard.call(
+                UpstreamOperation.ROSTER_SYNC,
+                () -> restTemplate.exchange(uri, HttpMethod.GET, PINNED, CHANGE_FEED_RESPONSE));
+
+        if (response.getBody() == null || response.getBody().getData() == null) {
+            throw new RestClientException("Invalid change feed response from external service");
+        }
+        return response.getBody().getData();
+    }
+
+    private void apply(Synced current, List<ChangeEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        synchronized (employeesById) {
+            long sequence = current.sequence();
+            for (ChangeEvent event : events) {
+                if (event.getSequence() <= sequence || event.getEmployee() == null) {
+                    continue;
+                }
+                switch (event.getType()) {
+                    case CREATED -> put(event.getEmployee());
+                    case DELETED -> employeesById.remove(Uuids.parseOrNull(event.getEmployee().getId()));
+                }
+                sequence = event.getSequence();
+            }
+            synced = new Synced(current.epoch(), sequence, List.copyOf(employeesById.values()));
+            log.debug("Roster replica applied {} changes up to sequence {}", events.size(), sequence);
+        }
+    }
+
+    /*
+     * Employees without a canonical UUID id cannot be tracked by the change feed and are left out.
+     */
+    private void put(Employee employee) {
+        UUID id = Uuids.parseOrNull(employee.getId());
+        if (id != null) {
+            employeesById.put(id, employee);
+        }
+    }
+
+    private static Long parseVersion(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void disable(String reason) {
+        log.warn("{}, serving reads from upstream", reason);
+        supported = false;
+        synced = null;
+    }
+
+    private static HttpEntity<Void> pinnedRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(LoadBalancingInterceptor.AFFINITY_HEADER, "roster-replica");
+        return new HttpEntity<>(HttpHeaders.readOnlyHttpHeaders(headers));
+    }
+
+    private URI buildUri() {
+        return UriComponentsBuilder.fromHttpUrl(domain).path(basePath).build().toUri();
+    }
+
+    private record Synced(String epoch, long sequence, List<Employee> employees) {}
+}
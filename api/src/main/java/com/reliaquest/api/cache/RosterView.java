@@ -0,0 +1,119 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.Uuids;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the roster with the answers to every roster read computed up front: salaries sorted once for
+ * the highest salary, employees ranked by salary for the top earners, and lower-cased names for name search. Built off
+ * the request path and published whole, so readers never see a partially updated view and never take a lock. The
+ * name index for autocomplete and fuzzy search costs far more to build, so it is not part of the view; see
+ * {@link MaterializedRoster#nameIndex()}.
+ */
+public final class RosterView {
+
+    public static final int TOP_EARNERS = 10;
+
+    private final List<Employee> employees;
+    private final Instant builtAt;
+    private final int[] salariesAscending;
+    private final List<String> topEarnerNames;
+    private final String[] lowerCaseNames;
+
+    private RosterView(List<Employee> employees, Instant builtAt) {
+        this.employees = List.copyOf(employees);
+        this.builtAt = builtAt;
+
+        this.salariesAscending = this.employees.stream()
+                .map(Employee::getEmployeeSalary)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .toArray();
+
+        // A stable sort, so employees on equal salaries keep roster order as they did when ranked per request.
+        this.topEarnerNames = this.employees.stream()
+                .filter(employee -> employee.getEmployeeSalary() != null)
+                .sorted(Comparator.comparing(Employee::getEmployeeSalary).reversed())
+                .limit(TOP_EARNERS)
+                .map(Employee::getEmployeeName)
+                .toList();
+
+        this.lowerCaseNames = new String[this.employees.size()];
+        for (int i = 0; i < lowerCaseNames.length; i++) {
+            String name = this.employees.get(i).getEmployeeName();
+            lowerCaseNames[i] = name == null ? null : name.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static RosterView of(List<Employee> employees, Instant builtAt) {
+        return new RosterView(employees, builtAt);
+    }
+
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public int highestSalary() {
+        return salariesAscending.length == 0 ? 0 : salariesAscending[salariesAscending.length - 1];
+    }
+
+    public List<String> topEarnerNames() {
+        return topEarnerNames;
+    }
+
+    public List<Employee> searchByName(String searchString) {
+        String needle = searchString.toLowerCase(Locale.ROOT);
+        List<Employee> matches = new ArrayList<>();
+        for (int i = 0; i < lowerCaseNames.length; i++) {
+            if (lowerCaseNames[i] != null && lowerCaseNames[i].contains(needle)) {
+                matches.add(employees.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /*
+     * A new view with created employees added, each replacing any employee with the same id. Built once however many
+     * employees are added, so a batch costs one rebuild.
+     */
+    RosterView withCreated(List<Employee> created, Instant now) {
+        Set<UUID> ids = new HashSet<>();
+        for (Employee employee : created) {
+            UUID id = Uuids.parseOrNull(employee.getId());
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        List<Employee> updated = new ArrayList<>(employees.size() + created.size());
+        for (Employee employee : employees) {
+            UUID id = Uuids.parseOrNull(employee.getId());
+            if (id == null || !ids.contains(id)) {
+                updated.add(employee);
+            }
+        }
+        updated.addAll(created);
+        return new RosterView(updated, now);
+    }
+
+    RosterView withDeleted(UUID id, Instant now) {
+        return new RosterView(
+                employees.stream()
+                        .filter(employee -> !Uuids.matches(id, employee.getId()))
+                        .toList(),
+                now);
+    }
+}
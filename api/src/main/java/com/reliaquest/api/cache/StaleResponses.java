@@ -0,0 +1,35 @@
+package com.reliaquest.api.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Records, for the current web request, that part of the answer came from last-known-good data and how old it is.
+ */
+public final class StaleResponses {
+
+    private static final String AGE_ATTRIBUTE = StaleResponses.class.getName() + ".age";
+
+    private StaleResponses() {}
+
+    public static void markServedStale(Duration age) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object current = attributes.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(current instanceof Duration currentAge) || age.compareTo(currentAge) > 0) {
+            attributes.setAttribute(AGE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static Optional<Duration> currentAge() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((Duration) attributes.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.RateLimitedLogger;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Tells the other api instances about creates and deletes made through this one, so their employee caches and roster
+ * views reflect a write straight away rather than once it has gone round through the leader's roster. Broadcasts are
+ * best effort: each is posted once to every live peer on a background thread, and dropped when the queue is full or a
+ * peer does not answer, since the leader's roster brings every follower up to date within a sync interval anyway. A
+ * batch of creates goes out as one post per peer.
+ */
+@Slf4j
+@Component
+public class ClusterBroadcaster implements DisposableBean {
+
+    static final String INVALIDATIONS_PATH = "/internal/cluster/invalidations";
+
+    private static final RateLimitedLogger BROADCAST_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(10));
+
+    private final ClusterMembership membership;
+    private final RestTemplate peerRestTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public ClusterBroadcaster(
+            ClusterMembership membership,
+            @Qualifier("peerRestTemplate") RestTemplate peerRestTemplate,
+            @Value("${app.cluster.broadcast.queue-capacity:1000}") int queueCapacity) {
+        this.membership = membership;
+        this.peerRestTemplate = peerRestTemplate;
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "cluster-broadcast");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public void created(Employee employee) {
+        created(List.of(employee));
+    }
+
+    public void created(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        broadcast(employees.stream()
+                .map(employee -> ChangeEvent.builder()
+                        .type(ChangeEvent.Type.CREATED)
+                        .employee(employee)
+                        .build())
+                .toList());
+    }
+
+    public void deleted(UUID id) {
+        broadcast(List.of(ChangeEvent.builder()
+                .type(ChangeEvent.Type.DELETED)
+                .employee(Employee.builder().id(id.toString()).build())
+                .build()));
+    }
+
+    private void broadcast(List<ChangeEvent> events) {
+        if (!membership.isEnabled()) {
+            return;
+        }
+        List<ClusterMember> peers = membership.peers();
+        if (peers.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> peers.forEach(peer -> send(peer, events)));
+        } catch (RejectedExecutionException e) {
+            BROADCAST_LOG.warn(
+                    "Cluster broadcast queue is full, dropped {} {} events", events.size(), events.get(0).getType());
+        }
+    }
+
+    private void send(ClusterMember peer, List<ChangeEvent> events) {
+        try {
+            peerRestTemplate.postForLocation(
+                    UriComponentsBuilder.fromHttpUrl(peer.url())
+                            .path(INVALIDATIONS_PATH)
+                            .build()
+                            .toUri(),
+                    events);
+        } catch (RestClientException e) {
+            BROADCAST_LOG.warn("Cluster broadcast to {} failed: {}", peer.url(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.api.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * The secret shared by the api instances of one cluster. Calls between instances carry it in {@link #SECRET_HEADER}
+ * along with the caller's member id in {@link #MEMBER_HEADER}; multicast announcements, which anyone on the network
+ * can send, carry an HMAC-SHA256 of the member record keyed with it instead. Without the secret nobody can join the
+ * cluster, claim leadership or change another instance's caches.
+ */
+public class ClusterCredentials {
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+    public static final String MEMBER_HEADER = "X-Cluster-Member";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] secret;
+
+    public ClusterCredentials(String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void authenticate(HttpHeaders headers, ClusterMember self) {
+        headers.set(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8));
+        headers.set(MEMBER_HEADER, self.id());
+    }
+
+    /*
+     * Constant time, so the comparison does not leak how much of a guess was right.
+     */
+    public boolean matches(String presented) {
+        return secret.length > 0
+                && presented != null
+                && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String sign(ClusterMember member) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+            byte[] signed = (member.id() + '\n' + member.url() + '\n' + member.startedAt())
+                    .getBytes(StandardCharsets.UTF_8);
+            return Base64.getEncoder().encodeToString(mac.doFinal(signed));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    public boolean verify(ClusterMember member, String signature) {
+        if (secret.length == 0 || member == null || signature == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(member).getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,7 @@
+package com.reliaquest.api.cluster;
+
+/**
+ * An api instance as its peers see it: an id drawn at startup, the base URL peers reach it on, and when it started in
+ * milliseconds since the epoch, which decides leadership.
+ */
+public record ClusterMember(String id, String url, long startedAt) {}
@@ -0,0 +1,110 @@
+package com.reliaquest.api.cluster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The api instances sharing one upstream, as this instance knows them: itself, and every peer heard from within the
+ * member TTL through a heartbeat or a multicast announcement. The longest-running live member leads. Only the leader
+ * keeps the roster in sync with the upstream; the others follow its roster, so adding instances adds no roster
+ * traffic upstream.
+ *
+ * <p>Each instance elects from its own view of the cluster. While views differ, such as during a partition or before a
+ * new member has been heard by everyone, two instances may both lead for up to a TTL, which costs duplicate roster
+ * polls and nothing else. With the cluster disabled this instance is always the leader.
+ */
+@Slf4j
+public class ClusterMembership {
+
+    private static final Comparator<ClusterMember> SENIORITY =
+            Comparator.comparingLong(ClusterMember::startedAt).thenComparing(ClusterMember::id);
+
+    private final boolean enabled;
+    private final ClusterMember self;
+    private final Duration memberTtl;
+    private final Clock clock;
+    private final Map<String, Heard> peersById = new ConcurrentHashMap<>();
+
+    private volatile String leaderId;
+
+    public ClusterMembership(boolean enabled, String advertiseUrl, Duration memberTtl, Clock clock) {
+        this.enabled = enabled;
+        this.self = new ClusterMember(UUID.randomUUID().toString(), advertiseUrl, clock.millis());
+        this.memberTtl = memberTtl;
+        this.clock = clock;
+        this.leaderId = self.id();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ClusterMember self() {
+        return self;
+    }
+
+    public void heard(ClusterMember member) {
+        if (!enabled || member == null || member.id() == null || member.url() == null) {
+            return;
+        }
+        if (member.id().equals(self.id())) {
+            return;
+        }
+        Heard previous = peersById.put(member.id(), new Heard(member, clock.instant()));
+        if (previous == null) {
+            log.info("Cluster member {} joined at {}", member.id(), member.url());
+        }
+    }
+
+    /*
+     * Live peers, not including this instance. Peers not heard from within the TTL are dropped here.
+     */
+    public List<ClusterMember> peers() {
+        Instant cutoff = clock.instant().minus(memberTtl);
+        List<ClusterMember> live = new ArrayList<>(peersById.size());
+        for (Heard heard : peersById.values()) {
+            if (!heard.at().isBefore(cutoff)) {
+                live.add(heard.member());
+            } else if (peersById.remove(heard.member().id(), heard)) {
+                log.info("Cluster member {} at {} left", heard.member().id(), heard.member().url());
+            }
+        }
+        return live;
+    }
+
+    public boolean isLivePeer(String id) {
+        return id != null && peers().stream().anyMatch(peer -> peer.id().equals(id));
+    }
+
+    public ClusterMember leader() {
+        ClusterMember leader = self;
+        for (ClusterMember peer : peers()) {
+            if (SENIORITY.compare(peer, leader) < 0) {
+                leader = peer;
+            }
+        }
+        if (!leader.id().equals(leaderId)) {
+            leaderId = leader.id();
+            log.info("Cluster leader is now {} at {}", leader.id(), leader.url());
+        }
+        return leader;
+    }
+
+    public boolean isLeader() {
+        return !enabled || leader().id().equals(self.id());
+    }
+
+    public boolean isFollower() {
+        return !isLeader();
+    }
+
+    private record Heard(ClusterMember member, Instant at) {}
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.api.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.util.RateLimitedLogger;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Finds the other api instances and keeps them alive in {@link ClusterMembership}. Every heartbeat interval this
+ * instance posts its member record to each peer listed under {@code app.cluster.peers}, which answers with its own;
+ * with multicast enabled it also announces itself to a multicast group on the local network and listens for the
+ * others' announcements. A peer stays a member for as long as it keeps being heard either way. Announcements are
+ * signed with the cluster secret, and unsigned or wrongly signed ones are dropped.
+ */
+@Slf4j
+@Component
+public class PeerDiscovery implements DisposableBean {
+
+    static final String HEARTBEAT_PATH = "/internal/cluster/heartbeat";
+
+    private static final int MAX_ANNOUNCEMENT_BYTES = 1024;
+    private static final RateLimitedLogger DISCOVERY_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(30));
+
+    private final ClusterMembership membership;
+    private final ClusterCredentials credentials;
+    private final RestTemplate peerRestTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<URI> staticPeers;
+    private final boolean multicastEnabled;
+    private final InetSocketAddress multicastGroup;
+
+    private volatile MulticastSocket socket;
+
+    public PeerDiscovery(
+            ClusterMembership membership,
+            ClusterCredentials credentials,
+            @Qualifier("peerRestTemplate") RestTemplate peerRestTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.cluster.peers:}") List<String> peers,
+            @Value("${app.cluster.multicast.enabled:false}") boolean multicastEnabled,
+            @Value("${app.cluster.multicast.group:239.255.42.99}") String multicastGroup,
+            @Value("${app.cluster.multicast.port:8199}") int multicastPort) {
+        this.membership = membership;
+        this.credentials = credentials;
+        this.peerRestTemplate = peerRestTemplate;
+        this.objectMapper = objectMapper;
+        this.staticPeers = peers.stream()
+                .filter(peer -> !peer.isBlank())
+                .map(peer -> URI.create(peer.trim()).resolve(HEARTBEAT_PATH))
+                .toList();
+        this.multicastEnabled = multicastEnabled;
+        this.multicastGroup = new InetSocketAddress(multicastGroup, multicastPort);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!membership.isEnabled() || !multicastEnabled) {
+            return;
+        }
+        if (multicastGroup.isUnresolved() || !multicastGroup.getAddress().isMulticastAddress()) {
+            throw new IllegalArgumentException(
+                    "app.cluster.multicast.group is not a multicast address: " + multicastGroup.getHostString());
+        }
+
+        MulticastSocket multicast = new MulticastSocket(multicastGroup.getPort());
+        // Announcements stay on the local network.
+        multicast.setTimeToLive(1);
+        multicast.joinGroup(multicastGroup, null);
+        socket = multicast;
+
+        Thread receiver = new Thread(() -> receive(multicast), "cluster-discovery");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Discovering cluster members on multicast group {}", multicastGroup);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeat-interval:1000}")
+    public void heartbeat() {
+        if (!membership.isEnabled()) {
+            return;
+        }
+        ClusterMember self = membership.self();
+
+        MulticastSocket multicast = socket;
+        if (multicast != null) {
+            try {
+                byte[] announcement = objectMapper.writeValueAsBytes(new Announcement(self, credentials.sign(self)));
+                multicast.send(new DatagramPacket(announcement, announcement.length, multicastGroup));
+            } catch (IOException e) {
+                DISCOVERY_LOG.warn("Multicast announcement failed: {}", e.getMessage());
+            }
+        }
+
+        for (URI peer : staticPeers) {
+            try {
+                membership.heard(peerRestTemplate.postForObject(peer, self, ClusterMember.class));
+            } catch (RestClientException e) {
+                log.debug("No heartbeat answer from {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    private void receive(MulticastSocket multicast) {
+        byte[] buffer = new byte[MAX_ANNOUNCEMENT_BYTES];
+        while (!multicast.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                multicast.receive(packet);
+                Announcement announcement = objectMapper.readValue(buffer, 0, packet.getLength(), Announcement.class);
+                if (credentials.verify(announcement.member(), announcement.signature())) {
+                    membership.heard(announcement.member());
+                } else {
+                    DISCOVERY_LOG.warn("Ignored an unsigned announcement from {}", packet.getSocketAddress());
+                }
+            } catch (JsonProcessingException e) {
+                DISCOVERY_LOG.warn("Ignored an unreadable announcement from {}", packet.getSocketAddress());
+            } catch (IOException e) {
+                if (!multicast.isClosed()) {
+                    DISCOVERY_LOG.warn("Receiving multicast announcements failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        MulticastSocket multicast = socket;
+        if (multicast != null) {
+            socket = null;
+            // Closing leaves the group and ends the receiver thread.
+            multicast.close();
+        }
+    }
+
+    record Announcement(ClusterMember member, String signature) {}
+}
@@ -0,0 +1,178 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.ChangeFeed;
+import com.reliaquest.api.export.ColumnarRosterReader;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.RateLimitedLogger;
+import com.reliaquest.api.util.Uuids;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Copy of the cluster leader's roster on an instance that does not lead, taking the place of the {@link
+ * com.reliaquest.api.cache.RosterReplica} there. It loads the leader's snapshot, then polls the leader's
+ * {@link RosterFeed} for the creates and deletes since, and loads the snapshot again when the leader changes or starts
+ * a new epoch. The snapshot comes in the columnar export format, so loading a large roster stays cheap for both sides.
+ *
+ * <p>If the leader stops answering, the last copy is kept until membership elects another leader.
+ */
+@Slf4j
+@Component
+public class PeerRosterSync {
+
+    static final String SNAPSHOT_PATH = "/internal/cluster/roster";
+    static final String CHANGES_PATH = "/internal/cluster/roster/changes";
+
+    private static final RateLimitedLogger SYNC_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(10));
+
+    private final ClusterMembership membership;
+    private final RestTemplate peerRestTemplate;
+
+    /*
+     * Only touched by the sync thread.
+     */
+    private Map<UUID, Employee> employeesById = new LinkedHashMap<>();
+
+    private volatile Synced synced;
+
+    public PeerRosterSync(ClusterMembership membership, @Qualifier("peerRestTemplate") RestTemplate peerRestTemplate) {
+        this.membership = membership;
+        this.peerRestTemplate = peerRestTemplate;
+    }
+
+    public boolean isFollower() {
+        return membership.isFollower();
+    }
+
+    public Optional<List<Employee>> employees() {
+        Synced current = synced;
+        return current == null ? Optional.empty() : Optional.of(current.employees());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.sync-interval:1000}")
+    public void sync() {
+        if (!membership.isFollower()) {
+            if (synced != null) {
+                log.info("No longer following a cluster leader's roster");
+                synced = null;
+                employeesById = new LinkedHashMap<>();
+            }
+            return;
+        }
+
+        ClusterMember leader = membership.leader();
+        try {
+            Synced current = synced;
+            if (current == null || !current.leaderId().equals(leader.id())) {
+                load(leader);
+                return;
+            }
+
+            ChangeFeed feed = fetchChanges(leader, current);
+            if (feed == null || feed.isResyncRequired() || !current.epoch().equals(feed.getEpoch())) {
+                log.info("Roster from cluster leader {} moved to a new epoch, reloading", leader.url());
+                load(leader);
+                return;
+            }
+            apply(current, feed.getEvents());
+
+        } catch (RestClientException e) {
+            SYNC_LOG.warn("Roster sync from cluster leader {} failed: {}", leader.url(), e.getMessage());
+        }
+    }
+
+    /*
+     * Reads into a fresh map, so a load that fails partway leaves the previous copy intact.
+     */
+    private void load(ClusterMember leader) {
+        Loaded loaded = peerRestTemplate.execute(
+                uri(leader, SNAPSHOT_PATH).build().toUri(), HttpMethod.GET, null, response -> {
+                    String epoch = response.getHeaders().getFirst(RosterFeed.EPOCH_HEADER);
+                    Long sequence = parseSequence(response.getHeaders().getFirst(RosterFeed.SEQUENCE_HEADER));
+                    if (epoch == null || sequence == null) {
+                        throw new RestClientException("Roster snapshot from cluster leader has no epoch or version");
+                    }
+                    Map<UUID, Employee> byId = new LinkedHashMap<>();
+                    try (ColumnarRosterReader reader = new ColumnarRosterReader(response.getBody())) {
+                        List<Employee> group;
+                        while ((group = reader.nextRowGroup()) != null) {
+                            group.forEach(employee -> put(byId, employee));
+                        }
+                    }
+                    return new Loaded(epoch, sequence, byId);
+                });
+        employeesById = loaded.employeesById();
+        synced = new Synced(leader.id(), loaded.epoch(), loaded.sequence(), List.copyOf(employeesById.values()));
+        log.info(
+                "Loaded {} employees from cluster leader {} at sequence {}",
+                employeesById.size(),
+                leader.url(),
+                loaded.sequence());
+    }
+
+    private ChangeFeed fetchChanges(ClusterMember leader, Synced current) {
+        URI uri = uri(leader, CHANGES_PATH)
+                .queryParam("since", current.sequence())
+                .queryParam("epoch", current.epoch())
+                .build()
+                .toUri();
+        return peerRestTemplate.getForObject(uri, ChangeFeed.class);
+    }
+
+    private void apply(Synced current, List<ChangeEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        long sequence = current.sequence();
+        for (ChangeEvent event : events) {
+            if (event.getSequence() <= sequence || event.getEmployee() == null) {
+                continue;
+            }
+            switch (event.getType()) {
+                case CREATED -> put(employeesById, event.getEmployee());
+                case DELETED -> employeesById.remove(Uuids.parseOrNull(event.getEmployee().getId()));
+            }
+            sequence = event.getSequence();
+        }
+        synced = new Synced(current.leaderId(), current.epoch(), sequence, List.copyOf(employeesById.values()));
+        log.debug("Applied {} roster changes from the cluster leader up to sequence {}", events.size(), sequence);
+    }
+
+    private static void put(Map<UUID, Employee> employeesById, Employee employee) {
+        UUID id = Uuids.parseOrNull(employee.getId());
+        if (id != null) {
+            employeesById.put(id, employee);
+        }
+    }
+
+    private static UriComponentsBuilder uri(ClusterMember member, String path) {
+        return UriComponentsBuilder.fromHttpUrl(member.url()).path(path);
+    }
+
+    private static Long parseSequence(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Loaded(String epoch, long sequence, Map<UUID, Employee> employeesById) {}
+
+    private record Synced(String leaderId, String epoch, long sequence, List<Employee> employees) {}
+}
@@ -0,0 +1,177 @@
+package com.reliaquest.api.cluster;
+
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.ChangeFeed;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.Uuids;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The leader's roster as the other api instances follow it, in the shape of the upstream's change feed: a snapshot of
+ * the current {@link RosterView} under an epoch and sequence, then the creates and deletes between one captured view
+ * and the next, numbered in sequence. Views are captured on a tick, so a burst of writes reaches followers as one
+ * batch of events and the roster is diffed at most once per tick.
+ *
+ * <p>Only a leader with live peers captures. Losing leadership or every peer drops the feed, and a later capture, or a
+ * diff larger than the retained history, starts a new epoch, which tells followers to load a fresh snapshot.
+ */
+@Slf4j
+@Component
+public class RosterFeed {
+
+    public static final String EPOCH_HEADER = "X-Roster-Epoch";
+    public static final String SEQUENCE_HEADER = "X-Roster-Version";
+
+    private final MaterializedRoster materializedRoster;
+    private final ClusterMembership membership;
+    private final int maxRetainedChanges;
+
+    private final Deque<ChangeEvent> retained = new ArrayDeque<>();
+    private Map<UUID, Employee> capturedById = Map.of();
+    private RosterView capturedView;
+    private Snapshot snapshot;
+
+    public RosterFeed(
+            MaterializedRoster materializedRoster,
+            ClusterMembership membership,
+            @Value("${app.cluster.max-retained-changes:10000}") int maxRetainedChanges) {
+        this.materializedRoster = materializedRoster;
+        this.membership = membership;
+        this.maxRetainedChanges = maxRetainedChanges;
+    }
+
+    public synchronized Optional<Snapshot> snapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /*
+     * Events after the given sequence of the given epoch, or a feed asking for a resync when the epoch has ended or
+     * the events right after that sequence are no longer retained. Empty until the first capture.
+     */
+    public synchronized Optional<ChangeFeed> changesSince(String epoch, long since) {
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        long oldestRetained = retained.isEmpty() ? snapshot.sequence() + 1 : retained.getFirst().getSequence();
+        boolean resyncRequired =
+                !snapshot.epoch().equals(epoch) || since > snapshot.sequence() || since + 1 < oldestRetained;
+        List<ChangeEvent> events = new ArrayList<>();
+        if (!resyncRequired) {
+            for (ChangeEvent event : retained) {
+                if (event.getSequence() > since) {
+                    events.add(event);
+                }
+            }
+        }
+        return Optional.of(ChangeFeed.builder()
+                .epoch(snapshot.epoch())
+                .latestSequence(snapshot.sequence())
+                .resyncRequired(resyncRequired)
+                .events(events)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.sync-interval:1000}")
+    public synchronized void capture() {
+        if (!membership.isEnabled() || !membership.isLeader() || membership.peers().isEmpty()) {
+            if (snapshot != null) {
+                log.info("Stopped publishing the roster to the cluster");
+                reset();
+            }
+            return;
+        }
+
+        RosterView view = materializedRoster.view().orElse(null);
+        if (view == null || view == capturedView) {
+            return;
+        }
+
+        Map<UUID, Employee> byId = index(view.employees());
+        if (snapshot == null) {
+            startEpoch(view, byId);
+            return;
+        }
+
+        List<ChangeEvent> events = diff(capturedById, byId, snapshot.sequence());
+        if (events.size() > maxRetainedChanges) {
+            log.info("Roster moved by {} changes, more than are retained; starting a new epoch", events.size());
+            startEpoch(view, byId);
+            return;
+        }
+        retained.addAll(events);
+        while (retained.size() > maxRetainedChanges) {
+            retained.removeFirst();
+        }
+        snapshot = new Snapshot(snapshot.epoch(), snapshot.sequence() + events.size(), view.employees());
+        capturedView = view;
+        capturedById = byId;
+        log.debug("Captured {} roster changes up to sequence {}", events.size(), snapshot.sequence());
+    }
+
+    private void startEpoch(RosterView view, Map<UUID, Employee> byId) {
+        retained.clear();
+        snapshot = new Snapshot(UUID.randomUUID().toString(), 0, view.employees());
+        capturedView = view;
+        capturedById = byId;
+        log.info(
+                "Publishing the roster of {} employees to the cluster under epoch {}",
+                view.employees().size(),
+                snapshot.epoch());
+    }
+
+    private void reset() {
+        retained.clear();
+        snapshot = null;
+        capturedView = null;
+        capturedById = Map.of();
+    }
+
+    /*
+     * Employees without a canonical UUID id cannot be tracked by the change feed and are left out, as in the replica.
+     */
+    private static Map<UUID, Employee> index(List<Employee> employees) {
+        Map<UUID, Employee> byId = new HashMap<>(employees.size() * 4 / 3 + 1);
+        for (Employee employee : employees) {
+            UUID id = Uuids.parseOrNull(employee.getId());
+            if (id != null) {
+                byId.put(id, employee);
+            }
+        }
+        return byId;
+    }
+
+    /*
+     * Deletes first, then creates; an employee whose fields changed is deleted and created again.
+     */
+    private static List<ChangeEvent> diff(Map<UUID, Employee> previous, Map<UUID, Employee> next, long sequence) {
+        List<ChangeEvent> events = new ArrayList<>();
+        for (Map.Entry<UUID, Employee> entry : previous.entrySet()) {
+            Employee current = next.get(entry.getKey());
+            if (!Objects.equals(current, entry.getValue())) {
+                events.add(new ChangeEvent(++sequence, ChangeEvent.Type.DELETED, entry.getValue()));
+            }
+        }
+        for (Map.Entry<UUID, Employee> entry : next.entrySet()) {
+            if (!Objects.equals(previous.get(entry.getKey()), entry.getValue())) {
+                events.add(new ChangeEvent(++sequence, ChangeEvent.Type.CREATED, entry.getValue()));
+            }
+        }
+        return events;
+    }
+
+    public record Snapshot(String epoch, long sequence, List<Employee> employees) {}
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cluster.ClusterCredentials;
+import com.reliaquest.api.cluster.ClusterMembership;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    public ClusterMembership clusterMembership(
+            @Value("${app.cluster.enabled:false}") boolean enabled,
+            @Value("${app.cluster.advertise-url:http://localhost:${server.port:8111}}") String advertiseUrl,
+            @Value("${app.cluster.member-ttl:5s}") Duration memberTtl) {
+        return new ClusterMembership(enabled, advertiseUrl, memberTtl, Clock.systemUTC());
+    }
+
+    /*
+     * The cluster endpoints share the public port, so an enabled cluster without a secret would let any client join
+     * it; refuse to start instead.
+     */
+    @Bean
+    public ClusterCredentials clusterCredentials(
+            @Value("${app.cluster.enabled:false}") boolean enabled, @Value("${app.cluster.secret:}") String secret) {
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("app.cluster.secret must be set when app.cluster.enabled is true");
+        }
+        return new ClusterCredentials(secret);
+    }
+
+    /*
+     * Calls between api instances skip the upstream's load balancing and converters, and give up quickly: a slow peer
+     * is treated as a missing one until it answers again. Every call carries the cluster secret and this member's id.
+     */
+    @Bean
+    public RestTemplate peerRestTemplate(
+            RestTemplateBuilder builder,
+            ClusterMembership clusterMembership,
+            ClusterCredentials clusterCredentials,
+            @Value("${app.cluster.timeout:2s}") Duration timeout) {
+        return builder.setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .additionalInterceptors((request, body, execution) -> {
+                    clusterCredentials.authenticate(request.getHeaders(), clusterMembership.self());
+                    return execution.execute(request, body);
+                })
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.web.AdaptiveConcurrencyLimit;
+import com.reliaquest.api.web.ConcurrencyLimitFilter;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class IngressConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit ingressConcurrencyLimit(
+            @Value("${app.ingress.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${app.ingress.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${app.ingress.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${app.ingress.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${app.ingress.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${app.ingress.concurrency-limit.window:1s}") Duration window,
+            @Value("${app.ingress.concurrency-limit.min-window-samples:10}") int minWindowSamples) {
+        return new AdaptiveConcurrencyLimit(
+                initialLimit, minLimit, maxLimit, tolerance, smoothing, window, minWindowSamples, System::nanoTime);
+    }
+
+    /*
+     * Runs ahead of everything else, so shed requests cost as little as possible.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimit ingressConcurrencyLimit,
+            MaterializedRoster materializedRoster,
+            EmployeeCache employeeCache,
+            @Value("${app.ingress.concurrency-limit.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(ingressConcurrencyLimit, materializedRoster, employeeCache));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
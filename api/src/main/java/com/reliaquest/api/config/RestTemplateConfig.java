@@ -1,15 +1,127 @@
 package com.reliaquest.api.config;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.upstream.LoadBalancingInterceptor;
+import com.reliaquest.api.upstream.UpstreamEndpoints;
+import com.reliaquest.api.upstream.UpstreamMessageConverter;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /*
+     * Instances of the mock employee service to balance over; without any, the domain itself is the only instance.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public UpstreamEndpoints upstreamEndpoints(
+            @Value("${app.employee-service.domain}") String domain,
+            @Value("${app.employee-service.endpoints:}") List<String> instances,
+            @Value("${app.employee-service.health.failure-threshold:3}") int failureThreshold,
+            @Value("${app.employee-service.health.ejection-duration:30s}") Duration ejectionDuration,
+            @Value("${app.employee-service.health.throttle-backoff:30s}") Duration throttleBackoff) {
+        return new UpstreamEndpoints(
+                URI.create(domain),
+                instances.stream().filter(instance -> !instance.isBlank()).map(URI::create).toList(),
+                failureThreshold,
+                ejectionDuration,
+                throttleBackoff,
+                Clock.systemUTC());
+    }
+
+    /*
+     * With compression enabled the client advertises Accept-Encoding: gzip, x-gzip, deflate and decodes compressed
+     * responses as a stream while Jackson reads them, so the full compressed body is never buffered.
+     *
+     * Automatic retries are off. The client's default strategy resends a request, POSTs included, once after a 429 or
+     * 503, which doubles throttled traffic against the upstream's small budget and hides the first 429 from the
+     * scheduler, circuit breaker and stale-serving mode. Retries are decided above the client, where they are counted.
+     */
+    @Bean
+    public CloseableHttpClient upstreamHttpClient(
+            UpstreamEndpoints upstreamEndpoints,
+            @Value("${app.employee-service.compression.enabled:true}") boolean compressionEnabled,
+            @Value("${app.employee-service.max-connections:20}") int maxConnections) {
+        final var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections * upstreamEndpoints.all().size())
+                .setMaxConnPerRoute(maxConnections)
+                .build();
+        final var httpClientBuilder =
+                HttpClients.custom().setConnectionManager(connectionManager).disableAutomaticRetries();
+        if (!compressionEnabled) {
+            httpClientBuilder.disableContentCompression();
+        }
+        return httpClientBuilder.build();
+    }
+
+    /*
+     * Request bodies are always written as JSON; with wire-format "smile" the api asks the upstream to answer in the
+     * compact binary encoding and falls back to JSON if the upstream does not support it. Responses are read by
+     * UpstreamMessageConverter, which takes the place of each stock Jackson converter in use and keeps a reader per
+     * response type.
+     * Primary, so only calls to other api instances have to ask for peerRestTemplate by name.
+     */
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            CloseableHttpClient upstreamHttpClient,
+            UpstreamEndpoints upstreamEndpoints,
+            Jackson2ObjectMapperBuilder objectMapperBuilder,
+            @Value("${app.employee-service.wire-format:json}") String wireFormat) {
+        final var jsonConverter = new UpstreamMessageConverter(
+                objectMapperBuilder.build(), MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        final var smileConverter = "smile".equalsIgnoreCase(wireFormat)
+                ? new UpstreamMessageConverter(
+                        objectMapperBuilder.factory(new SmileFactory()).build(), APPLICATION_SMILE)
+                : null;
+        var configured = builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient))
+                .additionalInterceptors(new LoadBalancingInterceptor(upstreamEndpoints));
+        if (smileConverter != null) {
+            configured = configured.additionalInterceptors((request, body, execution) -> {
+                request.getHeaders().setAccept(List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON));
+                return execution.execute(request, body);
+            });
+        }
+        final var restTemplate = configured.build();
+        final var converters = restTemplate.getMessageConverters();
+        converters.replaceAll(converter -> replacement(converter, jsonConverter, smileConverter));
+        return restTemplate;
+    }
+
+    /*
+     * A stock Jackson converter would be picked ahead of anything appended after it, so ours go in its place. The
+     * stock Smile converter stays in JSON mode, where nothing asks the upstream for Smile.
+     */
+    private static HttpMessageConverter<?> replacement(
+            HttpMessageConverter<?> converter,
+            UpstreamMessageConverter jsonConverter,
+            UpstreamMessageConverter smileConverter) {
+        if (converter instanceof MappingJackson2HttpMessageConverter) {
+            return jsonConverter;
+        }
+        if (smileConverter != null && converter instanceof MappingJackson2SmileHttpMessageConverter) {
+            return smileConverter;
+        }
+        return converter;
     }
 }
@@ -0,0 +1,49 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.CreateStatus;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.EntityNotFoundException;
+import com.reliaquest.api.writebehind.WriteBehindCreateQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Asynchronous create mode: creates are acknowledged with a tracking id and written to the upstream in the background.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee/async")
+@RequiredArgsConstructor
+public class AsyncEmployeeController {
+
+    private final WriteBehindCreateQueue createQueue;
+
+    @PostMapping
+    public ResponseEntity<CreateStatus> createEmployee(
+            @RequestBody EmployeeRequest employeeInput, UriComponentsBuilder uriBuilder) {
+        log.debug("Received request to queue creation of employee: {}", employeeInput.getName());
+        CreateStatus status = createQueue.submit(employeeInput);
+        return ResponseEntity.accepted()
+                .location(uriBuilder
+                        .path("/api/v1/employee/async/{trackingId}")
+                        .buildAndExpand(status.getTrackingId())
+                        .toUri())
+                .body(status);
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<CreateStatus> getCreateStatus(@PathVariable String trackingId) {
+        return createQueue
+                .status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new EntityNotFoundException("No queued create with tracking id: " + trackingId));
+    }
+}
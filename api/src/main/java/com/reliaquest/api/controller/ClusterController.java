@@ -0,0 +1,128 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cluster.ClusterCredentials;
+import com.reliaquest.api.cluster.ClusterMember;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.RosterFeed;
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.ChangeFeed;
+import com.reliaquest.api.export.ColumnarRosterWriter;
+import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.util.RateLimitedLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Calls between api instances: heartbeats, the leader's roster snapshot and change feed, and broadcasts of creates
+ * and deletes. Only registered when the cluster is enabled. Every call must carry the cluster secret, and broadcasts
+ * must also name a live member as their sender; anything else is answered 403 without being looked at. The paths
+ * should still not be routed from outside the instances' network. Roster calls answer 503 on an instance that is not
+ * publishing the roster, and followers retry on their next sync.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/internal/cluster")
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private static final String SNAPSHOT_CONTENT_TYPE = "application/gzip";
+    private static final RateLimitedLogger REJECTED_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(10));
+
+    private final ClusterMembership membership;
+    private final ClusterCredentials credentials;
+    private final RosterFeed rosterFeed;
+    private final EmployeeService employeeService;
+
+    @PostMapping("/heartbeat")
+    public ClusterMember heartbeat(
+            @RequestHeader(value = ClusterCredentials.SECRET_HEADER, required = false) String secret,
+            @RequestBody ClusterMember member) {
+        authenticate(secret);
+        membership.heard(member);
+        return membership.self();
+    }
+
+    @GetMapping("/roster")
+    public void getRosterSnapshot(
+            @RequestHeader(value = ClusterCredentials.SECRET_HEADER, required = false) String secret,
+            HttpServletResponse response)
+            throws IOException {
+        authenticate(secret);
+        Optional<RosterFeed.Snapshot> snapshot = rosterFeed.snapshot();
+        if (snapshot.isEmpty()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        response.setContentType(SNAPSHOT_CONTENT_TYPE);
+        response.setHeader(RosterFeed.EPOCH_HEADER, snapshot.get().epoch());
+        response.setHeader(RosterFeed.SEQUENCE_HEADER, Long.toString(snapshot.get().sequence()));
+        try (ColumnarRosterWriter writer = new ColumnarRosterWriter(response.getOutputStream())) {
+            writer.write(snapshot.get().employees());
+        }
+        log.debug("Sent a roster snapshot of {} employees", snapshot.get().employees().size());
+    }
+
+    @GetMapping("/roster/changes")
+    public ResponseEntity<ChangeFeed> getRosterChanges(
+            @RequestHeader(value = ClusterCredentials.SECRET_HEADER, required = false) String secret,
+            @RequestParam("epoch") String epoch,
+            @RequestParam("since") long since) {
+        authenticate(secret);
+        return rosterFeed
+                .changesSince(epoch, since)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> applyInvalidation(
+            @RequestHeader(value = ClusterCredentials.SECRET_HEADER, required = false) String secret,
+            @RequestHeader(value = ClusterCredentials.MEMBER_HEADER, required = false) String memberId,
+            @RequestBody List<ChangeEvent> events) {
+        authenticate(secret);
+        if (!membership.isLivePeer(memberId)) {
+            throw new UnauthenticatedPeerException("Invalidation from unknown cluster member " + memberId);
+        }
+        employeeService.applyPeerChanges(events);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void authenticate(String secret) {
+        if (!membership.isEnabled() || !credentials.matches(secret)) {
+            throw new UnauthenticatedPeerException("Cluster call without a valid secret");
+        }
+    }
+
+    /*
+     * Handled here rather than by the global handler, whose catch-all would answer 500.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<Void> handleUnauthenticated(UnauthenticatedPeerException ex) {
+        REJECTED_LOG.warn("Rejected a cluster call: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    static final class UnauthenticatedPeerException extends RuntimeException {
+
+        UnauthenticatedPeerException(String message) {
+            super(message);
+        }
+    }
+}
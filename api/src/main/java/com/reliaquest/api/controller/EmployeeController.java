@@ -1,11 +1,20 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.dto.EmployeeLookupRequest;
+import com.reliaquest.api.dto.EmployeeLookupResult;
 import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.export.ColumnarRosterWriter;
+import com.reliaquest.api.lookup.EmployeeBatchLookup;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.IEmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +22,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -21,68 +31,119 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class EmployeeController implements IEmployeeController<Employee, EmployeeRequest> {
 
+    private static final String EXPORT_CONTENT_TYPE = "application/gzip";
+    private static final String EXPORT_FILE_NAME = "employees.columnar.gz";
+
     private final IEmployeeService employeeService;
+    private final EmployeeBatchLookup employeeLookup;
 
     @Override
     @GetMapping
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        log.info("Received request to get all employees");
+        log.debug("Received request to get all employees");
         List<Employee> employees = employeeService.getAllEmployees();
-        log.info("Returning {} employees", employees.size());
+        log.debug("Returning {} employees", employees.size());
         return ResponseEntity.ok(employees);
     }
 
+    /*
+     * The roster as a columnar file, encoded straight from the roster snapshot to the response one row group at a
+     * time instead of being materialized as JSON first.
+     */
+    @GetMapping("/export")
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        log.debug("Received request to export all employees");
+        List<Employee> employees = employeeService.getAllEmployees();
+        response.setContentType(EXPORT_CONTENT_TYPE);
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(EXPORT_FILE_NAME).build().toString());
+        try (ColumnarRosterWriter writer = new ColumnarRosterWriter(response.getOutputStream())) {
+            writer.write(employees);
+        }
+        log.debug("Exported {} employees", employees.size());
+    }
+
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
-        log.info("Received request to search employees by name: {}", searchString);
+        log.debug("Received request to search employees by name: {}", searchString);
         List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
-        log.info("Found {} employees matching search criteria", employees.size());
+        log.debug("Found {} employees matching search criteria", employees.size());
+        return ResponseEntity.ok(employees);
+    }
+
+    @GetMapping("/autocomplete/{prefix}")
+    public ResponseEntity<List<Employee>> autocompleteEmployeeNames(
+            @PathVariable String prefix, @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.debug("Received request to autocomplete employee names: {}", prefix);
+        List<Employee> employees = employeeService.autocompleteByName(prefix, limit);
+        log.debug("Returning {} autocomplete suggestions", employees.size());
+        return ResponseEntity.ok(employees);
+    }
+
+    @GetMapping("/fuzzySearch/{query}")
+    public ResponseEntity<List<Employee>> fuzzySearchEmployeesByName(
+            @PathVariable String query, @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.debug("Received request to fuzzy search employees by name: {}", query);
+        List<Employee> employees = employeeService.fuzzySearchByName(query, limit);
+        log.debug("Found {} employees close to search criteria", employees.size());
         return ResponseEntity.ok(employees);
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
-        log.info("Received request to get employee by id: {}", id);
+        log.debug("Received request to get employee by id: {}", id);
         Employee employee = employeeService.getEmployeeById(id);
-        log.info("Found employee: {}", employee.getEmployeeName());
+        log.debug("Found employee: {}", employee.getEmployeeName());
         return ResponseEntity.ok(employee);
     }
 
+    @PostMapping("/lookup")
+    public ResponseEntity<List<EmployeeLookupResult>> lookupEmployees(
+            @RequestBody EmployeeLookupRequest lookupRequest) {
+        log.debug("Received request to look up employees by ids: {}", lookupRequest.getIds());
+        Duration timeout =
+                lookupRequest.getTimeoutMillis() == null ? null : Duration.ofMillis(lookupRequest.getTimeoutMillis());
+        List<EmployeeLookupResult> results = employeeLookup.lookup(lookupRequest.getIds(), timeout);
+        log.debug("Returning {} lookup results", results.size());
+        return ResponseEntity.ok(results);
+    }
+
     @Override
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        log.info("Received request to get highest salary");
+        log.debug("Received request to get highest salary");
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
-        log.info("Highest salary found: {}", highestSalary);
+        log.debug("Highest salary found: {}", highestSalary);
         return ResponseEntity.ok(highestSalary);
     }
 
     @Override
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        log.info("Received request to get top 10 highest earning employee names");
+        log.debug("Received request to get top 10 highest earning employee names");
         List<String> topEarners = employeeService.getTopTenHighestEarningEmployeeNames();
-        log.info("Returning {} top earning employee names", topEarners.size());
+        log.debug("Returning {} top earning employee names", topEarners.size());
         return ResponseEntity.ok(topEarners);
     }
 
     @Override
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@RequestBody EmployeeRequest employeeInput) {
-        log.info("Received request to create employee: {}", employeeInput.getName());
+        log.debug("Received request to create employee: {}", employeeInput.getName());
         Employee createdEmployee = employeeService.createEmployee(employeeInput);
-        log.info("Successfully created employee with id: {}", createdEmployee.getId());
+        log.debug("Successfully created employee with id: {}", createdEmployee.getId());
         return ResponseEntity.ok(createdEmployee);
     }
 
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
-        log.info("Received request to delete employee by id: {}", id);
+        log.debug("Received request to delete employee by id: {}", id);
         String deletedEmployeeName = employeeService.deleteEmployeeById(id);
-        log.info("Successfully deleted employee: {}", deletedEmployeeName);
+        log.debug("Successfully deleted employee: {}", deletedEmployeeName);
         return ResponseEntity.ok(deletedEmployeeName);
     }
 }
@@ -0,0 +1,89 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.bulkimport.CsvRowReader;
+import com.reliaquest.api.bulkimport.EmployeeImporter;
+import com.reliaquest.api.bulkimport.ImportRowReader;
+import com.reliaquest.api.bulkimport.NdjsonRowReader;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.RequestValidationException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk import: an upload of employees as NDJSON ({@code application/x-ndjson}) or CSV ({@code text/csv}), streamed
+ * to the upstream as it is read. The response is an NDJSON stream of {@code ImportEvent}s ending in a summary.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee/import")
+@RequiredArgsConstructor
+public class EmployeeImportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final EmployeeImporter importer;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public void importEmployees(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("Received employee import of type {}", request.getContentType());
+        ImportRowReader rows = openRows(request);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ServletOutputStream out = response.getOutputStream();
+        importer.run(rows, (event, flush) -> {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+            if (flush) {
+                out.flush();
+            }
+        });
+    }
+
+    /*
+     * Picks the format from the Content-Type here rather than through `consumes`, so an unsupported one is a 400 with
+     * the accepted types instead of falling through to the generic error handler.
+     */
+    private ImportRowReader openRows(HttpServletRequest request) throws IOException {
+        MediaType contentType = parseContentType(request.getContentType());
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(contentType)) {
+            return new NdjsonRowReader(request.getReader(), objectMapper.readerFor(EmployeeRequest.class));
+        }
+        if (TEXT_CSV.equalsTypeAndSubtype(contentType)) {
+            return CsvRowReader.open(request.getReader());
+        }
+        throw unsupportedContentType();
+    }
+
+    private static MediaType parseContentType(String contentType) {
+        if (contentType == null) {
+            throw unsupportedContentType();
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw unsupportedContentType();
+        }
+    }
+
+    private static RequestValidationException unsupportedContentType() {
+        return new RequestValidationException(
+                "Validation failed",
+                List.of("Content-Type must be " + MediaType.APPLICATION_NDJSON_VALUE + " or " + TEXT_CSV));
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.reliaquest.api.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    @JsonProperty("sequence")
+    private long sequence;
+
+    @JsonProperty("type")
+    private Type type;
+
+    @JsonProperty("employee")
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeed {
+
+    @JsonProperty("epoch")
+    private String epoch;
+
+    @JsonProperty("latestSequence")
+    private long latestSequence;
+
+    @JsonProperty("resyncRequired")
+    private boolean resyncRequired;
+
+    @JsonProperty("events")
+    private List<ChangeEvent> events;
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.dto;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateStatus {
+
+    public enum State {
+        PENDING,
+        CREATED,
+        FAILED
+    }
+
+    private String trackingId;
+
+    private State state;
+
+    private int attempts;
+
+    private Instant acceptedAt;
+
+    private Instant completedAt;
+
+    private Employee employee;
+
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBatchRequest {
+
+    /*
+     * The most employees the upstream accepts in one batch; larger batches are rejected whole.
+     */
+    public static final int MAX_EMPLOYEES = 100;
+
+    private List<EmployeeRequest> employees;
+}
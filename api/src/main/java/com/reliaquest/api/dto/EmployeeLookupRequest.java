@@ -0,0 +1,21 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookupRequest {
+
+    private List<String> ids;
+
+    /*
+     * How long the client is willing to wait for upstream fetches; ids not resolved by then come back TIMED_OUT.
+     */
+    private Long timeoutMillis;
+}
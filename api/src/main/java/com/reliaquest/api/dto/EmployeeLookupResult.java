@@ -0,0 +1,39 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.api.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookupResult {
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        INVALID_ID,
+        THROTTLED,
+        TIMED_OUT,
+        FAILED
+    }
+
+    private String id;
+
+    private Status status;
+
+    private Employee employee;
+
+    private String error;
+
+    /*
+     * Set only on an employee served from last-known-good data while the upstream was throttling: how old that data
+     * was, in seconds.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long ageSeconds;
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEvent {
+
+    public enum Type {
+        FAILED,
+        PROGRESS,
+        RETRYING,
+        COMPLETED,
+        ABORTED
+    }
+
+    private Type type;
+
+    private Long line;
+
+    private List<String> errors;
+
+    private Long rowsRead;
+
+    private Long created;
+
+    private Long failed;
+
+    private Long retryInMillis;
+
+    private Long elapsedMillis;
+
+    private String message;
+}
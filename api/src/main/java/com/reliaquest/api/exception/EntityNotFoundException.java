@@ -1,8 +1,11 @@
 package com.reliaquest.api.exception;
 
+/**
+ * Expected control flow for unknown ids, so no stack trace is captured.
+ */
 public class EntityNotFoundException extends RuntimeException {
 
     public EntityNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -9,4 +9,9 @@ public class ExternalServiceException extends RuntimeException {
     public ExternalServiceException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected ExternalServiceException(
+            String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
 }
@@ -1,18 +1,36 @@
 package com.reliaquest.api.exception;
 
 import com.reliaquest.api.dto.ErrorResponse;
+import com.reliaquest.api.util.RateLimitedLogger;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final RateLimitedLogger THROTTLED_LOG = RateLimitedLogger.of(log, 5, Duration.ofSeconds(1));
+    private static final RateLimitedLogger UNAVAILABLE_LOG = RateLimitedLogger.of(log, 5, Duration.ofSeconds(1));
+
+    /*
+     * Bodies for the errors that arrive in bursts while the upstream is throttling or down.
+     */
+    private static final ErrorBodyTemplate TOO_MANY_REQUESTS_BODY = new ErrorBodyTemplate(
+            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", "Please try again after sometime");
+    private static final ErrorBodyTemplate SERVICE_UNAVAILABLE_BODY = new ErrorBodyTemplate(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Service Unavailable",
+            "External service is currently unavailable. Please try again later.");
+
     @ExceptionHandler(RequestValidationException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(RequestValidationException ex, WebRequest request) {
         log.warn("Validation failed: {}", ex.getMessage());
@@ -23,7 +41,7 @@ public class GlobalExceptionHandler {
                 .error("Bad Request")
                 .message(ex.getMessage())
                 .validationErrors(ex.getValidationErrors())
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(pathOf(request))
                 .build();
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
@@ -39,7 +57,7 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST.value())
                 .error("Bad Request")
                 .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(pathOf(request))
                 .build();
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
@@ -55,44 +73,42 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.NOT_FOUND.value())
                 .error("Not Found")
                 .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(pathOf(request))
                 .build();
 
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(ExternalServiceException.class)
-    public ResponseEntity<ErrorResponse> handleExternalServiceException(
-            ExternalServiceException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleExternalServiceException(ExternalServiceException ex, WebRequest request) {
 
         log.error("External service error: {}", ex.getMessage(), ex);
 
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
-                .error("Service Unavailable")
-                .message("External service is currently unavailable. Please try again later.")
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(SERVICE_UNAVAILABLE_BODY.render(LocalDateTime.now(), pathOf(request)));
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<byte[]> handleUpstreamUnavailableException(
+            UpstreamUnavailableException ex, WebRequest request) {
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+        UNAVAILABLE_LOG.warn("Failing fast, external service unavailable: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(SERVICE_UNAVAILABLE_BODY.render(LocalDateTime.now(), pathOf(request)));
     }
 
     @ExceptionHandler(TooManyRequestsException.class)
-    public ResponseEntity<ErrorResponse> handleResourceAccessException(
-            TooManyRequestsException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleResourceAccessException(TooManyRequestsException ex, WebRequest request) {
 
-        log.error("TooMany Requests exception: {}", ex.getMessage(), ex);
+        THROTTLED_LOG.warn("Too many requests: {}", ex.getMessage());
 
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.TOO_MANY_REQUESTS.value())
-                .error("Too Many Requests")
-                .message("Please try again after sometime")
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
-
-        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(TOO_MANY_REQUESTS_BODY.render(LocalDateTime.now(), pathOf(request)));
     }
 
     @ExceptionHandler(Exception.class)
@@ -105,9 +121,16 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
                 .error("Internal Server Error")
                 .message("An unexpected error occurred")
-                .path(request.getDescription(false).replace("uri=", ""))
+                .path(pathOf(request))
                 .build();
 
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private static String pathOf(WebRequest request) {
+        if (request instanceof ServletWebRequest servletWebRequest) {
+            return servletWebRequest.getRequest().getRequestURI();
+        }
+        return request.getDescription(false).replace("uri=", "");
+    }
 }
@@ -0,0 +1,15 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+/**
+ * Raised when a call is turned away before reaching the upstream by this instance's own limits: a full bulkhead, an
+ * exhausted request budget or no spare token for an opportunistic call. Says nothing about the upstream's health, so
+ * unlike its parent it must not be taken as the upstream throttling.
+ */
+public class LocalRejectionException extends UpstreamUnavailableException {
+
+    public LocalRejectionException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
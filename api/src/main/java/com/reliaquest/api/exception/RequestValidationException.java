@@ -2,12 +2,15 @@ package com.reliaquest.api.exception;
 
 import java.util.List;
 
+/**
+ * Expected control flow for invalid client input, so no stack trace is captured.
+ */
 public class RequestValidationException extends RuntimeException {
 
     private final List<String> validationErrors;
 
     public RequestValidationException(String message, List<String> validationErrors) {
-        super(message);
+        super(message, null, false, false);
         this.validationErrors = validationErrors;
     }
 
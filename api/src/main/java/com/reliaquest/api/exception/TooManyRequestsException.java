@@ -1,8 +1,11 @@
 package com.reliaquest.api.exception;
 
+/**
+ * Expected control flow while the upstream is throttling, so no stack trace is captured.
+ */
 public class TooManyRequestsException extends RuntimeException {
 
     public TooManyRequestsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,21 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+/**
+ * Raised instead of calling the upstream while it is known to be unavailable. Expected control flow under load, so no
+ * stack trace is captured.
+ */
+public class UpstreamUnavailableException extends ExternalServiceException {
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,192 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a file written by {@link ColumnarRosterWriter} one row group at a time. Malformed or truncated files fail with
+ * an {@link IOException}.
+ */
+public final class ColumnarRosterReader implements Closeable {
+
+    private final InputStream in;
+    private final List<String> titles = new ArrayList<>();
+    private boolean exhausted;
+
+    public ColumnarRosterReader(InputStream in) throws IOException {
+        this.in = new GZIPInputStream(in, 64 * 1024);
+        byte[] magic = this.in.readNBytes(ColumnarRosterWriter.MAGIC.length);
+        if (!Arrays.equals(magic, ColumnarRosterWriter.MAGIC)) {
+            throw new IOException("Not a columnar roster export");
+        }
+        int version = this.in.read();
+        if (version != ColumnarRosterWriter.VERSION) {
+            throw new IOException("Unsupported columnar roster export version " + version);
+        }
+    }
+
+    /*
+     * The employees of the next row group, or null once the file is exhausted.
+     */
+    public List<Employee> nextRowGroup() throws IOException {
+        if (exhausted) {
+            return null;
+        }
+        int rowCount = (int) readVarint(in);
+        if (rowCount == 0) {
+            exhausted = true;
+            return null;
+        }
+
+        List<Employee> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Employee());
+        }
+        try {
+            readColumns(rows);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Malformed columnar roster export", e);
+        }
+        return rows;
+    }
+
+    private void readColumns(List<Employee> rows) throws IOException {
+        readIds(column(), rows);
+        Column names = column();
+        rows.forEach(employee -> employee.setEmployeeName(names.readString()));
+        Column salaries = column();
+        long previousSalary = 0;
+        for (Employee employee : rows) {
+            Long delta = salaries.readNullableNumber();
+            if (delta != null) {
+                previousSalary += delta;
+                employee.setEmployeeSalary((int) previousSalary);
+            }
+        }
+        Column ages = column();
+        for (Employee employee : rows) {
+            Long age = ages.readNullableNumber();
+            employee.setEmployeeAge(age == null ? null : age.intValue());
+        }
+        Column titleCodes = column();
+        for (Employee employee : rows) {
+            employee.setEmployeeTitle(readTitle(titleCodes));
+        }
+        Column emails = column();
+        rows.forEach(employee -> employee.setEmployeeEmail(emails.readString()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Column column() throws IOException {
+        int length = (int) readVarint(in);
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Columnar roster export is truncated");
+        }
+        return new Column(bytes);
+    }
+
+    private static void readIds(Column ids, List<Employee> rows) {
+        long encoding = ids.readVarint();
+        for (Employee employee : rows) {
+            employee.setId(
+                    encoding == ColumnarRosterWriter.ID_UUID
+                            ? new UUID(ids.readLong(), ids.readLong()).toString()
+                            : ids.readString());
+        }
+    }
+
+    private String readTitle(Column titleCodes) {
+        long code = titleCodes.readVarint();
+        if (code == 0) {
+            return null;
+        }
+        if (code == ColumnarRosterWriter.TITLE_NEW) {
+            String title = titleCodes.readString();
+            if (titles.size() < ColumnarRosterWriter.MAX_TITLES) {
+                titles.add(title);
+            }
+            return title;
+        }
+        return titles.get((int) (code - ColumnarRosterWriter.TITLE_DICTIONARY));
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException("Columnar roster export is truncated");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in columnar roster export");
+    }
+
+    /*
+     * One column of a row group. Reads past its end throw IndexOutOfBoundsException, reported as a malformed file.
+     */
+    private static final class Column {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Column(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        Long readNullableNumber() {
+            long value = readVarint();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+    }
+}
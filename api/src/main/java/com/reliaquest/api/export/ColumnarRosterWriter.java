@@ -0,0 +1,289 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.Uuids;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes employees as a gzip-compressed columnar file, one row group at a time, so an export holds no more than one
+ * row group's encoded columns in memory on top of the roster it reads from. {@link ColumnarRosterReader} reads it back.
+ *
+ * <p>After gzip, the file is the magic {@code EMPC} and a version byte, then the row groups, then a row count of zero.
+ * A row group is its row count followed by the columns id, name, salary, age, title and email, each as its length in
+ * bytes and its values for every row, so a reader can skip the columns it does not need:
+ *
+ * <ul>
+ *   <li>id: {@link #ID_UUID} and sixteen bytes per row when every id in the group is a lower-case UUID, otherwise
+ *       {@link #ID_STRING} and a string per row.
+ *   <li>salary: the difference from the previous salary in the group.
+ *   <li>age: the age.
+ *   <li>title: {@link #TITLE_NEW} followed by a string for a title not seen before, which is added to a dictionary
+ *       shared by all row groups while it holds fewer than {@link #MAX_TITLES}; otherwise its index in the dictionary
+ *       plus {@link #TITLE_DICTIONARY}.
+ *   <li>name and email: a string per row.
+ * </ul>
+ *
+ * Counts, lengths and codes are unsigned LEB128 varints. Strings are their UTF-8 length plus one followed by the bytes,
+ * and numbers are zigzag-encoded plus one; zero is null for both, as it is for a title code.
+ */
+public final class ColumnarRosterWriter implements Closeable {
+
+    public static final byte[] MAGIC = {'E', 'M', 'P', 'C'};
+    public static final int VERSION = 1;
+    public static final int DEFAULT_ROW_GROUP_SIZE = 8192;
+    public static final int MAX_TITLES = 65_536;
+
+    static final int ID_UUID = 0;
+    static final int ID_STRING = 1;
+    static final int TITLE_NEW = 1;
+    static final int TITLE_DICTIONARY = 2;
+
+    private final GZIPOutputStream out;
+    private final int rowGroupSize;
+    private final Map<String, Integer> titleIndexes = new HashMap<>();
+    private final ColumnBuffer header = new ColumnBuffer();
+    private final ColumnBuffer ids = new ColumnBuffer();
+    private final ColumnBuffer names = new ColumnBuffer();
+    private final ColumnBuffer salaries = new ColumnBuffer();
+    private final ColumnBuffer ages = new ColumnBuffer();
+    private final ColumnBuffer titles = new ColumnBuffer();
+    private final ColumnBuffer emails = new ColumnBuffer();
+    private final List<ColumnBuffer> columns = List.of(ids, names, salaries, ages, titles, emails);
+
+    private boolean finished;
+
+    public ColumnarRosterWriter(OutputStream out) throws IOException {
+        this(out, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarRosterWriter(OutputStream out, int rowGroupSize) throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be at least 1, got " + rowGroupSize);
+        }
+        this.out = new FastGzipOutputStream(out);
+        this.rowGroupSize = rowGroupSize;
+        this.out.write(MAGIC);
+        this.out.write(VERSION);
+    }
+
+    public void write(List<Employee> employees) throws IOException {
+        for (int from = 0; from < employees.size(); from += rowGroupSize) {
+            writeRowGroup(employees.subList(from, Math.min(from + rowGroupSize, employees.size())));
+        }
+    }
+
+    /*
+     * Ends the file and the gzip stream, leaving the underlying stream open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        out.write(0);
+        out.finish();
+        out.flush();
+    }
+
+    private void writeRowGroup(List<Employee> rows) throws IOException {
+        for (ColumnBuffer column : columns) {
+            column.reset();
+        }
+        writeIds(rows);
+        long previousSalary = 0;
+        for (Employee employee : rows) {
+            names.writeString(employee.getEmployeeName());
+            Integer salary = employee.getEmployeeSalary();
+            salaries.writeNullableNumber(salary == null ? null : salary - previousSalary);
+            if (salary != null) {
+                previousSalary = salary;
+            }
+            Integer age = employee.getEmployeeAge();
+            ages.writeNullableNumber(age == null ? null : age.longValue());
+            writeTitle(employee.getEmployeeTitle());
+            emails.writeString(employee.getEmployeeEmail());
+        }
+
+        header.reset();
+        header.writeVarint(rows.size());
+        header.writeTo(out);
+        for (ColumnBuffer column : columns) {
+            header.reset();
+            header.writeVarint(column.size());
+            header.writeTo(out);
+            column.writeTo(out);
+        }
+    }
+
+    private void writeIds(List<Employee> rows) {
+        boolean allUuids = rows.stream().allMatch(employee -> isLowerCaseUuid(employee.getId()));
+        ids.writeVarint(allUuids ? ID_UUID : ID_STRING);
+        for (Employee employee : rows) {
+            if (allUuids) {
+                UUID id = Uuids.parseOrNull(employee.getId());
+                ids.writeLong(id.getMostSignificantBits());
+                ids.writeLong(id.getLeastSignificantBits());
+            } else {
+                ids.writeString(employee.getId());
+            }
+        }
+    }
+
+    private void writeTitle(String title) {
+        if (title == null) {
+            titles.writeVarint(0);
+            return;
+        }
+        Integer index = titleIndexes.get(title);
+        if (index != null) {
+            titles.writeVarint(TITLE_DICTIONARY + (long) index);
+            return;
+        }
+        if (titleIndexes.size() < MAX_TITLES) {
+            titleIndexes.put(title, titleIndexes.size());
+        }
+        titles.writeVarint(TITLE_NEW);
+        titles.writeString(title);
+    }
+
+    /*
+     * Only lower-case ids are packed, as UUID.toString gives them back that way.
+     */
+    private static boolean isLowerCaseUuid(String id) {
+        if (!Uuids.isValid(id)) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) >= 'A' && id.charAt(i) <= 'F') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Deflates at the fastest level. Random ids and salaries make up most of the file and barely compress at any level,
+     * so the higher levels cost CPU for almost no saving.
+     */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+
+    /*
+     * A growable byte array, reused from one row group to the next. Strings are encoded to UTF-8 in place rather than
+     * through String.getBytes, so writing a row allocates nothing.
+     */
+    private static final class ColumnBuffer {
+
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeNullableNumber(Long value) {
+            writeVarint(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            int length = utf8Length(value);
+            writeVarint(length + 1L);
+            ensureCapacity(length);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | c >> 6);
+                    bytes[size++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c)
+                        && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[size++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[size++] = (byte) (0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogates become '?', as String.getBytes would make them.
+                    bytes[size++] = '?';
+                } else {
+                    bytes[size++] = (byte) (0xE0 | c >> 12);
+                    bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[size++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        private static int utf8Length(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    length++;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c)
+                        && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    length++;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
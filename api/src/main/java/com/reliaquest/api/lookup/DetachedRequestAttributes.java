@@ -0,0 +1,54 @@
+package com.reliaquest.api.lookup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.context.request.RequestAttributes;
+
+/**
+ * Request attributes for one upstream fetch run on a pool thread on behalf of a lookup. Their presence keeps the
+ * fetch at interactive priority, and anything it records, such as having served stale data, stays with the fetch
+ * instead of reaching the web request, which may already have completed. The lookup copies what it needs back on the
+ * request thread. There is no session, and destruction callbacks are never run.
+ */
+class DetachedRequestAttributes implements RequestAttributes {
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        return attributes.keySet().toArray(String[]::new);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {}
+
+    @Override
+    public Object resolveReference(String key) {
+        return null;
+    }
+
+    @Override
+    public String getSessionId() {
+        throw new IllegalStateException("A detached lookup fetch has no session");
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        throw new IllegalStateException("A detached lookup fetch has no session");
+    }
+}
@@ -0,0 +1,323 @@
+package com.reliaquest.api.lookup;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.cache.StaleResponses;
+import com.reliaquest.api.dto.EmployeeLookupResult;
+import com.reliaquest.api.dto.EmployeeLookupResult.Status;
+import com.reliaquest.api.exception.EntityNotFoundException;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.RequestValidationException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.util.Uuids;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves many employee ids in one request. Ids with a fresh answer in the {@link EmployeeCache} are served from it,
+ * and the rest from the {@link MaterializedRoster}'s view when there is one. Up to {@code app.lookup.max-fetches} ids
+ * left over are fetched from the upstream concurrently on a bounded pool, each as a single attempt without retries;
+ * with more than that, the lookup reads the whole roster once instead, so one request never fans out into more than
+ * a handful of upstream calls.
+ *
+ * <p>Every lookup has a deadline. Fetches still running or queued when it passes are cancelled, so no work outlives the
+ * request, and their ids come back {@code TIMED_OUT} next to the ones that did resolve. A fetch that has already
+ * reached the upstream still completes in the background and fills the cache for the next lookup. Fetches run with
+ * {@link DetachedRequestAttributes} rather than the request's own, so a late one cannot touch a completed request; an
+ * employee served from last-known-good data comes back with its age, and marks the response stale.
+ */
+@Slf4j
+@Component
+public class EmployeeBatchLookup implements DisposableBean {
+
+    private final EmployeeService employeeService;
+    private final EmployeeCache employeeCache;
+    private final MaterializedRoster materializedRoster;
+    private final int maxIds;
+    private final int maxFetches;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final ThreadPoolExecutor executor;
+
+    public EmployeeBatchLookup(
+            EmployeeService employeeService,
+            EmployeeCache employeeCache,
+            MaterializedRoster materializedRoster,
+            @Value("${app.lookup.parallelism:8}") int parallelism,
+            @Value("${app.lookup.queue-capacity:200}") int queueCapacity,
+            @Value("${app.lookup.max-ids:100}") int maxIds,
+            @Value("${app.lookup.max-fetches:5}") int maxFetches,
+            @Value("${app.lookup.timeout:2s}") Duration defaultTimeout,
+            @Value("${app.lookup.max-timeout:10s}") Duration maxTimeout) {
+        this.employeeService = employeeService;
+        this.employeeCache = employeeCache;
+        this.materializedRoster = materializedRoster;
+        this.maxIds = maxIds;
+        this.maxFetches = maxFetches;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                parallelism,
+                parallelism,
+                30,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "employee-lookup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /*
+     * One result per distinct id, in the order the ids were given. A null timeout uses the configured default.
+     */
+    public List<EmployeeLookupResult> lookup(List<String> ids, Duration timeout) {
+        validate(ids, timeout);
+        Duration effectiveTimeout = timeout == null ? defaultTimeout : timeout;
+        long deadline = System.nanoTime() + effectiveTimeout.toNanos();
+
+        Map<String, EmployeeLookupResult> resultsById = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (resultsById.containsKey(id) || misses.contains(id)) {
+                continue;
+            }
+            UUID uuid = Uuids.parseOrNull(id);
+            if (uuid == null) {
+                resultsById.put(id, result(id, Status.INVALID_ID, null, "Expected a valid UUID"));
+                continue;
+            }
+            Optional<EmployeeCache.Entry> cached = employeeCache.lookup(uuid);
+            if (cached.isPresent()) {
+                resultsById.put(id, fromCache(id, cached.get()));
+            } else {
+                misses.add(id);
+            }
+        }
+
+        List<String> unresolved = misses.isEmpty() ? List.of() : resolveFromView(misses, resultsById);
+        if (unresolved.size() > maxFetches) {
+            resultsById.putAll(readRoster(unresolved, deadline, effectiveTimeout));
+        } else if (!unresolved.isEmpty()) {
+            resultsById.putAll(fetchEach(unresolved, deadline, effectiveTimeout));
+        }
+
+        resultsById.values().stream()
+                .map(EmployeeLookupResult::getAgeSeconds)
+                .filter(Objects::nonNull)
+                .max(Long::compare)
+                .ifPresent(age -> StaleResponses.markServedStale(Duration.ofSeconds(age)));
+
+        log.debug("Looked up {} employee ids, {} past the roster view", resultsById.size(), unresolved.size());
+        return ids.stream().distinct().map(resultsById::get).toList();
+    }
+
+    /*
+     * The ids the view does not hold, which may have been created since it was built.
+     */
+    private List<String> resolveFromView(Set<String> ids, Map<String, EmployeeLookupResult> resultsById) {
+        Optional<RosterView> view = materializedRoster.view();
+        if (view.isEmpty()) {
+            return new ArrayList<>(ids);
+        }
+        Map<String, Employee> employeesById = byId(view.get().employees());
+        List<String> unresolved = new ArrayList<>();
+        for (String id : ids) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                resultsById.put(id, result(id, Status.FOUND, employee, null));
+            } else {
+                unresolved.add(id);
+            }
+        }
+        return unresolved;
+    }
+
+    private Map<String, EmployeeLookupResult> fetchEach(List<String> ids, long deadline, Duration timeout) {
+        Map<String, EmployeeLookupResult> resultsById = new HashMap<>();
+        Map<String, Future<EmployeeLookupResult>> fetches = new LinkedHashMap<>();
+        try {
+            for (String id : ids) {
+                try {
+                    fetches.put(id, executor.submit(() -> fetch(id)));
+                } catch (RejectedExecutionException e) {
+                    resultsById.put(id, result(id, Status.THROTTLED, null, "Lookup capacity exhausted"));
+                }
+            }
+            for (Map.Entry<String, Future<EmployeeLookupResult>> fetch : fetches.entrySet()) {
+                try {
+                    resultsById.put(fetch.getKey(), await(fetch.getValue(), deadline));
+                } catch (TimeoutException | InterruptedException | ExecutionException e) {
+                    resultsById.put(fetch.getKey(), unanswered(fetch.getKey(), e, timeout));
+                }
+            }
+        } finally {
+            fetches.values().forEach(future -> future.cancel(true));
+        }
+        return resultsById;
+    }
+
+    /*
+     * One roster read answers every id: those it does not hold are not found.
+     */
+    private Map<String, EmployeeLookupResult> readRoster(List<String> ids, long deadline, Duration timeout) {
+        Future<Map<String, EmployeeLookupResult>> read;
+        try {
+            read = executor.submit(() -> resolveFromRoster(ids));
+        } catch (RejectedExecutionException e) {
+            return each(ids, id -> result(id, Status.THROTTLED, null, "Lookup capacity exhausted"));
+        }
+        try {
+            return await(read, deadline);
+        } catch (TimeoutException | InterruptedException | ExecutionException e) {
+            return each(ids, id -> unanswered(id, e, timeout));
+        } finally {
+            read.cancel(true);
+        }
+    }
+
+    private Map<String, EmployeeLookupResult> resolveFromRoster(List<String> ids) {
+        RequestContextHolder.setRequestAttributes(new DetachedRequestAttributes());
+        try {
+            Map<String, Employee> employeesById = byId(employeeService.getAllEmployees());
+            Long ageSeconds = staleAgeSeconds();
+            return each(ids, id -> {
+                Employee employee = employeesById.get(id);
+                if (employee == null) {
+                    return result(id, Status.NOT_FOUND, null, "Employee not found with id: " + id);
+                }
+                EmployeeLookupResult found = result(id, Status.FOUND, employee, null);
+                found.setAgeSeconds(ageSeconds);
+                return found;
+            });
+        } catch (TooManyRequestsException | UpstreamUnavailableException e) {
+            return each(ids, id -> result(id, Status.THROTTLED, null, e.getMessage()));
+        } catch (ExternalServiceException e) {
+            return each(ids, id -> result(id, Status.FAILED, null, e.getMessage()));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private void validate(List<String> ids, Duration timeout) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RequestValidationException("Validation failed", List.of("ids: must not be empty"));
+        }
+        if (ids.size() > maxIds) {
+            throw new RequestValidationException(
+                    "Validation failed", List.of("ids: size must be between 1 and " + maxIds));
+        }
+        if (timeout != null && (timeout.isNegative() || timeout.compareTo(maxTimeout) > 0)) {
+            throw new RequestValidationException(
+                    "Validation failed", List.of("timeoutMillis: must be between 0 and " + maxTimeout.toMillis()));
+        }
+    }
+
+    private EmployeeLookupResult fetch(String id) {
+        RequestContextHolder.setRequestAttributes(new DetachedRequestAttributes());
+        try {
+            EmployeeLookupResult found = result(id, Status.FOUND, employeeService.resolveEmployeeById(id), null);
+            found.setAgeSeconds(staleAgeSeconds());
+            return found;
+        } catch (EntityNotFoundException e) {
+            return result(id, Status.NOT_FOUND, null, e.getMessage());
+        } catch (TooManyRequestsException | UpstreamUnavailableException e) {
+            return result(id, Status.THROTTLED, null, e.getMessage());
+        } catch (ExternalServiceException e) {
+            return result(id, Status.FAILED, null, e.getMessage());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /*
+     * Read on the fetch's thread, from its detached attributes.
+     */
+    private static Long staleAgeSeconds() {
+        return StaleResponses.currentAge().map(Duration::toSeconds).orElse(null);
+    }
+
+    private static <T> T await(Future<T> future, long deadline)
+            throws TimeoutException, InterruptedException, ExecutionException {
+        return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    private static EmployeeLookupResult unanswered(String id, Exception e, Duration timeout) {
+        if (e instanceof TimeoutException) {
+            return result(id, Status.TIMED_OUT, null, "No answer within " + timeout.toMillis() + "ms");
+        }
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            return result(id, Status.TIMED_OUT, null, "Lookup interrupted");
+        }
+        log.error("Lookup of employee {} failed", id, e.getCause());
+        return result(id, Status.FAILED, null, "Failed to retrieve employee from external service");
+    }
+
+    private static Map<String, Employee> byId(List<Employee> employees) {
+        Map<String, Employee> employeesById = new HashMap<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            employeesById.put(employee.getId(), employee);
+        }
+        return employeesById;
+    }
+
+    private static Map<String, EmployeeLookupResult> each(
+            List<String> ids, Function<String, EmployeeLookupResult> resultOf) {
+        Map<String, EmployeeLookupResult> resultsById = new HashMap<>();
+        ids.forEach(id -> resultsById.put(id, resultOf.apply(id)));
+        return resultsById;
+    }
+
+    private static EmployeeLookupResult fromCache(String id, EmployeeCache.Entry entry) {
+        if (entry.isNotFound()) {
+            return result(id, Status.NOT_FOUND, null, "Employee not found with id: " + id);
+        }
+        return result(id, Status.FOUND, entry.employee(), null);
+    }
+
+    private static EmployeeLookupResult result(String id, Status status, Employee employee, String error) {
+        return EmployeeLookupResult.builder()
+                .id(id)
+                .status(status)
+                .employee(employee)
+                .error(error)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.reliaquest.api.util.StringDeduplicator;
+import java.io.IOException;
+
+/**
+ * Reads an {@link Employee} straight off the token stream, matching field names with a switch instead of going
+ * through the bean deserializer's property lookup and reflective setters. Titles repeat across the roster and are
+ * shared through a {@link StringDeduplicator}, so a decoded roster holds one string per distinct title.
+ *
+ * <p>Accepts exactly what the bean deserializer accepts for these fields; unknown fields are left to the mapper's
+ * {@code FAIL_ON_UNKNOWN_PROPERTIES} setting.
+ */
+public class EmployeeDeserializer extends StdDeserializer<Employee> {
+
+    private static final StringDeduplicator TITLES = StringDeduplicator.withCapacity(1024);
+
+    public EmployeeDeserializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public Employee deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Employee) ctxt.handleUnexpectedToken(Employee.class, p);
+        }
+
+        Employee employee = new Employee();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> employee.setId(string(p, ctxt));
+                case "employee_name" -> employee.setEmployeeName(string(p, ctxt));
+                case "employee_salary" -> employee.setEmployeeSalary(_parseInteger(p, ctxt, Integer.class));
+                case "employee_age" -> employee.setEmployeeAge(_parseInteger(p, ctxt, Integer.class));
+                case "employee_title" -> employee.setEmployeeTitle(title(p, ctxt));
+                case "employee_email" -> employee.setEmployeeEmail(string(p, ctxt));
+                default -> ctxt.handleUnknownProperty(p, this, Employee.class, field);
+            }
+        }
+        return employee;
+    }
+
+    /*
+     * A scalar as text, as the bean deserializer reads it; an object or array is a mismatch rather than a null, and
+     * would otherwise leave the parser inside it.
+     */
+    private static String string(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken().isStructStart()) {
+            return (String) ctxt.handleUnexpectedToken(String.class, p);
+        }
+        return p.getValueAsString();
+    }
+
+    private static String title(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return string(p, ctxt);
+        }
+        return TITLES.dedupe(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    }
+}
@@ -0,0 +1,443 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable name indexes over a roster for type-ahead and typo-tolerant search, built once per roster and shared by
+ * every search of it.
+ *
+ * <p>Autocomplete binary-searches sorted term arrays, the flat equivalent of a prefix trie: one of whole lower-cased
+ * names and one of every later word in them, so "jo" finds John Smith and "smi" finds him too. Whole-name matches rank
+ * first, then word matches, each alphabetically, and only the first {@code limit} entries of the matching range are
+ * read, so the cost does not grow with the roster.
+ *
+ * <p>Fuzzy search matches query words against distinct name words within a bounded edit distance (optimal string
+ * alignment, so a transposition is one edit): none for words of up to two letters, one up to five, two beyond.
+ * Candidate words come from a symmetric-delete index, a sorted array of hashes of every variant of a word with up to
+ * two letters removed, so a query only looks up its own few deletions instead of comparing against every word; a hash
+ * collision only adds a candidate for the edit distance check to reject. Employees rank by query words matched, then
+ * total edits, then name.
+ *
+ * <p>{@link #scanAutocomplete} and {@link #scanFuzzySearch} answer the same queries with the same ranking by scanning a
+ * roster instead, for when no index has been built for it and building one for a single query would cost more.
+ */
+public final class NameIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int MAX_EDITS = 2;
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final long HASH_BASE = 0x100000001b3L;
+    private static final int WORD_ID_BITS = 24;
+    private static final long WORD_ID_MASK = (1L << WORD_ID_BITS) - 1;
+
+    private final List<Employee> employees;
+
+    private final String[] names;
+    private final String[] wordTerms;
+    private final int[] wordTermEmployees;
+
+    private final String[] words;
+    private final int[][] postings;
+    private final long[] deletionKeys;
+
+    private NameIndex(List<Employee> roster) {
+        // Employees are numbered in name order, so comparing ids compares names.
+        List<Term> names = new ArrayList<>(roster.size());
+        for (int i = 0; i < roster.size(); i++) {
+            String name = String.join(" ", words(roster.get(i).getEmployeeName()));
+            if (!name.isEmpty()) {
+                names.add(new Term(name, i));
+            }
+        }
+        names.sort(Term.ORDER);
+        this.employees = names.stream().map(term -> roster.get(term.employee())).toList();
+        this.names = names.stream().map(Term::text).toArray(String[]::new);
+
+        List<Term> laterWords = new ArrayList<>(this.names.length);
+        Map<String, List<Integer>> employeesByWord = new HashMap<>();
+        for (int i = 0; i < this.names.length; i++) {
+            String[] nameWords = this.names[i].split(" ");
+            for (int w = 0; w < nameWords.length; w++) {
+                if (w > 0) {
+                    laterWords.add(new Term(nameWords[w], i));
+                }
+                List<Integer> posting = employeesByWord.computeIfAbsent(nameWords[w], ignored -> new ArrayList<>());
+                if (posting.isEmpty() || posting.get(posting.size() - 1) != i) {
+                    posting.add(i);
+                }
+            }
+        }
+        laterWords.sort(Term.ORDER);
+        this.wordTerms = laterWords.stream().map(Term::text).toArray(String[]::new);
+        this.wordTermEmployees = laterWords.stream().mapToInt(Term::employee).toArray();
+
+        this.words = employeesByWord.keySet().toArray(String[]::new);
+        if (words.length > WORD_ID_MASK) {
+            throw new IllegalArgumentException("Too many distinct name words to index: " + words.length);
+        }
+        this.postings = new int[words.length][];
+        long[] keys = new long[Math.max(16, words.length * 16)];
+        int keyCount = 0;
+        for (int w = 0; w < words.length; w++) {
+            postings[w] = employeesByWord.get(words[w]).stream().mapToInt(Integer::intValue).toArray();
+            long[] hashes = deletionHashes(words[w], MAX_EDITS);
+            if (keyCount + hashes.length > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keyCount + hashes.length));
+            }
+            for (long hash : hashes) {
+                keys[keyCount++] = hash << WORD_ID_BITS | w;
+            }
+        }
+        Arrays.sort(keys, 0, keyCount);
+        int distinct = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (distinct == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        this.deletionKeys = Arrays.copyOf(keys, distinct);
+    }
+
+    public static NameIndex of(List<Employee> employees) {
+        return new NameIndex(List.copyOf(employees));
+    }
+
+    public List<Employee> autocomplete(String prefix, int limit) {
+        String normalized = String.join(" ", words(prefix));
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> matches = new LinkedHashSet<>();
+        for (int i = lowerBound(names, normalized); i < names.length && matches.size() < limit; i++) {
+            if (!names[i].startsWith(normalized)) {
+                break;
+            }
+            matches.add(i);
+        }
+        for (int i = lowerBound(wordTerms, normalized); i < wordTerms.length && matches.size() < limit; i++) {
+            if (!wordTerms[i].startsWith(normalized)) {
+                break;
+            }
+            matches.add(wordTermEmployees[i]);
+        }
+        return matches.stream().map(employees::get).toList();
+    }
+
+    public List<Employee> fuzzySearch(String query, int limit) {
+        String[] queryWords =
+                Arrays.stream(words(query)).distinct().limit(MAX_QUERY_WORDS).toArray(String[]::new);
+        if (queryWords.length == 0 || limit < 1) {
+            return List.of();
+        }
+
+        // One packed (employee, query word, edits) hit per matching name word; sorting groups them by employee.
+        long[] hits = new long[64];
+        int hitCount = 0;
+        for (int q = 0; q < queryWords.length; q++) {
+            int maxEdits = maxEdits(queryWords[q]);
+            for (int w : candidateWords(queryWords[q], maxEdits)) {
+                int edits = editDistance(queryWords[q], words[w], maxEdits);
+                if (edits > maxEdits) {
+                    continue;
+                }
+                if (hitCount + postings[w].length > hits.length) {
+                    hits = Arrays.copyOf(hits, Math.max(hits.length * 2, hitCount + postings[w].length));
+                }
+                for (int employee : postings[w]) {
+                    hits[hitCount++] = (long) employee << 16 | q << 8 | edits;
+                }
+            }
+        }
+        Arrays.sort(hits, 0, hitCount);
+
+        // The best `limit` ranking keys so far, ascending; most candidates lose to the last one and cost nothing.
+        long[] best = new long[limit];
+        int bestCount = 0;
+        int[] fewestEdits = new int[queryWords.length];
+        for (int from = 0; from < hitCount; ) {
+            int employee = (int) (hits[from] >>> 16);
+            Arrays.fill(fewestEdits, Integer.MAX_VALUE);
+            int to = from;
+            for (; to < hitCount && (int) (hits[to] >>> 16) == employee; to++) {
+                int q = (int) (hits[to] >>> 8) & 0xFF;
+                fewestEdits[q] = Math.min(fewestEdits[q], (int) hits[to] & 0xFF);
+            }
+            from = to;
+
+            int unmatched = 0;
+            int edits = 0;
+            for (int fewest : fewestEdits) {
+                if (fewest == Integer.MAX_VALUE) {
+                    unmatched++;
+                } else {
+                    edits += fewest;
+                }
+            }
+            long key = (long) unmatched << 48 | (long) edits << 32 | employee;
+            if (bestCount == limit && key > best[limit - 1]) {
+                continue;
+            }
+            int slot = bestCount < limit ? bestCount++ : limit - 1;
+            for (; slot > 0 && best[slot - 1] > key; slot--) {
+                best[slot] = best[slot - 1];
+            }
+            best[slot] = key;
+        }
+        return Arrays.stream(best, 0, bestCount)
+                .mapToObj(key -> employees.get((int) key))
+                .toList();
+    }
+
+    public static List<Employee> scanAutocomplete(List<Employee> roster, String prefix, int limit) {
+        String normalized = String.join(" ", words(prefix));
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        String[] names = names(roster);
+        List<Term> nameMatches = new ArrayList<>();
+        List<Term> wordMatches = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].isEmpty()) {
+                continue;
+            }
+            if (names[i].startsWith(normalized)) {
+                nameMatches.add(new Term(names[i], i));
+            }
+            String[] nameWords = names[i].split(" ");
+            for (int w = 1; w < nameWords.length; w++) {
+                if (nameWords[w].startsWith(normalized)) {
+                    wordMatches.add(new Term(nameWords[w], i));
+                }
+            }
+        }
+        nameMatches.sort(Term.ORDER);
+        wordMatches.sort(Comparator.comparing(Term::text).thenComparing(Term::employee, nameOrder(names)));
+
+        Set<Integer> matches = new LinkedHashSet<>();
+        for (int i = 0; i < nameMatches.size() && matches.size() < limit; i++) {
+            matches.add(nameMatches.get(i).employee());
+        }
+        for (int i = 0; i < wordMatches.size() && matches.size() < limit; i++) {
+            matches.add(wordMatches.get(i).employee());
+        }
+        return matches.stream().map(roster::get).toList();
+    }
+
+    public static List<Employee> scanFuzzySearch(List<Employee> roster, String query, int limit) {
+        String[] queryWords =
+                Arrays.stream(words(query)).distinct().limit(MAX_QUERY_WORDS).toArray(String[]::new);
+        if (queryWords.length == 0 || limit < 1) {
+            return List.of();
+        }
+
+        String[] names = names(roster);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].isEmpty()) {
+                continue;
+            }
+            String[] nameWords = names[i].split(" ");
+            int unmatched = 0;
+            int edits = 0;
+            for (String queryWord : queryWords) {
+                int maxEdits = maxEdits(queryWord);
+                int fewest = maxEdits + 1;
+                for (String nameWord : nameWords) {
+                    fewest = Math.min(fewest, editDistance(queryWord, nameWord, maxEdits));
+                }
+                if (fewest > maxEdits) {
+                    unmatched++;
+                } else {
+                    edits += fewest;
+                }
+            }
+            if (unmatched < queryWords.length) {
+                matches.add(new Match(unmatched, edits, i));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::unmatched)
+                        .thenComparingInt(Match::edits)
+                        .thenComparing(Match::employee, nameOrder(names)))
+                .limit(limit)
+                .map(match -> roster.get(match.employee()))
+                .toList();
+    }
+
+    private static String[] names(List<Employee> roster) {
+        String[] names = new String[roster.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = String.join(" ", words(roster.get(i).getEmployeeName()));
+        }
+        return names;
+    }
+
+    /*
+     * Roster positions in the order the index numbers employees: by name, then by position.
+     */
+    private static Comparator<Integer> nameOrder(String[] names) {
+        Comparator<Integer> byName = Comparator.comparing(employee -> names[employee]);
+        return byName.thenComparing(Comparator.naturalOrder());
+    }
+
+    private static int lowerBound(String[] terms, String key) {
+        int from = 0;
+        int to = terms.length;
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        int from = 0;
+        int to = keys.length;
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (keys[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private Set<Integer> candidateWords(String word, int maxEdits) {
+        Set<Integer> candidates = new HashSet<>();
+        for (long hash : deletionHashes(word, maxEdits)) {
+            for (int i = lowerBound(deletionKeys, hash << WORD_ID_BITS);
+                    i < deletionKeys.length && deletionKeys[i] >>> WORD_ID_BITS == hash;
+                    i++) {
+                candidates.add((int) (deletionKeys[i] & WORD_ID_MASK));
+            }
+        }
+        return candidates;
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : MAX_EDITS;
+    }
+
+    /*
+     * 40-bit hashes of the word itself and every variant with up to maxEdits characters removed, never shorter than
+     * one character. Each is a polynomial hash assembled from prefix hashes, so a variant costs O(1) rather than a
+     * pass over its characters, and variants that coincide hash alike.
+     */
+    private static long[] deletionHashes(String word, int maxEdits) {
+        int n = word.length();
+        long[] prefix = new long[n + 1];
+        long[] power = new long[n + 1];
+        power[0] = 1;
+        for (int i = 0; i < n; i++) {
+            prefix[i + 1] = prefix[i] * HASH_BASE + word.charAt(i);
+            power[i + 1] = power[i] * HASH_BASE;
+        }
+
+        int singles = maxEdits >= 1 && n > 1 ? n : 0;
+        int pairs = maxEdits >= 2 && n > 2 ? n * (n - 1) / 2 : 0;
+        long[] hashes = new long[1 + singles + pairs];
+        int count = 0;
+        hashes[count++] = mix(prefix[n]);
+        for (int i = 0; i < singles; i++) {
+            hashes[count++] = mix(prefix[i] * power[n - i - 1] + segment(prefix, power, i + 1, n));
+        }
+        if (pairs > 0) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    hashes[count++] = mix(prefix[i] * power[n - i - 2]
+                            + segment(prefix, power, i + 1, j) * power[n - j - 1]
+                            + segment(prefix, power, j + 1, n));
+                }
+            }
+        }
+        return hashes;
+    }
+
+    private static long segment(long[] prefix, long[] power, int from, int to) {
+        return prefix[to] - prefix[from] * power[to - from];
+    }
+
+    /*
+     * Spreads a polynomial hash so its top 40 bits are usable on their own.
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (hash ^ (hash >>> 33)) >>> WORD_ID_BITS;
+    }
+
+    /*
+     * Optimal string alignment distance, giving up with maxEdits + 1 as soon as it must exceed maxEdits.
+     */
+    private static int editDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1
+                        && j > 1
+                        && a.charAt(i - 1) == b.charAt(j - 2)
+                        && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private record Match(int unmatched, int edits, int employee) {}
+
+    private record Term(String text, int employee) {
+
+        static final Comparator<Term> ORDER = Comparator.comparing(Term::text).thenComparingInt(Term::employee);
+    }
+
+}
@@ -11,6 +11,10 @@ public interface IEmployeeService {
 
     List<Employee> getEmployeesByNameSearch(String searchString);
 
+    List<Employee> autocompleteByName(String prefix, int limit);
+
+    List<Employee> fuzzySearchByName(String query, int limit);
+
     Integer getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
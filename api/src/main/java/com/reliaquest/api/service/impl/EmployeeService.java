@@ -1,22 +1,46 @@
 package com.reliaquest.api.service.impl;
 
+import com.reliaquest.api.cache.BackgroundRefresher;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.LastKnownGoodCache;
+import com.reliaquest.api.cache.LastKnownGoodCache.Snapshot;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterReplica;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.cache.StaleResponses;
+import com.reliaquest.api.cluster.ClusterBroadcaster;
+import com.reliaquest.api.cluster.ClusterMembership;
 import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.EmployeeBatchRequest;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.exception.EntityNotFoundException;
 import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.LocalRejectionException;
 import com.reliaquest.api.exception.RequestValidationException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeName;
+import com.reliaquest.api.search.NameIndex;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.upstream.RequestHedger;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamOperation;
+import com.reliaquest.api.util.RateLimitedLogger;
+import com.reliaquest.api.util.Uuids;
 import jakarta.annotation.PreDestroy;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -40,7 +64,36 @@ import org.springframework.web.util.UriComponentsBuilder;
 @Service
 public class EmployeeService implements IEmployeeService {
 
+    /*
+     * Messages repeated for every throttled call or stale read; a 429 storm would otherwise flood the log.
+     */
+    private static final RateLimitedLogger THROTTLED_LOG = RateLimitedLogger.of(log, 5, Duration.ofSeconds(1));
+    private static final RateLimitedLogger STALE_LOG = RateLimitedLogger.of(log, 5, Duration.ofSeconds(1));
+
+    private static final int MAX_NAME_RESULTS = 100;
+
+    /*
+     * Response types resolved once rather than per call; the upstream converter also caches a reader per type.
+     */
+    private static final ParameterizedTypeReference<ApiResponse<List<Employee>>> EMPLOYEES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Employee>> EMPLOYEE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Integer>> INTEGER_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<Boolean>> BOOLEAN_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
     private final RestTemplate restTemplate;
+    private final RosterReplica rosterReplica;
+    private final MaterializedRoster materializedRoster;
+    private final UpstreamGuard upstreamGuard;
+    private final RequestHedger requestHedger;
+    private final LastKnownGoodCache lastKnownGood;
+    private final EmployeeCache employeeCache;
+    private final BackgroundRefresher backgroundRefresher;
+    private final ClusterBroadcaster clusterBroadcaster;
+    private final ClusterMembership clusterMembership;
     private final Validator validator;
     private final ValidatorFactory validatorFactory;
 
@@ -50,26 +103,64 @@ public class EmployeeService implements IEmployeeService {
     @Value("${app.employee-service.base-path}")
     private String basePath;
 
+    @Value("${app.employee-service.query-pushdown:true}")
+    private boolean queryPushdownEnabled;
+
+    /*
+     * Cleared the first time the upstream rejects a query endpoint, after which queries are computed locally.
+     */
+    private volatile boolean queryPushdownSupported = true;
+
+    /*
+     * Cleared the first time the upstream rejects the batch create endpoint.
+     */
+    private volatile boolean batchCreateSupported = true;
+
+    /*
+     * The replica's roster as last copied into the id cache. The replica publishes a new list for every batch of
+     * changes, so identity tells whether the cache has seen this one.
+     */
+    private volatile List<Employee> cachedReplica;
+
     @Autowired
-    public EmployeeService(RestTemplate restTemplate) {
+    public EmployeeService(
+            RestTemplate restTemplate,
+            RosterReplica rosterReplica,
+            MaterializedRoster materializedRoster,
+            UpstreamGuard upstreamGuard,
+            RequestHedger requestHedger,
+            LastKnownGoodCache lastKnownGood,
+            EmployeeCache employeeCache,
+            BackgroundRefresher backgroundRefresher,
+            ClusterBroadcaster clusterBroadcaster,
+            ClusterMembership clusterMembership) {
         this.restTemplate = restTemplate;
+        this.rosterReplica = rosterReplica;
+        this.materializedRoster = materializedRoster;
+        this.upstreamGuard = upstreamGuard;
+        this.requestHedger = requestHedger;
+        this.lastKnownGood = lastKnownGood;
+        this.employeeCache = employeeCache;
+        this.backgroundRefresher = backgroundRefresher;
+        this.clusterBroadcaster = clusterBroadcaster;
+        this.clusterMembership = clusterMembership;
         this.validatorFactory = Validation.buildDefaultValidatorFactory();
         this.validator = validatorFactory.getValidator();
     }
 
-    private static void validateId(String id) {
+    private static UUID validateId(String id) {
 
-        if (id == null || id.trim().isEmpty()) {
+        if (id == null || id.isBlank()) {
             log.warn("Employee ID cannot be null or empty");
             throw new IllegalArgumentException("Employee ID cannot be null or empty");
         }
 
-        try {
-            UUID.fromString(id);
-        } catch (IllegalArgumentException e) {
+        UUID uuid = Uuids.parseOrNull(id);
+        if (uuid == null) {
             log.warn("Invalid UUID format for employee id: {}", id);
-            throw new IllegalArgumentException("Invalid employee ID format. Expected a valid UUID.", e);
+            throw new IllegalArgumentException("Invalid employee ID format. Expected a valid UUID.");
         }
+        return uuid;
     }
 
     private String buildUrl(String... pathSegments) {
@@ -79,6 +170,65 @@ public class EmployeeService implements IEmployeeService {
                 .toUriString();
     }
 
+    private URI buildQueryUri(String query, String paramName, Object paramValue) {
+        UriComponentsBuilder builder =
+                UriComponentsBuilder.fromHttpUrl(domain).path(basePath).pathSegment("query", query);
+        if (paramName == null) {
+            return builder.build().toUri();
+        }
+        return builder.queryParam(paramName, "{value}")
+                .encode()
+                .buildAndExpand(paramValue)
+                .toUri();
+    }
+
+    /*
+     * Runs a query against the upstream's index-backed endpoints so only the answer crosses the wire. An empty result
+     * means the upstream does not expose them, a synced local replica can answer without any upstream call, or the
+     * upstream is throttling and a last known roster exists, and the caller should compute the answer from the full
+     * roster.
+     */
+    private <T> Optional<T> pushDown(URI uri, ParameterizedTypeReference<ApiResponse<T>> responseType) {
+        if (!queryPushdownEnabled
+                || !queryPushdownSupported
+                || rosterReplica.isSynced()
+                || (lastKnownGood.isThrottled() && lastKnownGood.roster().isPresent())) {
+            return Optional.empty();
+        }
+
+        try {
+            ResponseEntity<ApiResponse<T>> response = upstreamGuard.call(
+                    UpstreamOperation.QUERY, () -> restTemplate.exchange(uri, HttpMethod.GET, null, responseType));
+
+            if (response == null || response.getBody() == null) {
+                log.error("Received null response from external service for query: {}", uri);
+                throw new ExternalServiceException("Invalid response from external service");
+            }
+
+            return Optional.ofNullable(response.getBody().getData());
+
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                lastKnownGood.markThrottled();
+                if (lastKnownGood.roster().isPresent()) {
+                    return Optional.empty();
+                }
+                THROTTLED_LOG.info("Retrying query {}", uri.getPath());
+                throw new TooManyRequestsException("Too many requests, retrying...");
+            }
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED) {
+                log.warn("External service does not support query endpoints, computing queries locally");
+                queryPushdownSupported = false;
+                return Optional.empty();
+            }
+            log.error("Error querying employees: {}", e.getMessage(), e);
+            throw new ExternalServiceException("Failed to query employees from external service", e);
+        } catch (RestClientException e) {
+            log.error("Failed to query external service: {}", uri, e);
+            throw new ExternalServiceException("Failed to query employees from external service", e);
+        }
+    }
+
     @Override
     @Retryable(
             retryFor = {TooManyRequestsException.class},
@@ -88,11 +238,76 @@ public class EmployeeService implements IEmployeeService {
                             delayExpression = "${app.retry.initial-delay}",
                             multiplierExpression = "${app.retry.multiplier}"))
     public List<Employee> getAllEmployees() {
-        log.info("Fetching all employees from external service");
+        Optional<RosterView> view = materializedRoster.view();
+        if (view.isPresent()) {
+            log.debug("Serving {} employees from the roster view", view.get().employees().size());
+            return view.get().employees();
+        }
+
+        Optional<List<Employee>> replicated = rosterReplica.employees();
+        if (replicated.isPresent()) {
+            log.debug("Serving {} employees from the local roster replica", replicated.get().size());
+            if (replicated.get() != cachedReplica) {
+                employeeCache.putAll(replicated.get());
+                cachedReplica = replicated.get();
+            }
+            return replicated.get();
+        }
+
+        Optional<Snapshot<List<Employee>>> lastKnownRoster = lastKnownGood.roster();
+        if (lastKnownGood.isThrottled() && lastKnownRoster.isPresent()) {
+            return serveStaleRoster(lastKnownRoster.get());
+        }
+
+        try {
+            List<Employee> employees = fetchAllEmployees();
+            lastKnownGood.putRoster(employees);
+            return employees;
+        } catch (TooManyRequestsException | UpstreamUnavailableException e) {
+            markThrottledUnlessLocal(e);
+            if (lastKnownRoster.isPresent()) {
+                return serveStaleRoster(lastKnownRoster.get());
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Backs reads off only for the upstream's own throttling or an open circuit. A call this instance turned away
+     * itself, such as on a full bulkhead, says nothing about the upstream.
+     */
+    private void markThrottledUnlessLocal(RuntimeException e) {
+        if (!(e instanceof LocalRejectionException)) {
+            lastKnownGood.markThrottled();
+        }
+    }
 
+    private List<Employee> serveStaleRoster(Snapshot<List<Employee>> snapshot) {
+        Duration age = lastKnownGood.ageOf(snapshot);
+        STALE_LOG.info(
+                "External service is throttling, serving {} employees from last known roster ({}s old)",
+                snapshot.value().size(),
+                age.toSeconds());
+        StaleResponses.markServedStale(age);
+        backgroundRefresher.schedule("roster", lastKnownGood.remainingThrottle(), this::refreshRoster);
+        return snapshot.value();
+    }
+
+    private void refreshRoster() {
         try {
-            ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(
-                    buildUrl(), HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {});
+            lastKnownGood.putRoster(fetchAllEmployees());
+        } catch (TooManyRequestsException e) {
+            lastKnownGood.markThrottled();
+        }
+    }
+
+    private List<Employee> fetchAllEmployees() {
+        log.debug("Fetching all employees from external service");
+
+        try {
+            ResponseEntity<ApiResponse<List<Employee>>> response = upstreamGuard.call(
+                    UpstreamOperation.GET_ALL,
+                    () -> restTemplate.exchange(buildUrl(), HttpMethod.GET, null, EMPLOYEES_RESPONSE));
 
             if (response == null || response.getBody() == null) {
                 log.error("Received null response from external service");
@@ -107,12 +322,13 @@ public class EmployeeService implements IEmployeeService {
                 return Collections.emptyList();
             }
 
-            log.info("Successfully retrieved {} employees from external service", employees.size());
+            log.debug("Successfully retrieved {} employees from external service", employees.size());
+            employeeCache.putAll(employees);
             return employees;
 
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
-                log.info("Retrying get all employees");
+                THROTTLED_LOG.info("Retrying get all employees");
                 throw new TooManyRequestsException("Too many requests, retrying...");
             }
             log.error("Error fetching employees: {}", e.getMessage(), e);
@@ -132,13 +348,81 @@ public class EmployeeService implements IEmployeeService {
                             delayExpression = "${app.retry.initial-delay}",
                             multiplierExpression = "${app.retry.multiplier}"))
     public Employee getEmployeeById(String id) {
-        log.info("Fetching employee with id: {}", id);
+        return resolveEmployeeById(id);
+    }
 
-        validateId(id);
+    /*
+     * A single attempt at getEmployeeById, for callers with their own deadline such as batch lookups.
+     */
+    public Employee resolveEmployeeById(String id) {
+        log.debug("Fetching employee with id: {}", id);
 
+        UUID uuid = validateId(id);
+
+        Optional<EmployeeCache.Entry> cached = employeeCache.lookup(uuid);
+        if (cached.isPresent()) {
+            if (cached.get().isNotFound()) {
+                log.debug("Employee {} recently not found, answering from cache", id);
+                throw new EntityNotFoundException("Employee not found with id: " + id);
+            }
+            log.debug("Serving employee {} from cache", id);
+            return cached.get().employee();
+        }
+
+        Optional<Snapshot<Employee>> lastKnown = lastKnownGood.employee(uuid);
+        if (lastKnownGood.isThrottled() && lastKnown.isPresent()) {
+            return serveStaleEmployee(id, uuid, lastKnown.get());
+        }
+
+        try {
+            Employee employee = fetchEmployeeById(id);
+            lastKnownGood.putEmployee(employee);
+            employeeCache.put(employee);
+            return employee;
+        } catch (TooManyRequestsException | UpstreamUnavailableException e) {
+            markThrottledUnlessLocal(e);
+            if (lastKnown.isPresent()) {
+                return serveStaleEmployee(id, uuid, lastKnown.get());
+            }
+            throw e;
+        } catch (EntityNotFoundException e) {
+            lastKnownGood.applyDeleted(uuid);
+            employeeCache.putNotFound(uuid);
+            throw e;
+        }
+    }
+
+    private Employee serveStaleEmployee(String id, UUID uuid, Snapshot<Employee> snapshot) {
+        Duration age = lastKnownGood.ageOf(snapshot);
+        STALE_LOG.info(
+                "External service is throttling, serving employee {} from last known data ({}s old)",
+                id,
+                age.toSeconds());
+        StaleResponses.markServedStale(age);
+        backgroundRefresher.schedule(
+                "employee:" + id, lastKnownGood.remainingThrottle(), () -> refreshEmployee(id, uuid));
+        return snapshot.value();
+    }
+
+    private void refreshEmployee(String id, UUID uuid) {
         try {
-            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
-                    buildUrl(id), HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+            Employee employee = fetchEmployeeById(id);
+            lastKnownGood.putEmployee(employee);
+            employeeCache.put(employee);
+        } catch (TooManyRequestsException e) {
+            lastKnownGood.markThrottled();
+        } catch (EntityNotFoundException e) {
+            lastKnownGood.applyDeleted(uuid);
+            employeeCache.putNotFound(uuid);
+        }
+    }
+
+    private Employee fetchEmployeeById(String id) {
+        try {
+            ResponseEntity<ApiResponse<Employee>> response = requestHedger.call((operation, request) ->
+                    upstreamGuard.call(
+                            operation,
+                            () -> restTemplate.exchange(buildUrl(id), HttpMethod.GET, request, EMPLOYEE_RESPONSE)));
 
             if (response == null || response.getBody() == null) {
                 log.error("Received null response from external service for employee id: {}", id);
@@ -148,16 +432,16 @@ public class EmployeeService implements IEmployeeService {
             ApiResponse<Employee> apiResponse = response.getBody();
             Employee employee = apiResponse.getData();
 
-            log.info("Successfully retrieved employee with id: {}", id);
+            log.debug("Successfully retrieved employee with id: {}", id);
             return employee;
 
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
-                log.info("Retrying get employee by ID");
+                THROTTLED_LOG.info("Retrying get employee by ID");
                 throw new TooManyRequestsException("Too many requests, retrying...");
             }
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                log.warn("Employee not found with id: {}", id);
+                log.debug("Employee not found with id: {}", id);
                 throw new EntityNotFoundException("Employee not found with id: " + id);
             }
             log.error("Error fetching employees: {}", e.getMessage(), e);
@@ -177,7 +461,19 @@ public class EmployeeService implements IEmployeeService {
                             delayExpression = "${app.retry.initial-delay}",
                             multiplierExpression = "${app.retry.multiplier}"))
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        log.info("Searching employees with name containing: {}", searchString);
+        log.debug("Searching employees with name containing: {}", searchString);
+
+        Optional<RosterView> view = materializedRoster.view();
+        if (view.isPresent()) {
+            return view.get().searchByName(searchString);
+        }
+
+        Optional<List<Employee>> pushedDown =
+                pushDown(buildQueryUri("search", "name", searchString), EMPLOYEES_RESPONSE);
+        if (pushedDown.isPresent()) {
+            log.debug("Found {} employees matching search criteria: {}", pushedDown.get().size(), searchString);
+            return pushedDown.get();
+        }
 
         List<Employee> allEmployees = getAllEmployees();
 
@@ -186,10 +482,56 @@ public class EmployeeService implements IEmployeeService {
                         && employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase()))
                 .collect(Collectors.toList());
 
-        log.info("Found {} employees matching search criteria: {}", filteredEmployees.size(), searchString);
+        log.debug("Found {} employees matching search criteria: {}", filteredEmployees.size(), searchString);
         return filteredEmployees;
     }
 
+    @Override
+    @Retryable(
+            retryFor = {TooManyRequestsException.class},
+            maxAttemptsExpression = "${app.retry.max-attempts}",
+            backoff =
+                    @Backoff(
+                            delayExpression = "${app.retry.initial-delay}",
+                            multiplierExpression = "${app.retry.multiplier}"))
+    public List<Employee> autocompleteByName(String prefix, int limit) {
+        log.debug("Autocompleting employee names starting with: {}", prefix);
+        validateNameQuery("prefix", prefix, limit);
+        Optional<NameIndex> index = materializedRoster.nameIndex();
+        if (index.isPresent()) {
+            return index.get().autocomplete(prefix, limit);
+        }
+        return NameIndex.scanAutocomplete(getAllEmployees(), prefix, limit);
+    }
+
+    @Override
+    @Retryable(
+            retryFor = {TooManyRequestsException.class},
+            maxAttemptsExpression = "${app.retry.max-attempts}",
+            backoff =
+                    @Backoff(
+                            delayExpression = "${app.retry.initial-delay}",
+                            multiplierExpression = "${app.retry.multiplier}"))
+    public List<Employee> fuzzySearchByName(String query, int limit) {
+        log.debug("Fuzzy searching employee names for: {}", query);
+        validateNameQuery("query", query, limit);
+        Optional<NameIndex> index = materializedRoster.nameIndex();
+        if (index.isPresent()) {
+            return index.get().fuzzySearch(query, limit);
+        }
+        return NameIndex.scanFuzzySearch(getAllEmployees(), query, limit);
+    }
+
+    private static void validateNameQuery(String field, String text, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new RequestValidationException("Validation failed", List.of(field + ": must not be blank"));
+        }
+        if (limit < 1 || limit > MAX_NAME_RESULTS) {
+            throw new RequestValidationException(
+                    "Validation failed", List.of("limit: must be between 1 and " + MAX_NAME_RESULTS));
+        }
+    }
+
     @Override
     @Retryable(
             retryFor = {TooManyRequestsException.class},
@@ -199,7 +541,18 @@ public class EmployeeService implements IEmployeeService {
                             delayExpression = "${app.retry.initial-delay}",
                             multiplierExpression = "${app.retry.multiplier}"))
     public Integer getHighestSalaryOfEmployees() {
-        log.info("Fetching highest salary among all employees");
+        log.debug("Fetching highest salary among all employees");
+
+        Optional<RosterView> view = materializedRoster.view();
+        if (view.isPresent()) {
+            return view.get().highestSalary();
+        }
+
+        Optional<Integer> pushedDown = pushDown(buildQueryUri("highestSalary", null, null), INTEGER_RESPONSE);
+        if (pushedDown.isPresent()) {
+            log.debug("Highest salary found: {}", pushedDown.get());
+            return pushedDown.get();
+        }
 
         List<Employee> allEmployees = getAllEmployees();
 
@@ -214,7 +567,7 @@ public class EmployeeService implements IEmployeeService {
                 .max()
                 .orElse(0);
 
-        log.info("Highest salary found: {}", highestSalary);
+        log.debug("Highest salary found: {}", highestSalary);
         return highestSalary;
     }
 
@@ -227,7 +580,20 @@ public class EmployeeService implements IEmployeeService {
                             delayExpression = "${app.retry.initial-delay}",
                             multiplierExpression = "${app.retry.multiplier}"))
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        log.info("Fetching top 10 highest earning employee names");
+        log.debug("Fetching top 10 highest earning employee names");
+
+        Optional<RosterView> view = materializedRoster.view();
+        if (view.isPresent()) {
+            return view.get().topEarnerNames();
+        }
+
+        Optional<List<Employee>> pushedDown = pushDown(buildQueryUri("topSalaries", "limit", 10), EMPLOYEES_RESPONSE);
+        if (pushedDown.isPresent()) {
+            List<String> topTenNames =
+                    pushedDown.get().stream().map(Employee::getEmployeeName).collect(Collectors.toList());
+            log.debug("Retrieved {} top earning employee names", topTenNames.size());
+            return topTenNames;
+        }
 
         List<Employee> allEmployees = getAllEmployees();
 
@@ -238,7 +604,7 @@ public class EmployeeService implements IEmployeeService {
                 .map(Employee::getEmployeeName)
                 .collect(Collectors.toList());
 
-        log.info("Retrieved {} top earning employee names", topTenNames.size());
+        log.debug("Retrieved {} top earning employee names", topTenNames.size());
         return topTenNames;
     }
 
@@ -251,18 +617,26 @@ public class EmployeeService implements IEmployeeService {
                             delayExpression = "${app.retry.initial-delay}",
                             multiplierExpression = "${app.retry.multiplier}"))
     public Employee createEmployee(EmployeeRequest employeeRequest) {
-        log.info("Creating new employee: {}", employeeRequest.getName());
-
         validateReqBody(employeeRequest);
+        return submitEmployee(employeeRequest);
+    }
+
+    /*
+     * A single create attempt without retries, for callers that pace their own retries. Expects a validated request.
+     */
+    public Employee submitEmployee(EmployeeRequest employeeRequest) {
+        return submitEmployee(employeeRequest, UpstreamOperation.CREATE);
+    }
+
+    public Employee submitEmployee(EmployeeRequest employeeRequest, UpstreamOperation operation) {
+        log.info("Creating new employee: {}", employeeRequest.getName());
 
         try {
             HttpEntity<EmployeeRequest> requestEntity = new HttpEntity<>(employeeRequest);
 
-            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
-                    buildUrl(),
-                    HttpMethod.POST,
-                    requestEntity,
-                    new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+            ResponseEntity<ApiResponse<Employee>> response = upstreamGuard.call(
+                    operation,
+                    () -> restTemplate.exchange(buildUrl(), HttpMethod.POST, requestEntity, EMPLOYEE_RESPONSE));
 
             if (response == null || response.getBody() == null) {
                 log.error("Received null response from external service while creating employee");
@@ -278,11 +652,16 @@ public class EmployeeService implements IEmployeeService {
             }
 
             log.info("Successfully created employee with id: {}", createdEmployee.getId());
+            lastKnownGood.applyCreated(createdEmployee);
+            materializedRoster.applyCreated(createdEmployee);
+            employeeCache.put(createdEmployee);
+            clusterBroadcaster.created(createdEmployee);
             return createdEmployee;
 
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
-                log.info("Retrying create employee");
+                lastKnownGood.markThrottled();
+                THROTTLED_LOG.info("Retrying create employee");
                 throw new TooManyRequestsException("Too many requests, retrying...");
             }
             log.error("Error fetching employees: {}", e.getMessage(), e);
@@ -293,6 +672,61 @@ public class EmployeeService implements IEmployeeService {
         }
     }
 
+    /*
+     * Creates all requests in one upstream call, without retries. Empty when the upstream has no batch endpoint, in
+     * which case the caller should submit the requests one at a time. Expects validated requests.
+     */
+    public Optional<List<Employee>> submitEmployees(List<EmployeeRequest> employeeRequests) {
+        return submitEmployees(employeeRequests, UpstreamOperation.CREATE);
+    }
+
+    public Optional<List<Employee>> submitEmployees(
+            List<EmployeeRequest> employeeRequests, UpstreamOperation operation) {
+        if (!batchCreateSupported) {
+            return Optional.empty();
+        }
+
+        log.info("Creating {} employees in one batch", employeeRequests.size());
+
+        try {
+            HttpEntity<EmployeeBatchRequest> requestEntity =
+                    new HttpEntity<>(EmployeeBatchRequest.builder().employees(employeeRequests).build());
+
+            ResponseEntity<ApiResponse<List<Employee>>> response = upstreamGuard.call(
+                    operation,
+                    () -> restTemplate.exchange(buildUrl("batch"), HttpMethod.POST, requestEntity, EMPLOYEES_RESPONSE));
+
+            if (response == null || response.getBody() == null || response.getBody().getData() == null) {
+                log.error("Received null response from external service while creating employees");
+                throw new ExternalServiceException("Invalid response from external service");
+            }
+
+            List<Employee> createdEmployees = response.getBody().getData();
+            log.info("Successfully created {} employees", createdEmployees.size());
+            lastKnownGood.applyCreated(createdEmployees);
+            materializedRoster.applyCreated(createdEmployees);
+            employeeCache.putAll(createdEmployees);
+            clusterBroadcaster.created(createdEmployees);
+            return Optional.of(createdEmployees);
+
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED) {
+                log.info("External service does not support batch creates, creating one at a time");
+                batchCreateSupported = false;
+                return Optional.empty();
+            }
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                lastKnownGood.markThrottled();
+                throw new TooManyRequestsException("Too many requests");
+            }
+            log.error("Error creating employees: {}", e.getMessage(), e);
+            throw new ExternalServiceException("Failed to create employees in external service", e);
+        } catch (RestClientException e) {
+            log.error("Failed to create {} employees", employeeRequests.size(), e);
+            throw new ExternalServiceException("Failed to create employees in external service", e);
+        }
+    }
+
     @Override
     @Retryable(
             retryFor = {TooManyRequestsException.class},
@@ -304,6 +738,8 @@ public class EmployeeService implements IEmployeeService {
     public String deleteEmployeeById(String id) {
         log.info("Deleting employee with id: {}", id);
 
+        UUID uuid = validateId(id);
+
         // First get the employee to retrieve the name
         Employee employee = getEmployeeById(id);
         String employeeName = employee.getEmployeeName();
@@ -311,11 +747,9 @@ public class EmployeeService implements IEmployeeService {
         HttpEntity<EmployeeName> deleteRequest = new HttpEntity<>(empDelReq);
 
         try {
-            ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(
-                    buildUrl(),
-                    HttpMethod.DELETE,
-                    deleteRequest,
-                    new ParameterizedTypeReference<ApiResponse<Boolean>>() {});
+            ResponseEntity<ApiResponse<Boolean>> response = upstreamGuard.call(
+                    UpstreamOperation.DELETE,
+                    () -> restTemplate.exchange(buildUrl(), HttpMethod.DELETE, deleteRequest, BOOLEAN_RESPONSE));
 
             if (response == null || response.getBody() == null) {
                 log.error("Received null response from external service while deleting employee");
@@ -324,6 +758,7 @@ public class EmployeeService implements IEmployeeService {
 
             ApiResponse<Boolean> apiResponse = response.getBody();
             Boolean isDeleted = apiResponse.getData();
+            employeeCache.invalidate(uuid);
 
             if (isDeleted == null || !isDeleted) {
                 log.error("Failed to delete employee with id: {}", id);
@@ -331,11 +766,14 @@ public class EmployeeService implements IEmployeeService {
             }
 
             log.info("Successfully deleted employee: {}", employeeName);
+            lastKnownGood.applyDeleted(uuid);
+            materializedRoster.applyDeleted(uuid);
+            clusterBroadcaster.deleted(uuid);
             return employeeName;
 
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
-                log.info("Retrying delete employee by ID");
+                THROTTLED_LOG.info("Retrying delete employee by ID");
                 throw new TooManyRequestsException("Too many requests, retrying...");
             }
             log.error("Error fetching employees: {}", e.getMessage(), e);
@@ -346,7 +784,56 @@ public class EmployeeService implements IEmployeeService {
         }
     }
 
-    private void validateReqBody(EmployeeRequest employeeRequest) {
+    /*
+     * Creates and deletes made through another api instance, in the order they were made. Applied to the caches and
+     * roster view here without being broadcast again; the roster from the cluster leader confirms or corrects them on
+     * a later sync. Consecutive creates are applied as one batch. Ignored while the cluster is disabled, when this
+     * instance has no peers to hear from.
+     */
+    public void applyPeerChanges(List<ChangeEvent> events) {
+        if (!clusterMembership.isEnabled()) {
+            log.warn("Ignored {} changes from a cluster peer while the cluster is disabled", events.size());
+            return;
+        }
+        for (ChangeEvent event : events) {
+            if (event == null || event.getType() == null || event.getEmployee() == null) {
+                throw new RequestValidationException(
+                        "Validation failed", List.of("A change needs a type and an employee"));
+            }
+            if (Uuids.parseOrNull(event.getEmployee().getId()) == null) {
+                throw new RequestValidationException("Validation failed", List.of("employee.id: must be a UUID"));
+            }
+        }
+
+        List<Employee> created = new ArrayList<>();
+        for (ChangeEvent event : events) {
+            switch (event.getType()) {
+                case CREATED -> created.add(event.getEmployee());
+                case DELETED -> {
+                    applyPeerCreates(created);
+                    UUID uuid = Uuids.parseOrNull(event.getEmployee().getId());
+                    employeeCache.invalidate(uuid);
+                    lastKnownGood.applyDeleted(uuid);
+                    materializedRoster.applyDeleted(uuid);
+                }
+            }
+        }
+        applyPeerCreates(created);
+        log.debug("Applied {} changes from a cluster peer", events.size());
+    }
+
+    private void applyPeerCreates(List<Employee> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        List<Employee> batch = List.copyOf(created);
+        created.clear();
+        lastKnownGood.applyCreated(batch);
+        materializedRoster.applyCreated(batch);
+        employeeCache.putAll(batch);
+    }
+
+    public void validateReqBody(EmployeeRequest employeeRequest) {
         Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(employeeRequest);
         if (!violations.isEmpty()) {
             List<String> errorMessages = violations.stream()
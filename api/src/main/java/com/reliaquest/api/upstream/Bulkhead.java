@@ -0,0 +1,35 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore isolation for one kind of upstream call, so a slow operation cannot take every request thread with it.
+ */
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    public Bulkhead(int maxConcurrentCalls, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = maxWait;
+    }
+
+    public boolean tryAcquire() {
+        if (maxWait.isZero()) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.upstream;
+
+import java.io.IOException;
+import java.net.URI;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/**
+ * Sends each request addressed to the logical upstream ({@code app.employee-service.domain}) to one of the
+ * {@link UpstreamEndpoints}, and reports the outcome back so the endpoint's health and throttling are tracked. Callers
+ * keep building URLs against the logical upstream.
+ *
+ * <p>A request carrying an {@link #AFFINITY_HEADER} goes to the endpoint pinned for that key instead, and one
+ * carrying an {@link #ENDPOINT_HEADER} to the endpoint with that base URI. Neither header is forwarded.
+ */
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String AFFINITY_HEADER = "X-Upstream-Affinity";
+    public static final String ENDPOINT_HEADER = "X-Upstream-Endpoint";
+
+    private final UpstreamEndpoints endpoints;
+
+    public LoadBalancingInterceptor(UpstreamEndpoints endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!endpoints.serves(request.getURI())) {
+            return execution.execute(request, body);
+        }
+
+        UpstreamEndpoints.Endpoint endpoint = select(request.getHeaders());
+        URI target = endpoint.resolve(request.getURI());
+
+        endpoint.onStart();
+        try {
+            ClientHttpResponse response = execution.execute(
+                    new HttpRequestWrapper(request) {
+                        @Override
+                        public URI getURI() {
+                            return target;
+                        }
+                    },
+                    body);
+            record(endpoint, response.getStatusCode());
+            return response;
+        } catch (IOException e) {
+            endpoint.onFailure();
+            throw e;
+        } finally {
+            endpoint.onFinish();
+        }
+    }
+
+    private UpstreamEndpoints.Endpoint select(HttpHeaders headers) {
+        String affinity = headers.getFirst(AFFINITY_HEADER);
+        String base = headers.getFirst(ENDPOINT_HEADER);
+        headers.remove(AFFINITY_HEADER);
+        headers.remove(ENDPOINT_HEADER);
+        if (affinity != null) {
+            return endpoints.pinned(affinity);
+        }
+        if (base != null) {
+            return endpoints.find(URI.create(base)).orElseGet(endpoints::choose);
+        }
+        return endpoints.choose();
+    }
+
+    private static void record(UpstreamEndpoints.Endpoint endpoint, HttpStatusCode status) {
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            endpoint.onThrottled();
+        } else if (status.is5xxServerError()) {
+            endpoint.onFailure();
+        } else {
+            endpoint.onSuccess();
+        }
+    }
+}
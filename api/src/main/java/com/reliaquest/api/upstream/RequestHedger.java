@@ -0,0 +1,267 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.LocalRejectionException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Hedges point reads against slow upstream responses. An attempt that has not answered within the configured
+ * percentile of recent response times is joined by a second one, sent to another instance when there is one, and
+ * whichever answers first is used; the other is cancelled. Failures are treated unevenly: the first attempt's outcome
+ * is the call's, so a failed hedge is ignored and the call waits for the first attempt, while a failed first attempt
+ * still waits for a hedge that may succeed. A client error such as 404 from the first attempt is an answer and ends
+ * the call at once.
+ *
+ * <p>Hedges are kept cheap. Each call earns {@code budget-percent} of a hedge and a hedge spends a whole one, so extra
+ * load stays within that share of calls; a hedge turned away before reaching the upstream is refunded. A hedge also
+ * needs a closed circuit and a request budget token nobody else is waiting for ({@link UpstreamOperation#HEDGE}), so
+ * it never adds to rate limiting. Only calls made on behalf of a client request are hedged; background callers are
+ * not waiting on the latency.
+ */
+@Slf4j
+@Component
+public class RequestHedger implements DisposableBean {
+
+    /*
+     * Response times the hedge delay is taken from, and how many must be seen before it is; until then the maximum
+     * delay applies. The percentile is recomputed every RECOMPUTE_INTERVAL samples rather than on every call.
+     */
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MIN_SAMPLES = 64;
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    /*
+     * Hedges that can be saved up while responses are fast, so a short burst of slow ones can all be hedged.
+     */
+    private static final double MAX_BUDGET = 10;
+
+    private final UpstreamEndpoints endpoints;
+    private final UpstreamGuard upstreamGuard;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetPerCall;
+    private final ThreadPoolExecutor executor;
+
+    // Guarded by this.
+    private final long[] samples = new long[WINDOW_SIZE];
+    private long sampleCount;
+    private long delayNanos;
+    private double budget;
+
+    public RequestHedger(
+            UpstreamEndpoints endpoints,
+            UpstreamGuard upstreamGuard,
+            @Value("${app.upstream.hedging.enabled:false}") boolean enabled,
+            @Value("${app.upstream.hedging.percentile:0.95}") double percentile,
+            @Value("${app.upstream.hedging.min-delay:10ms}") Duration minDelay,
+            @Value("${app.upstream.hedging.max-delay:1s}") Duration maxDelay,
+            @Value("${app.upstream.hedging.budget-percent:5}") double budgetPercent,
+            @Value("${app.upstream.hedging.parallelism:32}") int parallelism) {
+        this.endpoints = endpoints;
+        this.upstreamGuard = upstreamGuard;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetPerCall = budgetPercent / 100;
+        this.delayNanos = maxDelayNanos;
+
+        // No queue: an attempt that waited for a thread would defeat the point of hedging.
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                parallelism, parallelism, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "upstream-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> T call(Attempt<T> attempt) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!enabled || requestAttributes == null) {
+            return attempt.run(UpstreamOperation.GET_BY_ID, null);
+        }
+        earnBudget();
+
+        UpstreamEndpoints.Endpoint primary = endpoints.choose();
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        try {
+            try {
+                attempts.add(submit(completion, attempt, UpstreamOperation.GET_BY_ID, primary, requestAttributes));
+            } catch (RejectedExecutionException e) {
+                return attempt.run(UpstreamOperation.GET_BY_ID, null);
+            }
+
+            Future<T> primaryAttempt = attempts.get(0);
+            Future<T> done = completion.poll(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            if (done == null && mayHedge()) {
+                UpstreamEndpoints.Endpoint secondary = endpoints.chooseOther(primary);
+                try {
+                    attempts.add(
+                            submit(completion, attempt, UpstreamOperation.HEDGE, secondary, requestAttributes));
+                    log.debug("Hedging upstream call to {} with {}", primary.getBase(), secondary.getBase());
+                } catch (RejectedExecutionException e) {
+                    refundBudget();
+                    log.debug("No thread free to hedge upstream call to {}", primary.getBase());
+                }
+            }
+
+            RuntimeException primaryFailure = null;
+            for (int pending = attempts.size(); pending > 0; pending--) {
+                Future<T> completed = done != null ? done : completion.take();
+                done = null;
+                try {
+                    return completed.get();
+                } catch (ExecutionException e) {
+                    RuntimeException failure = unwrap(e);
+                    if (completed != primaryAttempt) {
+                        onHedgeFailed(failure);
+                    } else if (isAnswer(failure)) {
+                        throw failure;
+                    } else {
+                        primaryFailure = failure;
+                    }
+                }
+            }
+            throw primaryFailure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for the external service", Duration.ZERO);
+        } finally {
+            attempts.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /*
+     * The current hedge delay: the configured percentile of recent response times, within the configured bounds.
+     */
+    public synchronized Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(
+            CompletionService<T> completion,
+            Attempt<T> attempt,
+            UpstreamOperation operation,
+            UpstreamEndpoints.Endpoint endpoint,
+            RequestAttributes requestAttributes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(LoadBalancingInterceptor.ENDPOINT_HEADER, endpoint.getBase().toString());
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+        return completion.submit(() -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                long start = System.nanoTime();
+                T result = attempt.run(operation, request);
+                record(System.nanoTime() - start);
+                return result;
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private void onHedgeFailed(RuntimeException failure) {
+        if (failure instanceof LocalRejectionException) {
+            refundBudget();
+            log.debug("Hedge never reached the external service: {}", failure.getMessage());
+        } else {
+            log.debug("Hedge failed, waiting for the first attempt: {}", failure.getMessage());
+        }
+    }
+
+    private boolean mayHedge() {
+        return upstreamGuard.circuitState() == CircuitBreaker.State.CLOSED && spendBudget();
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(MAX_BUDGET, budget + budgetPerCall);
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private synchronized void refundBudget() {
+        budget = Math.min(MAX_BUDGET, budget + 1);
+    }
+
+    private synchronized long hedgeDelayNanos() {
+        return delayNanos;
+    }
+
+    private synchronized void record(long responseNanos) {
+        samples[(int) (sampleCount % WINDOW_SIZE)] = responseNanos;
+        sampleCount++;
+        if (sampleCount >= MIN_SAMPLES && sampleCount % RECOMPUTE_INTERVAL == 0) {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(sampleCount, WINDOW_SIZE));
+            Arrays.sort(sorted);
+            long observed = sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))];
+            delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, observed));
+        }
+    }
+
+    /*
+     * A client error other than rate limiting is the upstream's answer, which a hedge would only repeat.
+     */
+    private static boolean isAnswer(RuntimeException failure) {
+        return failure instanceof HttpClientErrorException clientError
+                && clientError.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new ExternalServiceException("Failed to call the external service", e.getCause());
+    }
+
+    /**
+     * One attempt at a call, made as the given operation with the given request entity, which directs it to an
+     * instance. Attempts run concurrently, so they must not share mutable state.
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+
+        T run(UpstreamOperation operation, HttpEntity<Void> request);
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api.upstream;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * The mock employee service instances calls are spread over. Each call goes to the less loaded of two instances picked
+ * at random (power of two choices), measured by requests outstanding, which keeps load even without a shared view of
+ * every instance's queue.
+ *
+ * <p>Instances are health-checked passively from the answers they give. One that fails {@code failureThreshold}
+ * calls in a row with a server error or I/O failure is ejected for the ejection duration, and one that answers 429 is
+ * left alone until its throttle backoff has passed, so each instance's rate limit is tracked on its own. When no
+ * instance is available, calls go to the one that becomes available soonest rather than failing here.
+ */
+@Slf4j
+public class UpstreamEndpoints {
+
+    private final URI logicalBase;
+    private final List<Endpoint> endpoints;
+    private final int failureThreshold;
+    private final Duration ejectionDuration;
+    private final Duration throttleBackoff;
+    private final Clock clock;
+
+    /*
+     * Endpoint per affinity key, for callers whose state is specific to one instance such as a change-feed position.
+     */
+    private final Map<String, Endpoint> pinned = new ConcurrentHashMap<>();
+
+    public UpstreamEndpoints(
+            URI logicalBase,
+            List<URI> instances,
+            int failureThreshold,
+            Duration ejectionDuration,
+            Duration throttleBackoff,
+            Clock clock) {
+        this.logicalBase = logicalBase;
+        this.failureThreshold = failureThreshold;
+        this.ejectionDuration = ejectionDuration;
+        this.throttleBackoff = throttleBackoff;
+        this.clock = clock;
+        List<URI> bases = instances.isEmpty() ? List.of(logicalBase) : instances;
+        this.endpoints = bases.stream().map(Endpoint::new).toList();
+    }
+
+    public List<Endpoint> all() {
+        return endpoints;
+    }
+
+    /*
+     * Whether a request URI addresses the logical upstream, as opposed to some other host.
+     */
+    public boolean serves(URI uri) {
+        return Objects.equals(uri.getScheme(), logicalBase.getScheme())
+                && Objects.equals(uri.getHost(), logicalBase.getHost())
+                && uri.getPort() == logicalBase.getPort();
+    }
+
+    public Endpoint choose() {
+        Instant now = clock.instant();
+        return leastLoadedOfTwo(
+                endpoints.stream().filter(endpoint -> endpoint.isAvailable(now)).toList());
+    }
+
+    /*
+     * An available endpoint other than the given one, for a second attempt at a call; the given one if there is no
+     * other.
+     */
+    public Endpoint chooseOther(Endpoint excluded) {
+        Instant now = clock.instant();
+        List<Endpoint> others = endpoints.stream()
+                .filter(endpoint -> endpoint != excluded && endpoint.isAvailable(now))
+                .toList();
+        return others.isEmpty() ? excluded : leastLoadedOfTwo(others);
+    }
+
+    public Optional<Endpoint> find(URI base) {
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.base.equals(base))
+                .findFirst();
+    }
+
+    /*
+     * The same endpoint for every call with this key while it stays available.
+     */
+    public Endpoint pinned(String key) {
+        Endpoint current = pinned.get(key);
+        if (current != null && current.isAvailable(clock.instant())) {
+            return current;
+        }
+        Endpoint next = choose();
+        if (next != current) {
+            log.info("Pinning {} calls to upstream instance {}", key, next.base);
+        }
+        pinned.put(key, next);
+        return next;
+    }
+
+    private Endpoint leastLoadedOfTwo(List<Endpoint> available) {
+        if (available.isEmpty()) {
+            return endpoints.stream()
+                    .min(Comparator.comparing(endpoint -> endpoint.availableAt))
+                    .orElseThrow();
+        }
+        if (available.size() == 1) {
+            return available.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available.size());
+        int second = random.nextInt(available.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = available.get(first);
+        Endpoint b = available.get(second);
+        return a.outstanding.get() <= b.outstanding.get() ? a : b;
+    }
+
+    /**
+     * One upstream instance and what its recent answers say about it.
+     */
+    public final class Endpoint {
+
+        private final URI base;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile Instant availableAt = Instant.EPOCH;
+
+        private Endpoint(URI base) {
+            this.base = base;
+        }
+
+        public URI getBase() {
+            return base;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        public boolean isAvailable(Instant now) {
+            return !now.isBefore(availableAt);
+        }
+
+        /*
+         * The request URI with the logical upstream's scheme, host and port replaced by this instance's.
+         */
+        public URI resolve(URI uri) {
+            return UriComponentsBuilder.fromUri(uri)
+                    .scheme(base.getScheme())
+                    .host(base.getHost())
+                    .port(base.getPort())
+                    .build(true)
+                    .toUri();
+        }
+
+        public void onStart() {
+            outstanding.incrementAndGet();
+        }
+
+        public void onFinish() {
+            outstanding.decrementAndGet();
+        }
+
+        public void onSuccess() {
+            consecutiveFailures.set(0);
+        }
+
+        public void onThrottled() {
+            consecutiveFailures.set(0);
+            if (isAvailable(clock.instant())) {
+                log.info("Upstream instance {} is throttling, avoiding it for {}", base, throttleBackoff);
+            }
+            availableAt = clock.instant().plus(throttleBackoff);
+        }
+
+        public void onFailure() {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                consecutiveFailures.set(0);
+                log.warn(
+                        "Ejecting upstream instance {} for {} after {} failures",
+                        base,
+                        ejectionDuration,
+                        failureThreshold);
+                availableAt = clock.instant().plus(ejectionDuration);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exception.LocalRejectionException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.util.RateLimitedLogger;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Wraps every call to the mock employee service in a shared circuit breaker and a per-operation bulkhead. When the
+ * upstream is throttling or down, or an operation already has its full share of threads waiting on it, calls fail
+ * fast with {@link UpstreamUnavailableException} instead of queueing. Calls turned away by this instance's own limits,
+ * rather than because of the upstream, fail with its {@link LocalRejectionException} subclass.
+ *
+ * <p>Calls take their turn at the shared request budget from the {@link UpstreamScheduler} before entering the
+ * bulkhead, so a call waiting for a token holds no bulkhead slot. They are scheduled with their operation's priority
+ * when made on behalf of a client request, and as background work otherwise, as for replica syncs, stale refreshes
+ * and write-behind dispatches. Opportunistic operations only take a token that is spare at that moment. An open
+ * circuit fails calls before they wait for a token, and a token taken by a call that the bulkhead or circuit then
+ * turns away is refunded.
+ *
+ * <p>Rate limiting (429), server errors and I/O failures count against the circuit; other client errors such as 404
+ * are answers from a healthy upstream.
+ */
+@Slf4j
+@Component
+public class UpstreamGuard {
+
+    private static final RateLimitedLogger REJECTION_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(1));
+
+    private final CircuitBreaker circuitBreaker;
+    private final UpstreamScheduler scheduler;
+    private final Map<UpstreamOperation, Bulkhead> bulkheads = new EnumMap<>(UpstreamOperation.class);
+
+    public UpstreamGuard(
+            @Value("${app.upstream.circuit-breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${app.upstream.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.upstream.circuit-breaker.half-open-probes:1}") int halfOpenProbes,
+            @Value("${app.upstream.bulkhead.max-concurrent-calls:10}") int maxConcurrentCalls,
+            @Value("${app.upstream.bulkhead.max-wait:0ms}") Duration maxWait,
+            UpstreamScheduler scheduler) {
+        this.circuitBreaker =
+                new CircuitBreaker(failureThreshold, openDuration, halfOpenProbes, Clock.systemUTC());
+        this.scheduler = scheduler;
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            bulkheads.put(operation, new Bulkhead(maxConcurrentCalls, maxWait));
+        }
+    }
+
+    public <T> T call(UpstreamOperation operation, Supplier<T> call) {
+        Duration remainingOpen = circuitBreaker.remainingOpenDuration();
+        if (!remainingOpen.isZero()) {
+            throw new UpstreamUnavailableException("Circuit open for external service", remainingOpen);
+        }
+
+        if (!operation.isOpportunistic()) {
+            scheduler.acquire(priorityOf(operation));
+        } else if (!scheduler.tryAcquire()) {
+            throw new LocalRejectionException("No spare upstream request budget for " + operation, Duration.ZERO);
+        }
+
+        Bulkhead bulkhead = bulkheads.get(operation);
+        if (!bulkhead.tryAcquire()) {
+            scheduler.refund();
+            REJECTION_LOG.warn("Bulkhead full for upstream operation {}, rejecting call", operation);
+            throw new LocalRejectionException("Too many concurrent " + operation + " calls", Duration.ZERO);
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                scheduler.refund();
+                throw new UpstreamUnavailableException(
+                        "Circuit open for external service", circuitBreaker.remainingOpenDuration());
+            }
+
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (isFailure(e)) {
+                    circuitBreaker.onFailure();
+                    if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                        log.warn("Circuit open for external service after {} failure", operation);
+                    }
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private static UpstreamPriority priorityOf(UpstreamOperation operation) {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return UpstreamPriority.BACKGROUND;
+        }
+        return operation.getPriority();
+    }
+
+    private static boolean isFailure(RuntimeException e) {
+        if (e instanceof HttpStatusCodeException statusCodeException) {
+            return statusCodeException.getStatusCode().is5xxServerError()
+                    || statusCodeException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return e instanceof RestClientException;
+    }
+}
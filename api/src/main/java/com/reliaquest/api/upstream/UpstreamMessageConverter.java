@@ -0,0 +1,55 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Jackson converter for upstream responses that builds one {@link ObjectReader} per response type and reuses it,
+ * where the stock converter resolves the generic type and creates a reader on every call. Response types are the
+ * handful of {@code ApiResponse<...>} shapes the services declare as constants, so the cache stays small.
+ */
+public class UpstreamMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public UpstreamMessageConverter(ObjectMapper objectMapper, MediaType... supportedMediaTypes) {
+        super(objectMapper, supportedMediaTypes);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        // A context class can resolve type variables differently per call; leave those to the stock path.
+        if (contextClass != null) {
+            return super.read(type, contextClass, inputMessage);
+        }
+        return read(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, inputMessage);
+    }
+
+    private Object read(Type type, HttpInputMessage inputMessage) throws IOException {
+        ObjectReader reader = readers.computeIfAbsent(type, key -> getObjectMapper().readerFor(getJavaType(key, null)));
+        try {
+            return reader.readValue(inputMessage.getBody());
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * Kinds of calls made to the mock employee service; each gets its own bulkhead, and the priority it is scheduled
+ * with when made on behalf of a client request. Opportunistic calls are never queued for the request budget and only
+ * go out when a token is spare.
+ */
+public enum UpstreamOperation {
+    GET_ALL(UpstreamPriority.INTERACTIVE),
+    GET_BY_ID(UpstreamPriority.INTERACTIVE),
+    QUERY(UpstreamPriority.INTERACTIVE),
+    CREATE(UpstreamPriority.WRITE),
+    DELETE(UpstreamPriority.WRITE),
+    ROSTER_SYNC(UpstreamPriority.BACKGROUND),
+    IMPORT(UpstreamPriority.BACKGROUND),
+    HEDGE(UpstreamPriority.INTERACTIVE, true);
+
+    private final UpstreamPriority priority;
+    private final boolean opportunistic;
+
+    UpstreamOperation(UpstreamPriority priority) {
+        this(priority, false);
+    }
+
+    UpstreamOperation(UpstreamPriority priority, boolean opportunistic) {
+        this.priority = priority;
+        this.opportunistic = opportunistic;
+    }
+
+    public UpstreamPriority getPriority() {
+        return priority;
+    }
+
+    public boolean isOpportunistic() {
+        return opportunistic;
+    }
+}
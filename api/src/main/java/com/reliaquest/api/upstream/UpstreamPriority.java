@@ -0,0 +1,21 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * Priority classes sharing the upstream request budget. The weight is a class's share of the budget while every
+ * class has calls waiting.
+ */
+public enum UpstreamPriority {
+    INTERACTIVE(8),
+    WRITE(4),
+    BACKGROUND(1);
+
+    private final int weight;
+
+    UpstreamPriority(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,247 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.exception.LocalRejectionException;
+import com.reliaquest.api.util.RateLimitedLogger;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares the upstream's request budget between callers by priority. Every call takes one token from a bucket that
+ * refills at a fixed rate. When the bucket is empty, calls queue per priority class and are released by weighted fair
+ * queuing, so interactive reads get most of the budget without starving writes or background refreshes.
+ *
+ * <p>Each class has a deadline. A call that does not get a token within its class's max wait fails fast with
+ * {@link LocalRejectionException}, and one whose queue is already too long to make the deadline is rejected
+ * without waiting at all. A rate of zero or less disables scheduling.
+ */
+@Slf4j
+@Component
+public class UpstreamScheduler {
+
+    private static final RateLimitedLogger REJECTION_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(1));
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final Map<UpstreamPriority, Duration> maxWaits = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Deque<Waiter>> queues = new EnumMap<>(UpstreamPriority.class);
+    private final double[] lastFinishTags = new double[UpstreamPriority.values().length];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition tokensGranted = lock.newCondition();
+
+    private double tokens;
+    private long refilledAt;
+    private double virtualTime;
+    private int waiting;
+
+    public UpstreamScheduler(
+            @Value("${app.upstream.scheduler.rate:0.1}") double ratePerSecond,
+            @Value("${app.upstream.scheduler.burst:3}") int burst,
+            @Value("${app.upstream.scheduler.interactive-max-wait:2s}") Duration interactiveMaxWait,
+            @Value("${app.upstream.scheduler.write-max-wait:10s}") Duration writeMaxWait,
+            @Value("${app.upstream.scheduler.background-max-wait:30s}") Duration backgroundMaxWait) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+        maxWaits.put(UpstreamPriority.INTERACTIVE, interactiveMaxWait);
+        maxWaits.put(UpstreamPriority.WRITE, writeMaxWait);
+        maxWaits.put(UpstreamPriority.BACKGROUND, backgroundMaxWait);
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /*
+     * Blocks until the caller may make one upstream call.
+     */
+    public void acquire(UpstreamPriority priority) {
+        if (tokensPerNano <= 0) {
+            return;
+        }
+
+        Waiter waiter = null;
+        lock.lock();
+        try {
+            refill();
+            if (waiting == 0 && tokens >= 1) {
+                tokens -= 1;
+                return;
+            }
+
+            Duration maxWait = maxWaits.get(priority);
+            Duration estimatedWait = estimateWait(priority);
+            if (estimatedWait.compareTo(maxWait) > 0) {
+                REJECTION_LOG.warn("Upstream request budget exhausted, rejecting {} call", priority);
+                throw new LocalRejectionException(
+                        "Upstream request budget exhausted for " + priority + " calls", estimatedWait);
+            }
+
+            waiter = enqueue(priority);
+            long deadline = System.nanoTime() + maxWait.toNanos();
+            while (true) {
+                grant();
+                if (waiter.granted) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    dequeue(priority, waiter);
+                    throw new LocalRejectionException(
+                            "Timed out waiting for upstream request budget", estimateWait(priority));
+                }
+                tokensGranted.awaitNanos(Math.min(remaining, nanosUntilNextToken()));
+            }
+        } catch (InterruptedException e) {
+            /*
+             * The caller is giving up, so it must not keep its place in the queue, and a token granted just before
+             * the interrupt goes to the next call instead of being lost.
+             */
+            if (waiter.granted) {
+                tokens = Math.min(burst, tokens + 1);
+                grant();
+            } else {
+                dequeue(priority, waiter);
+            }
+            Thread.currentThread().interrupt();
+            throw new LocalRejectionException("Interrupted waiting for upstream request budget", Duration.ZERO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Takes a token only when one is free and no call is waiting for it, so opportunistic calls such as hedges run on
+     * spare budget alone and never delay anyone else.
+     */
+    public boolean tryAcquire() {
+        if (tokensPerNano <= 0) {
+            return true;
+        }
+
+        lock.lock();
+        try {
+            refill();
+            if (waiting == 0 && tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Gives back a token taken for a call that was then turned away before reaching the upstream, passing it to the
+     * next waiting call if there is one.
+     */
+    public void refund() {
+        if (tokensPerNano <= 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            refill();
+            tokens = Math.min(burst, tokens + 1);
+            grant();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Start-time fair queuing: a call's finish tag advances by the inverse of its class's weight, and the queued call
+     * with the lowest finish tag is granted the next token.
+     */
+    private Waiter enqueue(UpstreamPriority priority) {
+        double start = Math.max(virtualTime, lastFinishTags[priority.ordinal()]);
+        Waiter waiter = new Waiter(start, start + 1.0 / priority.getWeight());
+        lastFinishTags[priority.ordinal()] = waiter.finishTag;
+        queues.get(priority).addLast(waiter);
+        waiting++;
+        return waiter;
+    }
+
+    private void dequeue(UpstreamPriority priority, Waiter waiter) {
+        if (queues.get(priority).remove(waiter)) {
+            waiting--;
+        }
+    }
+
+    private void grant() {
+        refill();
+        boolean grantedAny = false;
+        while (tokens >= 1) {
+            Deque<Waiter> next = null;
+            for (Deque<Waiter> queue : queues.values()) {
+                if (!queue.isEmpty() && (next == null || queue.peekFirst().finishTag < next.peekFirst().finishTag)) {
+                    next = queue;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Waiter waiter = next.pollFirst();
+            waiting--;
+            tokens -= 1;
+            virtualTime = waiter.startTag;
+            waiter.granted = true;
+            grantedAny = true;
+        }
+        if (grantedAny) {
+            tokensGranted.signalAll();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+
+    private long nanosUntilNextToken() {
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+
+    /*
+     * Time until a new call of this class would be granted, assuming every class with calls queued keeps its
+     * weighted share of the refill rate.
+     */
+    private Duration estimateWait(UpstreamPriority priority) {
+        int activeWeight = priority.getWeight();
+        for (Map.Entry<UpstreamPriority, Deque<Waiter>> entry : queues.entrySet()) {
+            if (entry.getKey() != priority && !entry.getValue().isEmpty()) {
+                activeWeight += entry.getKey().getWeight();
+            }
+        }
+        double share = (double) priority.getWeight() / activeWeight;
+        double tokensNeeded = queues.get(priority).size() + 1 - tokens;
+        if (tokensNeeded <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) (tokensNeeded / (tokensPerNano * share)));
+    }
+
+    private static final class Waiter {
+
+        private final double startTag;
+        private final double finishTag;
+        private boolean granted;
+
+        private Waiter(double startTag, double finishTag) {
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+
+/**
+ * Lets at most a fixed number of messages per interval through from one call site and drops the rest, for messages
+ * logged per request or per upstream failure that would otherwise flood the log under load. The number of dropped
+ * messages, if any, is reported with the next message that gets through.
+ */
+public final class RateLimitedLogger {
+
+    private static final String SUPPRESSED_SUFFIX = " [{} similar suppressed]";
+
+    private final Logger logger;
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    private RateLimitedLogger(Logger logger, int permitsPerInterval, Duration interval) {
+        this.logger = logger;
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public static RateLimitedLogger of(Logger logger, int permitsPerInterval, Duration interval) {
+        return new RateLimitedLogger(logger, permitsPerInterval, interval);
+    }
+
+    public void info(String format, Object... arguments) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            long dropped = suppressed.getAndSet(0);
+            if (dropped == 0) {
+                logger.info(format, arguments);
+            } else {
+                logger.info(format + SUPPRESSED_SUFFIX, withSuppressedCount(arguments, dropped));
+            }
+        }
+    }
+
+    public void warn(String format, Object... arguments) {
+        if (logger.isWarnEnabled() && tryAcquire()) {
+            long dropped = suppressed.getAndSet(0);
+            if (dropped == 0) {
+                logger.warn(format, arguments);
+            } else {
+                logger.warn(format + SUPPRESSED_SUFFIX, withSuppressedCount(arguments, dropped));
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            permitsUsed.set(0);
+        }
+        if (permitsUsed.incrementAndGet() <= permitsPerInterval) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /*
+     * Inserts the dropped-message count after the format arguments, ahead of a trailing throwable.
+     */
+    private static Object[] withSuppressedCount(Object[] arguments, long dropped) {
+        int formatArguments = arguments.length > 0 && arguments[arguments.length - 1] instanceof Throwable
+                ? arguments.length - 1
+                : arguments.length;
+        Object[] result = new Object[arguments.length + 1];
+        System.arraycopy(arguments, 0, result, 0, formatArguments);
+        result[formatArguments] = dropped;
+        System.arraycopy(arguments, formatArguments, result, formatArguments + 1, arguments.length - formatArguments);
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.util;
+
+/**
+ * Returns one shared {@link String} per distinct value for the few values that repeat across many records, such as
+ * job titles. Lookups go straight from a parser's character buffer, so a value seen before costs no allocation at all.
+ *
+ * <p>The table is direct-mapped: a value that collides with another simply replaces it, which bounds memory at the
+ * table size whatever the input. Unsynchronized on purpose; a lost race only means one duplicate string.
+ */
+public final class StringDeduplicator {
+
+    /*
+     * Longer values are rarely repeated and not worth comparing character by character.
+     */
+    private static final int MAX_LENGTH = 64;
+
+    private final String[] table;
+    private final int mask;
+
+    private StringDeduplicator(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.table = new String[size];
+        this.mask = size - 1;
+    }
+
+    public static StringDeduplicator withCapacity(int capacity) {
+        return new StringDeduplicator(capacity);
+    }
+
+    public String dedupe(char[] chars, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(chars, offset, length);
+        }
+
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        String cached = table[slot];
+        if (cached != null && matches(cached, chars, offset, length)) {
+            return cached;
+        }
+        String value = new String(chars, offset, length);
+        table[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Parses employee ids without the substrings, exceptions and regex work of {@link UUID#fromString}. Only the
+ * canonical 8-4-4-4-12 hex form is accepted, which is the only form the upstream produces; invalid input yields
+ * {@code false} or {@code null} rather than an exception.
+ *
+ * <p>Parsed ids are kept as {@link UUID}, i.e. two longs, and used as the key for every id-indexed structure in the
+ * api. {@code Employee.id} stays a string so the wire format is unchanged.
+ */
+public final class Uuids {
+
+    private static final int LENGTH = 36;
+    private static final byte[] NIBBLES = new byte[128];
+
+    static {
+        Arrays.fill(NIBBLES, (byte) -1);
+        for (char c = '0'; c <= '9'; c++) {
+            NIBBLES[c] = (byte) (c - '0');
+        }
+        for (char c = 'a'; c <= 'f'; c++) {
+            NIBBLES[c] = (byte) (c - 'a' + 10);
+            NIBBLES[Character.toUpperCase(c)] = (byte) (c - 'a' + 10);
+        }
+    }
+
+    private Uuids() {}
+
+    public static boolean isValid(String value) {
+        if (value == null || value.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (c >= NIBBLES.length || NIBBLES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Null when the value is not a canonical UUID.
+     */
+    public static UUID parseOrNull(String value) {
+        if (!isValid(value)) {
+            return null;
+        }
+        return new UUID(bits(value, 0, 18), bits(value, 19, LENGTH));
+    }
+
+    /*
+     * Compares without allocating, for scans over employees whose ids are still strings.
+     */
+    public static boolean matches(UUID uuid, String value) {
+        return uuid != null
+                && isValid(value)
+                && bits(value, 0, 18) == uuid.getMostSignificantBits()
+                && bits(value, 19, LENGTH) == uuid.getLeastSignificantBits();
+    }
+
+    /*
+     * Folds the hex digits of an already validated value between from and to, skipping dashes.
+     */
+    private static long bits(String value, int from, int to) {
+        long bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c != '-') {
+                bits = bits << 4 | NIBBLES[c];
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that finds the sustainable number of in-flight requests from their latency, after the gradient
+ * algorithm in Netflix's concurrency-limits. Latencies are averaged over short windows and compared with a baseline
+ * that, as in TCP Vegas, tracks the fastest window seen. While a window stays within {@code tolerance} times the
+ * baseline the limit grows by roughly its square root; as latency rises above that the limit shrinks by the ratio,
+ * down to half per window.
+ *
+ * <p>Windows in which fewer than half the permits were in use leave the limit alone, so an idle service does not grow
+ * a limit it has never tested. Every granted {@link Permit} must be released exactly once.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /*
+     * How far the baseline moves towards a slower window, so a lasting change in latency becomes the new normal over
+     * about a hundred windows while queueing delay cannot drag it up.
+     */
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this.
+    private double estimatedLimit;
+    private double baselineRttNanos;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double tolerance,
+            double smoothing,
+            Duration window,
+            int minWindowSamples,
+            LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(nanoClock.getAsLong()));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int observedInFlight) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, observedInFlight);
+
+        long now = nanoClock.getAsLong();
+        if (windowSamples < minWindowSamples || now - windowStart < windowNanos) {
+            return;
+        }
+
+        double windowRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (baselineRttNanos == 0 || windowRtt < baselineRttNanos) {
+            baselineRttNanos = windowRtt;
+        } else {
+            baselineRttNanos += (windowRtt - baselineRttNanos) * BASELINE_DRIFT;
+        }
+
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / windowRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double smoothed = estimatedLimit * (1 - smoothing) + target * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * One admitted request; releasing it records how long the request took.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void release() {
+            int observedInFlight = inFlight.getAndDecrement();
+            onSample(nanoClock.getAsLong() - startNanos, observedInFlight);
+        }
+    }
+}
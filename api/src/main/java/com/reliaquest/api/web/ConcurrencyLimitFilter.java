@@ -0,0 +1,124 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.exception.ErrorBodyTemplate;
+import com.reliaquest.api.util.RateLimitedLogger;
+import com.reliaquest.api.util.Uuids;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admits requests to the employee api up to an {@link AdaptiveConcurrencyLimit} and sheds the rest straight away with
+ * a 503 and {@code Retry-After}, so a slow upstream turns into fast rejections instead of requests queueing in Tomcat
+ * until clients time out.
+ *
+ * <p>Reads that can be answered from local data without an upstream call skip the limit: roster reads and exports,
+ * name autocomplete and fuzzy search included, while a roster view is published, lookups of ids in the employee
+ * cache, and write-behind status checks.
+ *
+ * <p>Bulk imports skip it as well. They run for minutes, are capped by their own {@code app.import.max-concurrent},
+ * and their latency would otherwise drag the baseline the limit adapts to.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String BASE_PATH = "/api/v1/employee";
+
+    private static final RateLimitedLogger SHED_LOG = RateLimitedLogger.of(log, 1, Duration.ofSeconds(1));
+    private static final ErrorBodyTemplate SHED_BODY = new ErrorBodyTemplate(
+            HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "Server is at capacity. Please try again shortly.");
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final MaterializedRoster materializedRoster;
+    private final EmployeeCache employeeCache;
+
+    public ConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimit concurrencyLimit,
+            MaterializedRoster materializedRoster,
+            EmployeeCache employeeCache) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.materializedRoster = materializedRoster;
+        this.employeeCache = employeeCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isLocalRead(request) || isImport(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AdaptiveConcurrencyLimit.Permit> permit = concurrencyLimit.tryAcquire();
+        if (permit.isEmpty()) {
+            shed(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permit.get().release();
+        }
+    }
+
+    private boolean isLocalRead(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(BASE_PATH)) {
+            return false;
+        }
+
+        String rest = path.substring(BASE_PATH.length());
+        if (rest.isEmpty()
+                || rest.equals("/")
+                || rest.equals("/export")
+                || rest.startsWith("/search/")
+                || rest.startsWith("/autocomplete/")
+                || rest.startsWith("/fuzzySearch/")
+                || rest.equals("/highestSalary")
+                || rest.equals("/topTenHighestEarningEmployeeNames")) {
+            return materializedRoster.view().isPresent();
+        }
+        if (rest.startsWith("/async/")) {
+            return true;
+        }
+        UUID id = Uuids.parseOrNull(rest.substring(1));
+        return id != null && employeeCache.lookup(id).isPresent();
+    }
+
+    private boolean isImport(HttpServletRequest request) {
+        return "POST".equals(request.getMethod())
+                && request.getRequestURI()
+                        .substring(request.getContextPath().length())
+                        .equals(BASE_PATH + "/import");
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        SHED_LOG.warn(
+                "Shedding {} {} at concurrency limit {}",
+                request.getMethod(),
+                request.getRequestURI(),
+                concurrencyLimit.getLimit());
+        byte[] body = SHED_BODY.render(LocalDateTime.now(), request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
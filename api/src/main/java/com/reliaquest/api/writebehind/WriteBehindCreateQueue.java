@@ -0,0 +1,279 @@
+package com.reliaquest.api.writebehind;
+
+import com.reliaquest.api.dto.CreateStatus;
+import com.reliaquest.api.dto.EmployeeBatchRequest;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Asynchronous create mode. Requests are validated and acknowledged with a tracking id straight away. A single
+ * dispatcher then drains them towards the upstream at a paced rate, in batches where the upstream supports it.
+ *
+ * <p>While the upstream is throttling, the dispatcher keeps its current batch and waits out the retry delay instead
+ * of blocking a request thread through retries, so client latency no longer depends on upstream throttling.
+ *
+ * <p>A create the upstream rejects outright with a client error would be rejected again however often it is sent.
+ * A rejected batch is split in half and its halves sent on the following dispatches, until the offending requests
+ * are sent on their own; those are failed straight away and the rest of the queue carries on.
+ *
+ * <p>Creates are not idempotent, so only calls known not to have created anything are sent again: throttling, an open
+ * circuit or a local rejection. A call that failed any other way, such as a timeout, a dropped connection, a server
+ * error or an unreadable answer, may have created some or all of its employees; its tickets are failed as having an
+ * unknown outcome rather than risk duplicates.
+ */
+@Slf4j
+@Component
+public class WriteBehindCreateQueue {
+
+    private final EmployeeService employeeService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final BlockingQueue<Ticket> pending;
+    private final Map<String, Ticket> ticketsById = new ConcurrentHashMap<>();
+
+    /*
+     * Only touched by the dispatcher. Tickets stay here until they are created or given up on; the first `sent` of them
+     * went out in the latest upstream call.
+     */
+    private final List<Ticket> inFlight = new ArrayList<>();
+
+    private int sent;
+    private int batchLimit;
+    private Instant nextAttempt = Instant.EPOCH;
+
+    public WriteBehindCreateQueue(
+            EmployeeService employeeService,
+            @Value("${app.write-behind.capacity:1000}") int capacity,
+            @Value("${app.write-behind.batch-size:50}") int batchSize,
+            @Value("${app.write-behind.max-attempts:10}") int maxAttempts,
+            @Value("${app.write-behind.retry-delay:30s}") Duration retryDelay,
+            @Value("${app.write-behind.retention:15m}") Duration retention) {
+        this.employeeService = employeeService;
+        if (batchSize > EmployeeBatchRequest.MAX_EMPLOYEES) {
+            log.warn(
+                    "app.write-behind.batch-size {} is above the external service's limit, using {}",
+                    batchSize,
+                    EmployeeBatchRequest.MAX_EMPLOYEES);
+        }
+        this.batchSize = Math.min(batchSize, EmployeeBatchRequest.MAX_EMPLOYEES);
+        this.batchLimit = this.batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.retention = retention;
+        this.clock = Clock.systemUTC();
+        this.pending = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public CreateStatus submit(EmployeeRequest employeeRequest) {
+        employeeService.validateReqBody(employeeRequest);
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), employeeRequest, clock.instant());
+        ticketsById.put(ticket.trackingId, ticket);
+        if (!pending.offer(ticket)) {
+            ticketsById.remove(ticket.trackingId);
+            throw new TooManyRequestsException("Create queue is full");
+        }
+
+        log.debug("Queued create of employee {} as {}", employeeRequest.getName(), ticket.trackingId);
+        return ticket.status();
+    }
+
+    public Optional<CreateStatus> status(String trackingId) {
+        return Optional.ofNullable(ticketsById.get(trackingId)).map(Ticket::status);
+    }
+
+    @Scheduled(fixedDelayString = "${app.write-behind.interval:1000}")
+    public void dispatch() {
+        evictCompleted();
+        if (clock.instant().isBefore(nextAttempt)) {
+            return;
+        }
+
+        if (inFlight.isEmpty()) {
+            pending.drainTo(inFlight, batchSize);
+            if (inFlight.isEmpty()) {
+                return;
+            }
+        }
+
+        try {
+            send();
+        } catch (TooManyRequestsException e) {
+            retryLater(retryDelay, "External service is throttling creates");
+        } catch (UpstreamUnavailableException e) {
+            retryLater(e.getRetryAfter(), e.getMessage());
+        } catch (ExternalServiceException e) {
+            if (e.getCause() instanceof HttpClientErrorException rejection) {
+                rejected(rejection);
+            } else {
+                outcomeUnknown(e);
+            }
+        }
+    }
+
+    /*
+     * Sends the in-flight tickets as one batch, up to the current batch limit, or only the first of them when the
+     * upstream has no batch endpoint, so single creates are paced at one per dispatch interval.
+     */
+    private void send() {
+        sent = Math.min(inFlight.size(), batchLimit);
+        List<Ticket> batch = inFlight.subList(0, sent);
+        Optional<List<Employee>> created = employeeService.submitEmployees(
+                batch.stream().map(ticket -> ticket.request).toList());
+
+        if (created.isPresent()) {
+            List<Employee> employees = created.get();
+            Instant now = clock.instant();
+            for (int i = 0; i < batch.size(); i++) {
+                Ticket ticket = batch.get(i);
+                ticket.attempts++;
+                if (i < employees.size()) {
+                    ticket.created(employees.get(i), now);
+                } else {
+                    ticket.failed("Not created by external service", now);
+                }
+            }
+            log.info("Dispatched {} queued creates", batch.size());
+            batch.clear();
+            resetBatchLimit();
+            return;
+        }
+
+        sent = 1;
+        Ticket ticket = inFlight.get(0);
+        Employee employee = employeeService.submitEmployee(ticket.request);
+        ticket.attempts++;
+        ticket.created(employee, clock.instant());
+        inFlight.remove(0);
+        resetBatchLimit();
+    }
+
+    /*
+     * Halves a rejected batch, or fails a rejected single create and goes back to full batches for the rest. Either
+     * way the next dispatch goes ahead without waiting, since the upstream is not throttling.
+     */
+    private void rejected(HttpClientErrorException rejection) {
+        if (sent > 1) {
+            batchLimit = (sent + 1) / 2;
+            log.info("External service rejected a batch of {} creates, sending {} at a time", sent, batchLimit);
+            return;
+        }
+        Ticket ticket = inFlight.remove(0);
+        ticket.attempts++;
+        ticket.failed("Rejected by external service: " + rejection.getStatusCode(), clock.instant());
+        log.warn("External service rejected queued create {}: {}", ticket.trackingId, rejection.getStatusCode());
+        batchLimit = batchSize;
+    }
+
+    /*
+     * Fails the tickets just sent without sending them again, and holds the rest for the retry delay as the upstream
+     * is in trouble.
+     */
+    private void outcomeUnknown(ExternalServiceException e) {
+        Instant now = clock.instant();
+        List<Ticket> batch = inFlight.subList(0, sent);
+        log.warn("Outcome of {} queued creates unknown, not sending them again: {}", batch.size(), e.getMessage());
+        for (Ticket ticket : batch) {
+            ticket.attempts++;
+            ticket.failed("Outcome unknown, may have been created: " + e.getMessage(), now);
+        }
+        batch.clear();
+        resetBatchLimit();
+        nextAttempt = now.plus(retryDelay);
+    }
+
+    /*
+     * Full batches again once every ticket of a split batch has been dealt with.
+     */
+    private void resetBatchLimit() {
+        if (inFlight.isEmpty()) {
+            batchLimit = batchSize;
+        }
+    }
+
+    private void retryLater(Duration delay, String reason) {
+        log.info("Holding {} queued creates for {}: {}", inFlight.size() + pending.size(), delay, reason);
+        Instant now = clock.instant();
+        nextAttempt = now.plus(delay);
+        inFlight.subList(0, sent).forEach(ticket -> ticket.attempts++);
+        inFlight.removeIf(ticket -> {
+            if (ticket.attempts < maxAttempts) {
+                return false;
+            }
+            ticket.failed("Gave up after " + ticket.attempts + " attempts: " + reason, now);
+            return true;
+        });
+    }
+
+    private void evictCompleted() {
+        Instant cutoff = clock.instant().minus(retention);
+        ticketsById.values().removeIf(ticket -> ticket.completedAt != null && ticket.completedAt.isBefore(cutoff));
+    }
+
+    private static final class Ticket {
+
+        private final String trackingId;
+        private final EmployeeRequest request;
+        private final Instant acceptedAt;
+
+        private volatile CreateStatus.State state = CreateStatus.State.PENDING;
+        private volatile int attempts;
+        private volatile Instant completedAt;
+        private volatile Employee employee;
+        private volatile String error;
+
+        private Ticket(String trackingId, EmployeeRequest request, Instant acceptedAt) {
+            this.trackingId = trackingId;
+            this.request = request;
+            this.acceptedAt = acceptedAt;
+        }
+
+        private void created(Employee employee, Instant now) {
+            this.employee = employee;
+            this.completedAt = now;
+            this.state = CreateStatus.State.CREATED;
+        }
+
+        private void failed(String error, Instant now) {
+            this.error = error;
+            this.completedAt = now;
+            this.state = CreateStatus.State.FAILED;
+        }
+
+        private CreateStatus status() {
+            return CreateStatus.builder()
+                    .trackingId(trackingId)
+                    .state(state)
+                    .attempts(attempts)
+                    .acceptedAt(acceptedAt)
+                    .completedAt(completedAt)
+                    .employee(employee)
+                    .error(error)
+                    .build();
+        }
+    }
+}
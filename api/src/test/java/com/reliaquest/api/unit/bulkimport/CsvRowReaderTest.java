@@ -0,0 +1,106 @@
+package com.reliaquest.api.unit.bulkimport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.bulkimport.CsvRowReader;
+import com.reliaquest.api.bulkimport.ImportRow;
+import com.reliaquest.api.bulkimport.ImportRowReader;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.RequestValidationException;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CSV Row Reader Tests")
+class CsvRowReaderTest {
+
+    @Test
+    @DisplayName("Should map columns by header name in any order and ignore unknown ones")
+    void next_ReorderedHeader_MapsColumnsByName() throws IOException {
+
+        CsvRowReader reader = CsvRowReader.open(
+                new StringReader("\uFEFFTitle,name,team,Salary,age\r\nEngineer,Alice,Core,100000,30\r\n"));
+
+        ImportRow row = reader.next();
+
+        assertEquals(2, row.line());
+        assertEquals(new EmployeeRequest("Alice", 100000, 30, "Engineer"), row.request());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should unquote fields with commas, escaped quotes and line breaks")
+    void next_QuotedFields_Unquoted() throws IOException {
+
+        CsvRowReader reader = CsvRowReader.open(new StringReader(
+                "name,salary,age,title\n\"Doe, Jane\",1000,40,\"Head of \"\"R&D\"\"\nEurope\"\nBob,900,30,Manager\n"));
+
+        ImportRow jane = reader.next();
+        ImportRow bob = reader.next();
+
+        assertEquals("Doe, Jane", jane.request().getName());
+        assertEquals("Head of \"R&D\"\nEurope", jane.request().getTitle());
+        assertEquals(4, bob.line());
+        assertEquals("Bob", bob.request().getName());
+    }
+
+    @Test
+    @DisplayName("Should report unreadable rows by line and carry on with the next")
+    void next_UnreadableRows_ReportedByLine() throws IOException {
+
+        CsvRowReader reader = CsvRowReader.open(
+                new StringReader("name,salary,age,title\nAlice,lots,30,Engineer\n\nBob,900\nCarol,800,35,\"Analyst"));
+
+        ImportRow badSalary = reader.next();
+        ImportRow missingFields = reader.next();
+        ImportRow unterminated = reader.next();
+
+        assertEquals(2, badSalary.line());
+        assertEquals("salary: must be a whole number, got 'lots'", badSalary.error());
+        assertEquals(4, missingFields.line());
+        assertEquals("Expected 4 fields but found 2", missingFields.error());
+        assertEquals(5, unterminated.line());
+        assertEquals("Quoted field is never closed", unterminated.error());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should leave empty cells unset for validation to reject")
+    void next_EmptyCells_Null() throws IOException {
+
+        CsvRowReader reader = CsvRowReader.open(new StringReader("name,salary,age,title\n ,,30,Engineer\n"));
+
+        EmployeeRequest request = reader.next().request();
+
+        assertNull(request.getName());
+        assertNull(request.getSalary());
+        assertEquals(30, request.getAge());
+    }
+
+    @Test
+    @DisplayName("Should report an overlong row without buffering it")
+    void next_OverlongRow_Unreadable() throws IOException {
+
+        String longName = "x".repeat(ImportRowReader.MAX_ROW_CHARS + 1);
+        CsvRowReader reader = CsvRowReader.open(
+                new StringReader("name,salary,age,title\n" + longName + ",1,30,Engineer\nBob,900,30,Manager\n"));
+
+        assertEquals("Row is longer than 16384 characters", reader.next().error());
+        assertEquals("Bob", reader.next().request().getName());
+    }
+
+    @Test
+    @DisplayName("Should reject an upload whose header lacks a required column")
+    void open_MissingColumn_ThrowsValidationException() {
+
+        RequestValidationException exception = assertThrows(
+                RequestValidationException.class, () -> CsvRowReader.open(new StringReader("name,age,title\n")));
+
+        assertEquals(
+                "CSV header must name the columns name, salary, age, title",
+                exception.getValidationErrors().get(0));
+    }
+}
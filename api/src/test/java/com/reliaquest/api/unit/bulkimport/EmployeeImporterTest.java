@@ -0,0 +1,252 @@
+package com.reliaquest.api.unit.bulkimport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.bulkimport.EmployeeImporter;
+import com.reliaquest.api.bulkimport.ImportRow;
+import com.reliaquest.api.bulkimport.ImportRowReader;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.dto.ImportEvent;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.RequestValidationException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.upstream.UpstreamOperation;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Employee Importer Tests")
+class EmployeeImporterTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeImporter importer;
+    private final List<ImportEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+    private final EmployeeRequest aliceRequest = new EmployeeRequest("Alice", 100000, 30, "Engineer");
+    private final EmployeeRequest bobRequest = new EmployeeRequest("Bob", 90000, 40, "Manager");
+    private final EmployeeRequest carolRequest = new EmployeeRequest("Carol", 80000, 35, "Analyst");
+    private final Employee alice = new Employee("a-id", "Alice", 100000, 30, "Engineer", "alice@company.com");
+    private final Employee bob = new Employee("b-id", "Bob", 90000, 40, "Manager", "bob@company.com");
+    private final Employee carol = new Employee("c-id", "Carol", 80000, 35, "Analyst", "carol@company.com");
+
+    @BeforeEach
+    void setUp() {
+        importer = new EmployeeImporter(employeeService, 1, 2, 2, 2, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.destroy();
+    }
+
+    private static ImportRowReader rows(ImportRow... rows) {
+        Iterator<ImportRow> iterator = List.of(rows).iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private void run(ImportRowReader rows) {
+        importer.run(rows, (event, flush) -> events.add(event));
+    }
+
+    private List<ImportEvent.Type> eventTypes() {
+        return events.stream().map(ImportEvent::getType).toList();
+    }
+
+    private ImportEvent lastEvent() {
+        return events.get(events.size() - 1);
+    }
+
+    @Test
+    @DisplayName("Should create rows in batches and report progress after each")
+    void run_ValidRows_CreatesInBatches() {
+
+        when(employeeService.submitEmployees(List.of(aliceRequest, bobRequest), UpstreamOperation.IMPORT))
+                .thenReturn(Optional.of(List.of(alice, bob)));
+        when(employeeService.submitEmployees(List.of(carolRequest), UpstreamOperation.IMPORT))
+                .thenReturn(Optional.of(List.of(carol)));
+
+        run(rows(
+                new ImportRow(1, aliceRequest, null),
+                new ImportRow(2, bobRequest, null),
+                new ImportRow(3, carolRequest, null)));
+
+        assertEquals(
+                List.of(ImportEvent.Type.PROGRESS, ImportEvent.Type.PROGRESS, ImportEvent.Type.COMPLETED),
+                eventTypes());
+        assertEquals(3, lastEvent().getRowsRead());
+        assertEquals(3, lastEvent().getCreated());
+        assertEquals(0, lastEvent().getFailed());
+    }
+
+    @Test
+    @DisplayName("Should report unreadable and invalid rows by line and create the rest")
+    void run_InvalidRows_ReportedAndSkipped() {
+
+        EmployeeRequest invalid = new EmployeeRequest("", 100000, 30, "Engineer");
+        lenient()
+                .doThrow(new RequestValidationException("Validation failed", List.of("name: must not be blank")))
+                .when(employeeService)
+                .validateReqBody(invalid);
+        when(employeeService.submitEmployees(List.of(aliceRequest), UpstreamOperation.IMPORT))
+                .thenReturn(Optional.of(List.of(alice)));
+
+        run(rows(
+                new ImportRow(2, null, "Malformed JSON: unexpected end"),
+                new ImportRow(3, invalid, null),
+                new ImportRow(4, aliceRequest, null)));
+
+        assertEquals(ImportEvent.Type.FAILED, events.get(0).getType());
+        assertEquals(2, events.get(0).getLine());
+        assertEquals(List.of("Malformed JSON: unexpected end"), events.get(0).getErrors());
+        assertEquals(3, events.get(1).getLine());
+        assertEquals(List.of("name: must not be blank"), events.get(1).getErrors());
+        assertEquals(ImportEvent.Type.COMPLETED, lastEvent().getType());
+        assertEquals(1, lastEvent().getCreated());
+        assertEquals(2, lastEvent().getFailed());
+    }
+
+    @Test
+    @DisplayName("Should wait out throttling however often it happens without failing rows")
+    void run_Throttled_RetriesWithoutCountingAttempts() {
+
+        when(employeeService.submitEmployees(List.of(aliceRequest), UpstreamOperation.IMPORT))
+                .thenThrow(new TooManyRequestsException("Too many requests"))
+                .thenThrow(new TooManyRequestsException("Too many requests"))
+                .thenThrow(new TooManyRequestsException("Too many requests"))
+                .thenReturn(Optional.of(List.of(alice)));
+
+        run(rows(new ImportRow(1, aliceRequest, null)));
+
+        assertEquals(
+                List.of(
+                        ImportEvent.Type.RETRYING,
+                        ImportEvent.Type.RETRYING,
+                        ImportEvent.Type.RETRYING,
+                        ImportEvent.Type.PROGRESS,
+                        ImportEvent.Type.COMPLETED),
+                eventTypes());
+        assertEquals(1, lastEvent().getCreated());
+    }
+
+    @Test
+    @DisplayName("Should fail a batch's rows once the external service has rejected it max-attempts times")
+    void run_ExternalServiceRejects_GivesUpAfterMaxAttempts() {
+
+        when(employeeService.submitEmployees(anyList(), eq(UpstreamOperation.IMPORT)))
+                .thenThrow(new ExternalServiceException(
+                        "Failed to create employees in external service",
+                        new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+
+        run(rows(new ImportRow(1, aliceRequest, null), new ImportRow(2, bobRequest, null)));
+
+        ImportEvent failure = events.stream()
+                .filter(event -> event.getType() == ImportEvent.Type.FAILED)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, failure.getLine());
+        assertEquals(
+                List.of("Gave up after 2 attempts: Failed to create employees in external service"),
+                failure.getErrors());
+        assertEquals(0, lastEvent().getCreated());
+        assertEquals(2, lastEvent().getFailed());
+        verify(employeeService, times(2)).submitEmployees(anyList(), eq(UpstreamOperation.IMPORT));
+    }
+
+    @Test
+    @DisplayName("Should stop at a batch whose create failed without an answer instead of retrying it")
+    void run_CreateOutcomeUnknown_StopsAtBatchWithoutRetrying() {
+
+        when(employeeService.submitEmployees(List.of(aliceRequest, bobRequest), UpstreamOperation.IMPORT))
+                .thenReturn(Optional.of(List.of(alice, bob)));
+        when(employeeService.submitEmployees(List.of(carolRequest), UpstreamOperation.IMPORT))
+                .thenThrow(new ExternalServiceException(
+                        "Failed to create employees in external service",
+                        new ResourceAccessException("Connection reset")));
+
+        run(rows(
+                new ImportRow(1, aliceRequest, null),
+                new ImportRow(2, bobRequest, null),
+                new ImportRow(3, carolRequest, null)));
+
+        assertEquals(ImportEvent.Type.ABORTED, lastEvent().getType());
+        assertEquals(3, lastEvent().getLine());
+        assertEquals(2, lastEvent().getCreated());
+        verify(employeeService, times(1)).submitEmployees(List.of(carolRequest), UpstreamOperation.IMPORT);
+    }
+
+    @Test
+    @DisplayName("Should create rows one at a time when the upstream has no batch endpoint")
+    void run_BatchUnsupported_CreatesRowByRow() {
+
+        when(employeeService.submitEmployees(anyList(), eq(UpstreamOperation.IMPORT)))
+                .thenReturn(Optional.empty());
+        when(employeeService.submitEmployee(aliceRequest, UpstreamOperation.IMPORT)).thenReturn(alice);
+        when(employeeService.submitEmployee(bobRequest, UpstreamOperation.IMPORT)).thenReturn(bob);
+
+        run(rows(new ImportRow(1, aliceRequest, null), new ImportRow(2, bobRequest, null)));
+
+        assertEquals(ImportEvent.Type.COMPLETED, lastEvent().getType());
+        assertEquals(2, lastEvent().getCreated());
+    }
+
+    @Test
+    @DisplayName("Should reject an import while max-concurrent imports are running")
+    void run_ImportAlreadyRunning_ThrowsTooManyRequests() {
+
+        AtomicInteger rejected = new AtomicInteger();
+        ImportRowReader startsAnotherImport = () -> {
+            assertThrows(TooManyRequestsException.class, () -> run(rows()));
+            rejected.incrementAndGet();
+            return null;
+        };
+
+        run(startsAnotherImport);
+
+        assertEquals(1, rejected.get());
+        assertEquals(ImportEvent.Type.COMPLETED, lastEvent().getType());
+    }
+
+    @Test
+    @DisplayName("Should stop reading the upload once its events can no longer be written")
+    void run_SinkFails_StopsReading() {
+
+        AtomicInteger rowsRead = new AtomicInteger();
+        ImportRowReader unreadableRows = () -> new ImportRow(rowsRead.incrementAndGet(), null, "Unreadable");
+
+        importer.run(unreadableRows, (event, flush) -> {
+            throw new IOException("Broken pipe");
+        });
+
+        assertEquals(2, rowsRead.get());
+        verify(employeeService, never()).submitEmployees(anyList(), any());
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.unit.bulkimport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.bulkimport.ImportRow;
+import com.reliaquest.api.bulkimport.NdjsonRowReader;
+import com.reliaquest.api.dto.EmployeeRequest;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NDJSON Row Reader Tests")
+class NdjsonRowReaderTest {
+
+    private static NdjsonRowReader reader(String upload) {
+        return new NdjsonRowReader(new StringReader(upload), new ObjectMapper().readerFor(EmployeeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should read one request per line and skip blank lines")
+    void next_ValidLines_ReadsRequests() throws IOException {
+
+        NdjsonRowReader reader = reader("{\"name\":\"Alice\",\"salary\":100000,\"age\":30,\"title\":\"Engineer\"}\r\n"
+                + "\n"
+                + "{\"name\":\"Bob\",\"salary\":90000,\"age\":40,\"title\":\"Manager\"}");
+
+        ImportRow alice = reader.next();
+        ImportRow bob = reader.next();
+
+        assertEquals(1, alice.line());
+        assertEquals(new EmployeeRequest("Alice", 100000, 30, "Engineer"), alice.request());
+        assertEquals(3, bob.line());
+        assertEquals("Bob", bob.request().getName());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should report a malformed line and carry on with the next")
+    void next_MalformedLine_ReportedAlone() throws IOException {
+
+        NdjsonRowReader reader =
+                reader("{\"name\":\n{\"name\":\"Bob\",\"salary\":90000,\"age\":40,\"title\":\"Manager\"}\n");
+
+        ImportRow malformed = reader.next();
+
+        assertEquals(1, malformed.line());
+        assertTrue(malformed.error().startsWith("Malformed JSON: "));
+        assertEquals("Bob", reader.next().request().getName());
+    }
+}
@@ -0,0 +1,222 @@
+package com.reliaquest.api.unit.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterReplica;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.cluster.PeerRosterSync;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Materialized Roster Tests")
+class MaterializedRosterTest {
+
+    private static final URI ROSTER_URI = URI.create("http://test-domain.com/api/v1/employee");
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private RosterReplica rosterReplica;
+
+    @Mock
+    private PeerRosterSync peerRosterSync;
+
+    private EmployeeCache employeeCache;
+    private MaterializedRoster materializedRoster;
+    private Employee alice;
+    private Employee bob;
+    private Employee carol;
+
+    @BeforeEach
+    void setUp() {
+        employeeCache = new EmployeeCache(100, Duration.ofSeconds(60), Duration.ofSeconds(5));
+        materializedRoster = new MaterializedRoster(
+                restTemplate,
+                new UpstreamGuard(
+                        3,
+                        Duration.ofSeconds(30),
+                        1,
+                        10,
+                        Duration.ZERO,
+                        new UpstreamScheduler(0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO)),
+                rosterReplica,
+                peerRosterSync,
+                employeeCache,
+                "http://test-domain.com",
+                "/api/v1/employee",
+                true,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(30));
+        alice = new Employee(UUID.randomUUID().toString(), "Alice Smith", 100000, 30, "Engineer", "alice@company.com");
+        bob = new Employee(UUID.randomUUID().toString(), "Bob Smith", 90000, 40, "Manager", "bob@company.com");
+        carol = new Employee(UUID.randomUUID().toString(), "Carol", 120000, 35, "Director", "carol@company.com");
+    }
+
+    @Test
+    @DisplayName("Should precompute highest salary, top earners and name search from the pulled roster")
+    void refresh_NoReplica_PublishesViewFromRosterPull() {
+
+        stubRoster(List.of(alice, bob));
+
+        materializedRoster.refresh();
+        materializedRoster.refresh();
+
+        RosterView view = materializedRoster.view().orElseThrow();
+        assertEquals(100000, view.highestSalary());
+        assertEquals(List.of("Alice Smith", "Bob Smith"), view.topEarnerNames());
+        assertEquals(List.of(alice, bob), view.searchByName("SMITH"));
+        verify(restTemplate, times(1))
+                .exchange(eq(ROSTER_URI), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the view only when the replica has moved on")
+    void refresh_Replica_RebuildsOnChange() {
+
+        List<Employee> first = List.of(alice);
+        when(rosterReplica.employees()).thenReturn(Optional.of(first));
+        materializedRoster.refresh();
+        RosterView firstView = materializedRoster.view().orElseThrow();
+        materializedRoster.refresh();
+        assertSame(firstView, materializedRoster.view().orElseThrow());
+
+        when(rosterReplica.employees()).thenReturn(Optional.of(List.of(alice, carol)));
+        materializedRoster.refresh();
+
+        assertEquals(120000, materializedRoster.view().orElseThrow().highestSalary());
+        assertSame(carol, employeeCache.lookup(UUID.fromString(carol.getId())).orElseThrow().employee());
+    }
+
+    @Test
+    @DisplayName("Should build the view from the cluster leader's roster and never pull upstream on a follower")
+    void refresh_Follower_BuildsFromLeaderRoster() {
+
+        when(peerRosterSync.isFollower()).thenReturn(true);
+        materializedRoster.refresh();
+        assertFalse(materializedRoster.view().isPresent());
+
+        when(peerRosterSync.employees()).thenReturn(Optional.of(List.of(alice, carol)));
+        materializedRoster.refresh();
+
+        assertEquals(List.of(alice, carol), materializedRoster.view().orElseThrow().employees());
+        verifyNoInteractions(restTemplate);
+        verify(rosterReplica, never()).employees();
+    }
+
+    @Test
+    @DisplayName("Should apply local creates and deletes to the published view")
+    void applyCreatedAndDeleted_UpdatesView() {
+
+        stubRoster(List.of(alice, bob));
+        materializedRoster.refresh();
+
+        materializedRoster.applyCreated(carol);
+        materializedRoster.applyDeleted(UUID.fromString(alice.getId()));
+
+        RosterView view = materializedRoster.view().orElseThrow();
+        assertEquals(List.of(bob, carol), view.employees());
+        assertEquals(List.of("Carol", "Bob Smith"), view.topEarnerNames());
+    }
+
+    @Test
+    @DisplayName("Should apply a batch of creates to the view, replacing employees with the same id")
+    void applyCreated_Batch_PublishesOneView() {
+
+        stubRoster(List.of(alice, bob));
+        materializedRoster.refresh();
+        RosterView before = materializedRoster.view().orElseThrow();
+        Employee renamedBob = new Employee(bob.getId(), "Robert Smith", 90000, 40, "Manager", "bob@company.com");
+
+        materializedRoster.applyCreated(List.of(carol, renamedBob));
+
+        RosterView view = materializedRoster.view().orElseThrow();
+        assertNotSame(before, view);
+        assertEquals(List.of(alice, carol, renamedBob), view.employees());
+    }
+
+    @Test
+    @DisplayName("Should replay creates and deletes made during a roster pull over its result")
+    void refresh_WritesDuringPull_ReplayedOverPulledRoster() {
+
+        when(restTemplate.exchange(eq(ROSTER_URI), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    materializedRoster.applyDeleted(UUID.fromString(alice.getId()));
+                    materializedRoster.applyCreated(carol);
+                    return ResponseEntity.ok(new ApiResponse<>(List.of(alice, bob), "success"));
+                });
+
+        materializedRoster.refresh();
+
+        assertEquals(List.of(bob, carol), materializedRoster.view().orElseThrow().employees());
+        assertFalse(employeeCache.lookup(UUID.fromString(alice.getId())).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should build the name index on refresh and keep serving it until the next one is built")
+    void refresh_NewView_NameIndexRebuiltOffRequestPath() {
+
+        stubRoster(List.of(alice, bob));
+        assertFalse(materializedRoster.nameIndex().isPresent());
+        materializedRoster.refresh();
+        NameIndex first = materializedRoster.nameIndex().orElseThrow();
+        assertEquals(List.of(alice), first.autocomplete("ali", 10));
+
+        materializedRoster.applyCreated(carol);
+        assertSame(first, materializedRoster.nameIndex().orElseThrow());
+
+        materializedRoster.refresh();
+        assertEquals(List.of(carol), materializedRoster.nameIndex().orElseThrow().autocomplete("car", 10));
+    }
+
+    @Test
+    @DisplayName("Should publish nothing while the upstream is throttling")
+    void refresh_Throttled_PublishesNothing() {
+
+        when(restTemplate.exchange(eq(ROSTER_URI), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        materializedRoster.refresh();
+
+        assertFalse(materializedRoster.view().isPresent());
+    }
+
+    private void stubRoster(List<Employee> employees) {
+        when(restTemplate.exchange(eq(ROSTER_URI), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(employees, "success")));
+    }
+}
@@ -0,0 +1,153 @@
+package com.reliaquest.api.unit.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.RosterReplica;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.ChangeFeed;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.LoadBalancingInterceptor;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Roster Replica Tests")
+class RosterReplicaTest {
+
+    private static final URI ROSTER_URI = URI.create("http://test-domain.com/api/v1/employee");
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private RosterReplica rosterReplica;
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        rosterReplica = new RosterReplica(
+                restTemplate,
+                new UpstreamGuard(
+                        3,
+                        Duration.ofSeconds(30),
+                        1,
+                        10,
+                        Duration.ZERO,
+                        new UpstreamScheduler(0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO)),
+                new ClusterMembership(false, "http://localhost:8111", Duration.ofSeconds(5), Clock.systemUTC()),
+                "http://test-domain.com",
+                "/api/v1/employee",
+                true,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(30));
+        alice = new Employee(UUID.randomUUID().toString(), "Alice", 100000, 30, "Engineer", "alice@company.com");
+        bob = new Employee(UUID.randomUUID().toString(), "Bob", 90000, 40, "Manager", "bob@company.com");
+    }
+
+    @Test
+    @DisplayName("Should load the roster and then apply change events in order")
+    void sync_LoadsRosterThenAppliesChanges() {
+
+        ApiResponse<List<Employee>> roster = new ApiResponse<>(List.of(alice), "success");
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Roster-Version", "7");
+        headers.add("X-Roster-Epoch", "epoch-1");
+        when(restTemplate.exchange(eq(ROSTER_URI), eq(HttpMethod.GET), pinned(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(roster, headers, HttpStatus.OK));
+
+        rosterReplica.sync();
+
+        assertTrue(rosterReplica.isSynced());
+        assertEquals(List.of(alice), rosterReplica.employees().orElseThrow());
+
+        ChangeFeed feed = new ChangeFeed(
+                "epoch-1",
+                9,
+                false,
+                List.of(
+                        new ChangeEvent(8, ChangeEvent.Type.CREATED, bob),
+                        new ChangeEvent(9, ChangeEvent.Type.DELETED, alice)));
+        when(restTemplate.exchange(
+                        argThat((URI uri) -> uri.getPath().endsWith("/changes")
+                                && uri.getQuery().contains("since=7")),
+                        eq(HttpMethod.GET),
+                        pinned(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(feed, "success")));
+
+        rosterReplica.sync();
+
+        assertEquals(List.of(bob), rosterReplica.employees().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should disable itself when the upstream does not report roster versions")
+    void sync_UpstreamWithoutVersionHeaders_StaysUnsynced() {
+
+        when(restTemplate.exchange(eq(ROSTER_URI), eq(HttpMethod.GET), pinned(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new ApiResponse<>(List.of(alice), "success")));
+
+        rosterReplica.sync();
+        rosterReplica.sync();
+
+        assertFalse(rosterReplica.isSynced());
+        assertTrue(rosterReplica.employees().isEmpty());
+        verify(restTemplate, times(1))
+                .exchange(any(URI.class), eq(HttpMethod.GET), pinned(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("Should disable itself when the upstream reports an unreadable roster version")
+    void sync_MalformedVersionHeader_StaysUnsynced() {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Roster-Version", "seven");
+        headers.add("X-Roster-Epoch", "epoch-1");
+        when(restTemplate.exchange(eq(ROSTER_URI), eq(HttpMethod.GET), pinned(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse<>(List.of(alice), "success"), headers, HttpStatus.OK));
+
+        rosterReplica.sync();
+        rosterReplica.sync();
+
+        assertFalse(rosterReplica.isSynced());
+        assertTrue(rosterReplica.employees().isEmpty());
+        verify(restTemplate, times(1))
+                .exchange(any(URI.class), eq(HttpMethod.GET), pinned(), any(ParameterizedTypeReference.class));
+    }
+
+    /*
+     * Replica calls are pinned to one upstream instance, whose change-feed position the replica tracks.
+     */
+    private static HttpEntity<Void> pinned() {
+        return argThat(entity -> entity != null
+                && "roster-replica".equals(entity.getHeaders().getFirst(LoadBalancingInterceptor.AFFINITY_HEADER)));
+    }
+}
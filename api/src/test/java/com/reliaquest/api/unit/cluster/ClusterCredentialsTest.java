@@ -0,0 +1,54 @@
+package com.reliaquest.api.unit.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cluster.ClusterCredentials;
+import com.reliaquest.api.cluster.ClusterMember;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+@DisplayName("Cluster Credentials Tests")
+class ClusterCredentialsTest {
+
+    private static final ClusterMember MEMBER = new ClusterMember("member-1", "http://localhost:8121", 1_000L);
+
+    private final ClusterCredentials credentials = new ClusterCredentials("s3cret");
+
+    @Test
+    @DisplayName("Should accept only the configured secret")
+    void matches_PresentedSecret_OnlyExactMatch() {
+
+        assertTrue(credentials.matches("s3cret"));
+        assertFalse(credentials.matches("s3cre"));
+        assertFalse(credentials.matches(null));
+        assertFalse(new ClusterCredentials("").matches(""));
+    }
+
+    @Test
+    @DisplayName("Should add the secret and member id to outgoing calls")
+    void authenticate_Headers_SecretAndMemberSet() {
+
+        HttpHeaders headers = new HttpHeaders();
+
+        credentials.authenticate(headers, MEMBER);
+
+        assertEquals("s3cret", headers.getFirst(ClusterCredentials.SECRET_HEADER));
+        assertEquals("member-1", headers.getFirst(ClusterCredentials.MEMBER_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should verify a signed announcement and reject a forged or altered one")
+    void verify_Announcement_OnlyGenuineSignatureAccepted() {
+
+        String signature = credentials.sign(MEMBER);
+        ClusterMember claimsSeniority = new ClusterMember("member-1", "http://localhost:8121", 0L);
+
+        assertTrue(credentials.verify(MEMBER, signature));
+        assertFalse(credentials.verify(claimsSeniority, signature));
+        assertFalse(new ClusterCredentials("other").verify(MEMBER, signature));
+        assertFalse(credentials.verify(MEMBER, null));
+    }
+}
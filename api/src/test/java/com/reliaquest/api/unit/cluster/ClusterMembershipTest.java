@@ -0,0 +1,88 @@
+package com.reliaquest.api.unit.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cluster.ClusterMember;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.unit.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Cluster Membership Tests")
+class ClusterMembershipTest {
+
+    private static final Instant STARTED = Instant.parse("2024-01-01T00:00:00Z");
+
+    private MutableClock clock;
+    private ClusterMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(STARTED);
+        membership = new ClusterMembership(true, "http://localhost:8111", Duration.ofSeconds(5), clock);
+    }
+
+    @Test
+    @DisplayName("Should lead while no peer has been heard")
+    void isLeader_NoPeers_True() {
+
+        assertTrue(membership.isLeader());
+        assertEquals(membership.self(), membership.leader());
+    }
+
+    @Test
+    @DisplayName("Should follow a peer that started earlier and lead over one that started later")
+    void leader_PeersHeard_LongestRunningLeads() {
+
+        ClusterMember younger = member("younger", STARTED.plusSeconds(10));
+        membership.heard(younger);
+        assertTrue(membership.isLeader());
+
+        ClusterMember older = member("older", STARTED.minusSeconds(10));
+        membership.heard(older);
+
+        assertTrue(membership.isFollower());
+        assertEquals(older, membership.leader());
+    }
+
+    @Test
+    @DisplayName("Should drop a peer not heard within the TTL and take over its leadership")
+    void peers_SilentPastTtl_Dropped() {
+
+        ClusterMember older = member("older", STARTED.minusSeconds(10));
+        membership.heard(older);
+        clock.advance(Duration.ofSeconds(4));
+        assertEquals(List.of(older), membership.peers());
+
+        clock.advance(Duration.ofSeconds(2));
+
+        assertEquals(List.of(), membership.peers());
+        assertTrue(membership.isLeader());
+    }
+
+    @Test
+    @DisplayName("Should ignore its own announcements and every peer while the cluster is disabled")
+    void heard_SelfOrDisabled_Ignored() {
+
+        membership.heard(membership.self());
+        assertEquals(List.of(), membership.peers());
+
+        ClusterMembership disabled =
+                new ClusterMembership(false, "http://localhost:8111", Duration.ofSeconds(5), clock);
+        disabled.heard(member("older", STARTED.minusSeconds(10)));
+
+        assertEquals(List.of(), disabled.peers());
+        assertTrue(disabled.isLeader());
+        assertFalse(disabled.isFollower());
+    }
+
+    private static ClusterMember member(String id, Instant startedAt) {
+        return new ClusterMember(id, "http://" + id + ":8111", startedAt.toEpochMilli());
+    }
+}
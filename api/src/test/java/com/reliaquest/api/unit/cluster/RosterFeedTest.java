@@ -0,0 +1,130 @@
+package com.reliaquest.api.unit.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.cluster.ClusterMember;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.cluster.RosterFeed;
+import com.reliaquest.api.dto.ChangeEvent;
+import com.reliaquest.api.dto.ChangeFeed;
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Roster Feed Tests")
+class RosterFeedTest {
+
+    @Mock
+    private MaterializedRoster materializedRoster;
+
+    private ClusterMembership membership;
+    private RosterFeed rosterFeed;
+    private Employee alice;
+    private Employee bob;
+    private Employee carol;
+
+    @BeforeEach
+    void setUp() {
+        membership = new ClusterMembership(true, "http://localhost:8111", Duration.ofSeconds(30), Clock.systemUTC());
+        rosterFeed = new RosterFeed(materializedRoster, membership, 2);
+        alice = new Employee(UUID.randomUUID().toString(), "Alice", 100000, 30, "Engineer", "alice@company.com");
+        bob = new Employee(UUID.randomUUID().toString(), "Bob", 90000, 40, "Manager", "bob@company.com");
+        carol = new Employee(UUID.randomUUID().toString(), "Carol", 120000, 35, "Director", "carol@company.com");
+    }
+
+    @Test
+    @DisplayName("Should publish nothing while no peer is following")
+    void capture_NoPeers_PublishesNothing() {
+
+        rosterFeed.capture();
+
+        assertFalse(rosterFeed.snapshot().isPresent());
+        assertFalse(rosterFeed.changesSince("any", 0).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should publish the creates and deletes between captured views in sequence")
+    void changesSince_AfterCapture_ReturnsDiffInSequence() {
+
+        joinYoungerPeer();
+        publish(List.of(alice, bob));
+        rosterFeed.capture();
+        RosterFeed.Snapshot first = rosterFeed.snapshot().orElseThrow();
+        assertEquals(0, first.sequence());
+
+        publish(List.of(bob, carol));
+        rosterFeed.capture();
+
+        ChangeFeed feed = rosterFeed.changesSince(first.epoch(), 0).orElseThrow();
+        assertFalse(feed.isResyncRequired());
+        assertEquals(2, feed.getLatestSequence());
+        assertEquals(List.of(ChangeEvent.Type.DELETED, ChangeEvent.Type.CREATED), types(feed));
+        assertEquals(List.of(alice, carol), employees(feed));
+        assertEquals(List.of(1L, 2L), sequences(feed));
+        assertEquals(List.of(), rosterFeed.changesSince(first.epoch(), 2).orElseThrow().getEvents());
+    }
+
+    @Test
+    @DisplayName("Should ask for a resync on an unknown epoch or when the changes since are no longer retained")
+    void changesSince_EpochEndedOrTrimmed_RequiresResync() {
+
+        joinYoungerPeer();
+        publish(List.of(alice));
+        rosterFeed.capture();
+        String epoch = rosterFeed.snapshot().orElseThrow().epoch();
+
+        publish(List.of(alice, bob));
+        rosterFeed.capture();
+        publish(List.of(alice, bob, carol));
+        rosterFeed.capture();
+        publish(List.of(bob, carol));
+        rosterFeed.capture();
+
+        assertTrue(rosterFeed.changesSince("other-epoch", 0).orElseThrow().isResyncRequired());
+        assertTrue(rosterFeed.changesSince(epoch, 0).orElseThrow().isResyncRequired());
+        assertFalse(rosterFeed.changesSince(epoch, 1).orElseThrow().isResyncRequired());
+
+        publish(List.of(alice));
+        rosterFeed.capture();
+
+        assertNotEquals(epoch, rosterFeed.snapshot().orElseThrow().epoch());
+        assertEquals(List.of(alice), rosterFeed.snapshot().orElseThrow().employees());
+    }
+
+    private void joinYoungerPeer() {
+        membership.heard(new ClusterMember("peer", "http://peer:8111", membership.self().startedAt() + 1));
+    }
+
+    private void publish(List<Employee> employees) {
+        when(materializedRoster.view()).thenReturn(Optional.of(RosterView.of(employees, Instant.now())));
+    }
+
+    private static List<ChangeEvent.Type> types(ChangeFeed feed) {
+        return feed.getEvents().stream().map(ChangeEvent::getType).toList();
+    }
+
+    private static List<Employee> employees(ChangeFeed feed) {
+        return feed.getEvents().stream().map(ChangeEvent::getEmployee).toList();
+    }
+
+    private static List<Long> sequences(ChangeFeed feed) {
+        return feed.getEvents().stream().map(ChangeEvent::getSequence).toList();
+    }
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.api.unit.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cache.BackgroundRefresher;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.LastKnownGoodCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterReplica;
+import com.reliaquest.api.cluster.ClusterBroadcaster;
+import com.reliaquest.api.cluster.ClusterMembership;
+import com.reliaquest.api.config.RestTemplateConfig;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.upstream.RequestHedger;
+import com.reliaquest.api.upstream.UpstreamEndpoints;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamMessageConverter;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rest Template Config Tests")
+class RestTemplateConfigTest {
+
+    @Mock
+    private RosterReplica rosterReplica;
+
+    @Mock
+    private MaterializedRoster materializedRoster;
+
+    @Mock
+    private ClusterBroadcaster clusterBroadcaster;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private HttpServer upstream;
+    private String domain;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", "0");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        upstream.start();
+        domain = "http://localhost:" + upstream.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        upstream.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should pass a 429 to the service after one upstream hit instead of resending the request")
+    void upstreamHttpClient_Throttled_NoAutomaticRetry() {
+
+        EmployeeService employeeService = employeeService(jsonRestTemplate(endpoints()));
+
+        assertThrows(TooManyRequestsException.class, employeeService::getAllEmployees);
+        assertEquals(1, hits.get());
+
+        assertThrows(
+                TooManyRequestsException.class,
+                () -> employeeService.submitEmployee(new EmployeeRequest("John Doe", 50000, 25, "Developer")));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    @DisplayName("Should put the upstream converters in place of the stock Jackson converters in smile mode")
+    void restTemplate_Smile_ReplacesStockJacksonConverters() {
+
+        UpstreamEndpoints endpoints = endpoints();
+        httpClient = config.upstreamHttpClient(endpoints, true, 2);
+
+        RestTemplate restTemplate = config.restTemplate(
+                new RestTemplateBuilder(), httpClient, endpoints, new Jackson2ObjectMapperBuilder(), "smile");
+
+        List<HttpMessageConverter<?>> jacksonConverters = restTemplate.getMessageConverters().stream()
+                .filter(converter -> converter instanceof AbstractJackson2HttpMessageConverter)
+                .toList();
+        assertEquals(2, jacksonConverters.size());
+        assertTrue(jacksonConverters.stream().allMatch(converter -> converter instanceof UpstreamMessageConverter));
+        assertTrue(jacksonConverters.stream()
+                .map(HttpMessageConverter::getSupportedMediaTypes)
+                .anyMatch(mediaTypes -> mediaTypes.contains(RestTemplateConfig.APPLICATION_SMILE)));
+    }
+
+    private UpstreamEndpoints endpoints() {
+        return new UpstreamEndpoints(
+                URI.create(domain), List.of(), 3, Duration.ofSeconds(30), Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    private RestTemplate jsonRestTemplate(UpstreamEndpoints endpoints) {
+        httpClient = config.upstreamHttpClient(endpoints, true, 2);
+        return config.restTemplate(
+                new RestTemplateBuilder(), httpClient, endpoints, new Jackson2ObjectMapperBuilder(), "json");
+    }
+
+    private EmployeeService employeeService(RestTemplate restTemplate) {
+        UpstreamGuard upstreamGuard = new UpstreamGuard(
+                3,
+                Duration.ofSeconds(30),
+                1,
+                10,
+                Duration.ZERO,
+                new UpstreamScheduler(0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO));
+        EmployeeService employeeService = new EmployeeService(
+                restTemplate,
+                rosterReplica,
+                materializedRoster,
+                upstreamGuard,
+                new RequestHedger(
+                        endpoints(),
+                        upstreamGuard,
+                        false,
+                        0.95,
+                        Duration.ofMillis(10),
+                        Duration.ofSeconds(1),
+                        5,
+                        1),
+                new LastKnownGoodCache(100, Duration.ofSeconds(30)),
+                new EmployeeCache(100, Duration.ofSeconds(60), Duration.ofSeconds(5)),
+                new BackgroundRefresher(),
+                clusterBroadcaster,
+                clusterMembership);
+        ReflectionTestUtils.setField(employeeService, "domain", domain);
+        ReflectionTestUtils.setField(employeeService, "basePath", "/api/v1/employee");
+        return employeeService;
+    }
+}
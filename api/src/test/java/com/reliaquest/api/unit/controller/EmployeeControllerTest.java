@@ -1,13 +1,17 @@
 package com.reliaquest.api.unit.controller;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -15,8 +19,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.EmployeeController;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.exception.RequestValidationException;
+import com.reliaquest.api.export.ColumnarRosterReader;
+import com.reliaquest.api.lookup.EmployeeBatchLookup;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.impl.EmployeeService;
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -38,6 +46,9 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeBatchLookup employeeLookup;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -92,6 +103,50 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$[1].employee_name", is("Jane Smith")));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/employee/export - Should stream the roster as a columnar file")
+    void exportEmployees_WhenEmployeesExist_ShouldStreamColumnarFile() throws Exception {
+
+        when(employeeService.getAllEmployees()).thenReturn(employeeList);
+
+        byte[] export = mockMvc.perform(get("/api/v1/employee/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("employees.columnar.gz")))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (ColumnarRosterReader reader = new ColumnarRosterReader(new ByteArrayInputStream(export))) {
+            assertEquals(employeeList, reader.nextRowGroup());
+            assertNull(reader.nextRowGroup());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee/autocomplete/{prefix} - Should default the limit to 10")
+    void autocompleteEmployeeNames_NoLimit_UsesDefault() throws Exception {
+
+        when(employeeService.autocompleteByName("jo", 10)).thenReturn(List.of(employee1));
+
+        mockMvc.perform(get("/api/v1/employee/autocomplete/{prefix}", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].employee_name", is("John Doe")));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee/fuzzySearch/{query} - Should pass the requested limit")
+    void fuzzySearchEmployeesByName_WithLimit_PassesLimit() throws Exception {
+
+        when(employeeService.fuzzySearchByName("jane smtih", 1)).thenReturn(List.of(employee2));
+
+        mockMvc.perform(get("/api/v1/employee/fuzzySearch/{query}", "jane smtih").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].employee_name", is("Jane Smith")));
+    }
+
     @Test
     @DisplayName("POST /api/v1/employee - Should create employee with valid request")
     void createEmployee_WhenValidRequest_ShouldCreateEmployee() throws Exception {
@@ -0,0 +1,42 @@
+package com.reliaquest.api.unit.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reliaquest.api.dto.ErrorResponse;
+import com.reliaquest.api.exception.ErrorBodyTemplate;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+@DisplayName("Error Body Template Tests")
+class ErrorBodyTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Should render the same JSON Jackson writes for the equivalent ErrorResponse")
+    void render_MatchesJacksonOutput() throws Exception {
+
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000_000);
+        String path = "/api/v1/employee/search/\"quoted\"";
+        ErrorBodyTemplate template = new ErrorBodyTemplate(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", "Please try again after sometime");
+
+        String expected = objectMapper.writeValueAsString(ErrorResponse.builder()
+                .timestamp(timestamp)
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Please try again after sometime")
+                .path(path)
+                .build());
+
+        assertEquals(expected, new String(template.render(timestamp, path), StandardCharsets.UTF_8));
+    }
+}
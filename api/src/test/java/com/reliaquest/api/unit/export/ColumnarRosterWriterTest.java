@@ -0,0 +1,137 @@
+package com.reliaquest.api.unit.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.export.ColumnarRosterReader;
+import com.reliaquest.api.export.ColumnarRosterWriter;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Columnar Roster Writer Tests")
+class ColumnarRosterWriterTest {
+
+    private static final String[] TITLES = {"Engineer", "Manager", "Analyst"};
+
+    private static Employee employee(int index) {
+        return Employee.builder()
+                .id(UUID.randomUUID().toString())
+                .employeeName("Employee " + index)
+                .employeeSalary(50000 + (index * 7919) % 90000)
+                .employeeAge(20 + index % 45)
+                .employeeTitle(TITLES[index % TITLES.length])
+                .employeeEmail("employee" + index + "@company.com")
+                .build();
+    }
+
+    private static byte[] export(List<Employee> employees, int rowGroupSize) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ColumnarRosterWriter writer = new ColumnarRosterWriter(buffer, rowGroupSize)) {
+            writer.write(employees);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static List<List<Employee>> rowGroups(byte[] export) throws IOException {
+        List<List<Employee>> rowGroups = new ArrayList<>();
+        try (ColumnarRosterReader reader = new ColumnarRosterReader(new ByteArrayInputStream(export))) {
+            for (List<Employee> rowGroup = reader.nextRowGroup(); rowGroup != null; rowGroup = reader.nextRowGroup()) {
+                rowGroups.add(rowGroup);
+            }
+            assertNull(reader.nextRowGroup());
+        }
+        return rowGroups;
+    }
+
+    @Test
+    @DisplayName("Should read back every employee in order across row groups")
+    void write_ManyRowGroups_RoundTrips() throws IOException {
+
+        List<Employee> employees = IntStream.range(0, 250).mapToObj(ColumnarRosterWriterTest::employee).toList();
+
+        List<List<Employee>> rowGroups = rowGroups(export(employees, 100));
+
+        assertEquals(List.of(100, 100, 50), rowGroups.stream().map(List::size).toList());
+        assertEquals(employees, rowGroups.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep nulls, extreme salaries, non-UUID ids and non-ASCII text")
+    void write_UnusualValues_RoundTrips() throws IOException {
+
+        List<Employee> employees = List.of(
+                new Employee("1", null, null, null, null, null),
+                new Employee(
+                        "550E8400-E29B-41D4-A716-446655440000",
+                        "Zo\u00eb \uD83D\uDE00",
+                        Integer.MAX_VALUE,
+                        16,
+                        "",
+                        ""),
+                new Employee(
+                        UUID.randomUUID().toString(),
+                        "Ana",
+                        Integer.MIN_VALUE,
+                        70,
+                        "Ing\u00e9nieur",
+                        "ana@company.com"));
+
+        assertEquals(List.of(employees), rowGroups(export(employees, 100)));
+    }
+
+    @Test
+    @DisplayName("Should write an empty roster as a file without row groups")
+    void write_NoEmployees_NoRowGroups() throws IOException {
+
+        assertEquals(List.of(), rowGroups(export(List.of(), 100)));
+    }
+
+    @Test
+    @DisplayName("Should come out smaller than the same roster as gzipped JSON")
+    void write_Roster_SmallerThanGzippedJson() throws IOException {
+
+        List<Employee> employees = IntStream.range(0, 5000).mapToObj(ColumnarRosterWriterTest::employee).toList();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(json)) {
+            new ObjectMapper().writeValue(gzip, employees);
+        }
+
+        assertTrue(export(employees, ColumnarRosterWriter.DEFAULT_ROW_GROUP_SIZE).length < json.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated export")
+    void read_TruncatedExport_ThrowsIOException() throws IOException {
+
+        byte[] export = export(IntStream.range(0, 1000).mapToObj(ColumnarRosterWriterTest::employee).toList(), 100);
+
+        assertThrows(IOException.class, () -> rowGroups(Arrays.copyOf(export, export.length / 2)));
+    }
+
+    @Test
+    @DisplayName("Should reject a gzip file that is not an export")
+    void read_OtherGzipFile_ThrowsIOException() throws IOException {
+
+        ByteArrayOutputStream other = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(other)) {
+            gzip.write("[{\"id\":\"1\"}]".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThrows(IOException.class, () -> new ColumnarRosterReader(new ByteArrayInputStream(other.toByteArray())));
+    }
+}
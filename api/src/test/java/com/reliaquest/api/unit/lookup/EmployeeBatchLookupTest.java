@@ -0,0 +1,207 @@
+package com.reliaquest.api.unit.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.cache.StaleResponses;
+import com.reliaquest.api.dto.EmployeeLookupResult;
+import com.reliaquest.api.dto.EmployeeLookupResult.Status;
+import com.reliaquest.api.exception.EntityNotFoundException;
+import com.reliaquest.api.exception.RequestValidationException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.lookup.EmployeeBatchLookup;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Employee Batch Lookup Tests")
+class EmployeeBatchLookupTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private MaterializedRoster materializedRoster;
+
+    private EmployeeCache employeeCache;
+    private EmployeeBatchLookup employeeLookup;
+
+    @BeforeEach
+    void setUp() {
+        employeeCache = new EmployeeCache(100, Duration.ofSeconds(60), Duration.ofSeconds(5));
+        employeeLookup = new EmployeeBatchLookup(
+                employeeService,
+                employeeCache,
+                materializedRoster,
+                4,
+                10,
+                5,
+                3,
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(10));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeLookup.destroy();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should serve cached ids without calling the external service and fetch the rest")
+    void lookup_MixedCachedAndMissing_ReturnsStatusPerId() {
+
+        Employee cached = employee();
+        Employee fetched = employee();
+        String missingId = UUID.randomUUID().toString();
+        String throttledId = UUID.randomUUID().toString();
+        employeeCache.put(cached);
+        when(materializedRoster.view()).thenReturn(Optional.empty());
+        when(employeeService.resolveEmployeeById(fetched.getId())).thenReturn(fetched);
+        when(employeeService.resolveEmployeeById(missingId))
+                .thenThrow(new EntityNotFoundException("Employee not found with id: " + missingId));
+        when(employeeService.resolveEmployeeById(throttledId))
+                .thenThrow(new TooManyRequestsException("Too many requests, retrying..."));
+
+        List<EmployeeLookupResult> results = employeeLookup.lookup(
+                List.of(cached.getId(), fetched.getId(), "not-a-uuid", missingId, throttledId, cached.getId()), null);
+
+        assertEquals(5, results.size());
+        assertEquals(Status.FOUND, results.get(0).getStatus());
+        assertSame(cached, results.get(0).getEmployee());
+        assertEquals(Status.FOUND, results.get(1).getStatus());
+        assertSame(fetched, results.get(1).getEmployee());
+        assertEquals(Status.INVALID_ID, results.get(2).getStatus());
+        assertEquals(Status.NOT_FOUND, results.get(3).getStatus());
+        assertEquals(Status.THROTTLED, results.get(4).getStatus());
+        verify(employeeService, never()).resolveEmployeeById(cached.getId());
+        verify(employeeService, times(3)).resolveEmployeeById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return partial results and cancel fetches still running at the deadline")
+    void lookup_SlowFetch_TimesOutAndCancels() throws InterruptedException {
+
+        Employee fast = employee();
+        String slowId = UUID.randomUUID().toString();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(materializedRoster.view()).thenReturn(Optional.empty());
+        when(employeeService.resolveEmployeeById(fast.getId())).thenReturn(fast);
+        when(employeeService.resolveEmployeeById(slowId)).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        List<EmployeeLookupResult> results =
+                employeeLookup.lookup(List.of(fast.getId(), slowId), Duration.ofMillis(100));
+
+        assertEquals(Status.FOUND, results.get(0).getStatus());
+        assertEquals(Status.TIMED_OUT, results.get(1).getStatus());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should answer ids held by the roster view without calling the external service")
+    void lookup_IdsInRosterView_ServedFromView() {
+
+        Employee inView = employee();
+        Employee created = employee();
+        when(materializedRoster.view()).thenReturn(Optional.of(RosterView.of(List.of(inView), Instant.now())));
+        when(employeeService.resolveEmployeeById(created.getId())).thenReturn(created);
+
+        List<EmployeeLookupResult> results = employeeLookup.lookup(List.of(inView.getId(), created.getId()), null);
+
+        assertEquals(Status.FOUND, results.get(0).getStatus());
+        assertSame(inView, results.get(0).getEmployee());
+        assertEquals(Status.FOUND, results.get(1).getStatus());
+        verify(employeeService, never()).resolveEmployeeById(inView.getId());
+    }
+
+    @Test
+    @DisplayName("Should read the roster once instead of fetching more ids than the fetch limit one by one")
+    void lookup_MoreMissesThanMaxFetches_ReadsRosterOnce() {
+
+        List<Employee> roster = List.of(employee(), employee(), employee());
+        String missingId = UUID.randomUUID().toString();
+        when(materializedRoster.view()).thenReturn(Optional.empty());
+        when(employeeService.getAllEmployees()).thenReturn(roster);
+
+        List<EmployeeLookupResult> results = employeeLookup.lookup(
+                List.of(roster.get(0).getId(), roster.get(1).getId(), roster.get(2).getId(), missingId), null);
+
+        assertEquals(Status.FOUND, results.get(0).getStatus());
+        assertSame(roster.get(1), results.get(1).getEmployee());
+        assertEquals(Status.FOUND, results.get(2).getStatus());
+        assertEquals(Status.NOT_FOUND, results.get(3).getStatus());
+        verify(employeeService, times(1)).getAllEmployees();
+        verify(employeeService, never()).resolveEmployeeById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return the age of a stale employee and mark the response stale from the request thread")
+    void lookup_StaleFetch_ReturnsAgeAndMarksResponse() {
+
+        Employee stale = employee();
+        when(materializedRoster.view()).thenReturn(Optional.empty());
+        when(employeeService.resolveEmployeeById(stale.getId())).thenAnswer(invocation -> {
+            StaleResponses.markServedStale(Duration.ofSeconds(42));
+            return stale;
+        });
+
+        List<EmployeeLookupResult> results = employeeLookup.lookup(List.of(stale.getId()), null);
+
+        assertEquals(Status.FOUND, results.get(0).getStatus());
+        assertEquals(42L, results.get(0).getAgeSeconds());
+        assertEquals(Optional.of(Duration.ofSeconds(42)), StaleResponses.currentAge());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized id lists")
+    void lookup_InvalidIdList_ThrowsValidationException() {
+
+        assertThrows(RequestValidationException.class, () -> employeeLookup.lookup(Collections.emptyList(), null));
+        assertThrows(
+                RequestValidationException.class,
+                () -> employeeLookup.lookup(Collections.nCopies(6, UUID.randomUUID().toString()), null));
+        assertThrows(
+                RequestValidationException.class,
+                () -> employeeLookup.lookup(List.of(UUID.randomUUID().toString()), Duration.ofMinutes(1)));
+    }
+
+    private static Employee employee() {
+        return new Employee(UUID.randomUUID().toString(), "Alice", 100000, 30, "Engineer", "alice@company.com");
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Employee Deserializer Tests")
+class EmployeeDeserializerTest {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> ROSTER_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    @DisplayName("Should read every field of the upstream format")
+    void deserialize_AllFields_Bound() throws Exception {
+
+        Employee employee = objectMapper.readValue(
+                """
+                {"id":"4a3a170b-22cd-4ac2-aad1-9bb5b77a5a8d","employee_name":"Jane Doe","employee_salary":50000,
+                 "employee_age":30,"employee_title":"Engineer","employee_email":"jane@company.com"}
+                """,
+                Employee.class);
+
+        assertEquals(
+                new Employee(
+                        "4a3a170b-22cd-4ac2-aad1-9bb5b77a5a8d",
+                        "Jane Doe",
+                        50000,
+                        30,
+                        "Engineer",
+                        "jane@company.com"),
+                employee);
+    }
+
+    @Test
+    @DisplayName("Should share one string per distinct title across a roster")
+    void deserialize_RepeatedTitles_Deduplicated() throws Exception {
+
+        ApiResponse<List<Employee>> roster = objectMapper.readValue(
+                """
+                {"data":[{"id":"1","employee_title":"Sales Manager"},{"id":"2","employee_title":"Sales Manager"}],
+                 "status":"Successfully processed request."}
+                """,
+                ROSTER_TYPE);
+
+        assertEquals("Sales Manager", roster.getData().get(0).getEmployeeTitle());
+        assertSame(
+                roster.getData().get(0).getEmployeeTitle(),
+                roster.getData().get(1).getEmployeeTitle());
+    }
+
+    @Test
+    @DisplayName("Should accept nulls, numeric strings and unknown fields like the bean deserializer")
+    void deserialize_LenientInput_MatchesBeanDeserializer() throws Exception {
+
+        Employee employee = objectMapper.readValue(
+                """
+                {"id":"1","employee_salary":null,"employee_age":"42","extra":{"nested":[1,2]},"employee_email":null}
+                """,
+                Employee.class);
+
+        assertEquals("1", employee.getId());
+        assertNull(employee.getEmployeeSalary());
+        assertEquals(42, employee.getEmployeeAge());
+        assertNull(employee.getEmployeeEmail());
+    }
+
+    @Test
+    @DisplayName("Should reject an object or array where a text field is expected")
+    void deserialize_StructuredTextField_Throws() {
+
+        assertThrows(
+                MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"id\":{\"x\":1},\"employee_name\":\"Jane Doe\"}", Employee.class));
+        assertThrows(
+                MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"id\":\"1\",\"employee_name\":[]}", Employee.class));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields when the mapper is strict")
+    void deserialize_UnknownFieldStrictMapper_Throws() {
+
+        assertThrows(
+                UnrecognizedPropertyException.class,
+                () -> new ObjectMapper().readValue("{\"id\":\"1\",\"extra\":true}", Employee.class));
+    }
+
+    @Test
+    @DisplayName("Should read Smile-encoded responses")
+    void deserialize_Smile_Bound() throws Exception {
+
+        SmileMapper smileMapper = new SmileMapper();
+        Employee original = new Employee("1", "Jane Doe", 50000, 30, "Engineer", "jane@company.com");
+
+        Employee employee = smileMapper.readValue(smileMapper.writeValueAsBytes(original), Employee.class);
+
+        assertEquals(original, employee);
+    }
+}
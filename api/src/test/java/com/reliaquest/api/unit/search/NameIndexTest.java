@@ -0,0 +1,85 @@
+package com.reliaquest.api.unit.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Name Index Tests")
+class NameIndexTest {
+
+    private final NameIndex index = NameIndex.of(List.of(
+            employee("Mary Johnson"),
+            employee("John Smith"),
+            employee("Jonathan Smithers"),
+            employee("Jon Smyth"),
+            employee("Joanna O'Neil"),
+            employee(null),
+            employee("  ")));
+
+    @Test
+    @DisplayName("Should rank whole-name prefix matches ahead of later-word matches")
+    void autocomplete_Prefix_WholeNamesFirst() {
+
+        assertEquals(
+                List.of("Joanna O'Neil", "John Smith", "Jon Smyth", "Jonathan Smithers", "Mary Johnson"),
+                names(index.autocomplete("Jo", 10)));
+        assertEquals(List.of("John Smith", "Jonathan Smithers"), names(index.autocomplete("smi", 10)));
+    }
+
+    @Test
+    @DisplayName("Should match prefixes spanning words and stop at the limit")
+    void autocomplete_MultiWordPrefixAndLimit_Bounded() {
+
+        assertEquals(List.of("John Smith"), names(index.autocomplete("john  sm", 10)));
+        assertEquals(List.of("Joanna O'Neil", "John Smith"), names(index.autocomplete("jo", 2)));
+        assertEquals(List.of(), index.autocomplete("zz", 10));
+    }
+
+    @Test
+    @DisplayName("Should tolerate typos and transpositions and rank by words matched then edits")
+    void fuzzySearch_Typos_RankedByCloseness() {
+
+        assertEquals(List.of("John Smith", "Jon Smyth"), names(index.fuzzySearch("jhon smith", 2)));
+        assertEquals(List.of("John Smith"), names(index.fuzzySearch("smiht", 1)));
+        assertEquals(List.of("Joanna O'Neil"), names(index.fuzzySearch("oneil", 10)));
+    }
+
+    @Test
+    @DisplayName("Should not stretch short words or distant spellings into matches")
+    void fuzzySearch_TooManyEdits_NoMatch() {
+
+        assertEquals(List.of(), index.fuzzySearch("jn", 10));
+        assertEquals(List.of(), index.fuzzySearch("qwerty", 10));
+        assertEquals(List.of(), index.fuzzySearch("   ", 10));
+    }
+
+    @Test
+    @DisplayName("Should find the closest names in a large roster")
+    void fuzzySearch_LargeRoster_FindsClosest() {
+
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            roster.add(employee("Employee" + i + " Member" + i % 100));
+        }
+        roster.add(employee("Katherine Zeta"));
+
+        List<Employee> matches = NameIndex.of(roster).fuzzySearch("Katharine Zeta", 3);
+
+        assertEquals("Katherine Zeta", matches.get(0).getEmployeeName());
+        assertTrue(matches.size() <= 3);
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder().employeeName(name).build();
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeName).toList();
+    }
+}
@@ -1,23 +1,52 @@
 package com.reliaquest.api.unit.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.cache.BackgroundRefresher;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.LastKnownGoodCache;
+import com.reliaquest.api.cache.MaterializedRoster;
+import com.reliaquest.api.cache.RosterReplica;
+import com.reliaquest.api.cache.RosterView;
+import com.reliaquest.api.cluster.ClusterBroadcaster;
+import com.reliaquest.api.cluster.ClusterMembership;
 import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ChangeEvent;
 import com.reliaquest.api.dto.EmployeeRequest;
 import com.reliaquest.api.exception.EntityNotFoundException;
 import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.LocalRejectionException;
+import com.reliaquest.api.exception.RequestValidationException;
 import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameIndex;
 import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.upstream.RequestHedger;
+import com.reliaquest.api.upstream.UpstreamEndpoints;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -42,6 +71,18 @@ class EmployeeServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private RosterReplica rosterReplica;
+
+    @Mock
+    private MaterializedRoster materializedRoster;
+
+    @Mock
+    private ClusterBroadcaster clusterBroadcaster;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -51,7 +92,39 @@ class EmployeeServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        employeeService = new EmployeeService(restTemplate);
+        UpstreamGuard upstreamGuard = new UpstreamGuard(
+                3,
+                Duration.ofSeconds(30),
+                1,
+                10,
+                Duration.ZERO,
+                new UpstreamScheduler(0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO));
+        UpstreamEndpoints upstreamEndpoints = new UpstreamEndpoints(
+                URI.create("http://test-domain.com"),
+                List.of(),
+                3,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(30),
+                Clock.systemUTC());
+        employeeService = new EmployeeService(
+                restTemplate,
+                rosterReplica,
+                materializedRoster,
+                upstreamGuard,
+                new RequestHedger(
+                        upstreamEndpoints,
+                        upstreamGuard,
+                        false,
+                        0.95,
+                        Duration.ofMillis(10),
+                        Duration.ofSeconds(1),
+                        5,
+                        1),
+                new LastKnownGoodCache(100, Duration.ofSeconds(30)),
+                new EmployeeCache(100, Duration.ofSeconds(60), Duration.ofSeconds(5)),
+                new BackgroundRefresher(),
+                clusterBroadcaster,
+                clusterMembership);
         employeeId = UUID.randomUUID().toString();
         testEmployee = new Employee(employeeId, "John Doe", 50000, 25, "Developer", "IT");
         employeeRequest = new EmployeeRequest("John Doe", 50000, 25, "Developer");
@@ -106,6 +179,21 @@ class EmployeeServiceImplTest {
         assertThrows(TooManyRequestsException.class, () -> employeeService.getAllEmployees());
     }
 
+    @Test
+    @DisplayName("Should not back reads off when a call is rejected locally rather than by the external service")
+    void getAllEmployees_LocallyRejected_NotMarkedThrottled() {
+
+        String expectedUrl = "http://test-domain.com/api/v1/employee";
+        when(restTemplate.exchange(
+                        eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new LocalRejectionException("Too many concurrent GET_ALL calls", Duration.ZERO));
+
+        assertThrows(LocalRejectionException.class, () -> employeeService.getAllEmployees());
+        LastKnownGoodCache lastKnownGood =
+                (LastKnownGoodCache) ReflectionTestUtils.getField(employeeService, "lastKnownGood");
+        assertFalse(lastKnownGood.isThrottled());
+    }
+
     @Test
     @DisplayName("Should get employee by ID successfully")
     void getEmployeeById_Success() {
@@ -163,6 +251,26 @@ class EmployeeServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testEmployee.getEmployeeName(), result.getEmployeeName());
+        verify(clusterBroadcaster).created(testEmployee);
+    }
+
+    @Test
+    @DisplayName("Should back reads off when the external service throttles a batch create")
+    void submitEmployees_RateLimitExceeded_MarksThrottled() {
+
+        List<EmployeeRequest> requests = List.of(new EmployeeRequest("John Doe", 50000, 25, "Developer"));
+        String expectedUrl = "http://test-domain.com/api/v1/employee/batch";
+        when(restTemplate.exchange(
+                        eq(expectedUrl),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThrows(TooManyRequestsException.class, () -> employeeService.submitEmployees(requests));
+        LastKnownGoodCache lastKnownGood =
+                (LastKnownGoodCache) ReflectionTestUtils.getField(employeeService, "lastKnownGood");
+        assertTrue(lastKnownGood.isThrottled());
     }
 
     @Test
@@ -196,6 +304,58 @@ class EmployeeServiceImplTest {
 
         assertNotNull(result);
         assertEquals(testEmployee.getEmployeeName(), result);
+        verify(clusterBroadcaster).deleted(UUID.fromString(employeeId));
+    }
+
+    @Test
+    @DisplayName("Should apply a delete made through a cluster peer locally without broadcasting it again")
+    void applyPeerChanges_Deleted_AppliesLocally() {
+
+        when(clusterMembership.isEnabled()).thenReturn(true);
+        employeeService.applyPeerChanges(
+                List.of(new ChangeEvent(0, ChangeEvent.Type.DELETED, Employee.builder().id(employeeId).build())));
+
+        verify(materializedRoster).applyDeleted(UUID.fromString(employeeId));
+        verify(clusterBroadcaster, never()).deleted(any());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should apply consecutive creates from a cluster peer as one batch")
+    void applyPeerChanges_Creates_AppliedAsOneBatch() {
+
+        when(clusterMembership.isEnabled()).thenReturn(true);
+        Employee other = new Employee(UUID.randomUUID().toString(), "Jane Roe", 60000, 30, "Analyst", "IT");
+
+        employeeService.applyPeerChanges(List.of(
+                new ChangeEvent(0, ChangeEvent.Type.CREATED, testEmployee),
+                new ChangeEvent(0, ChangeEvent.Type.CREATED, other)));
+
+        verify(materializedRoster).applyCreated(List.of(testEmployee, other));
+        verify(clusterBroadcaster, never()).created(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a peer change without a UUID employee id")
+    void applyPeerChanges_InvalidId_ThrowsValidationException() {
+
+        when(clusterMembership.isEnabled()).thenReturn(true);
+        ChangeEvent event = new ChangeEvent(0, ChangeEvent.Type.CREATED, Employee.builder().id("not-a-uuid").build());
+
+        assertThrows(RequestValidationException.class, () -> employeeService.applyPeerChanges(List.of(event)));
+        verifyNoInteractions(materializedRoster);
+    }
+
+    @Test
+    @DisplayName("Should ignore peer changes while the cluster is disabled")
+    void applyPeerChanges_ClusterDisabled_Ignored() {
+
+        when(clusterMembership.isEnabled()).thenReturn(false);
+
+        employeeService.applyPeerChanges(
+                List.of(new ChangeEvent(0, ChangeEvent.Type.DELETED, Employee.builder().id(employeeId).build())));
+
+        verifyNoInteractions(materializedRoster);
     }
 
     @Test
@@ -225,4 +385,162 @@ class EmployeeServiceImplTest {
         assertEquals("Bob", result.get(1));
         assertEquals("Charlie", result.get(2));
     }
+
+    @Test
+    @DisplayName("Should push name search down to the upstream query endpoint when supported")
+    void getEmployeesByNameSearch_PushdownSupported_UsesQueryEndpoint() {
+
+        ReflectionTestUtils.setField(employeeService, "queryPushdownEnabled", true);
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>();
+        apiResponse.setData(Collections.singletonList(testEmployee));
+        apiResponse.setStatus("success");
+
+        URI expectedUri = URI.create("http://test-domain.com/api/v1/employee/query/search?name=John%20Doe");
+        when(restTemplate.exchange(
+                        eq(expectedUri), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        List<Employee> result = employeeService.getEmployeesByNameSearch("John Doe");
+
+        assertEquals(1, result.size());
+        assertEquals(testEmployee.getEmployeeName(), result.get(0).getEmployeeName());
+    }
+
+    @Test
+    @DisplayName("Should fuzzy search names through the published name index without calling the upstream")
+    void fuzzySearchByName_IndexPublished_UsesIndex() {
+
+        when(materializedRoster.nameIndex())
+                .thenReturn(Optional.of(NameIndex.of(List.of(
+                        testEmployee, new Employee(UUID.randomUUID().toString(), "Alice", 90000, 30, "", "")))));
+
+        List<Employee> result = employeeService.fuzzySearchByName("jonh", 5);
+
+        assertEquals(List.of(testEmployee), result);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should scan the roster for autocomplete when no name index has been built yet")
+    void autocompleteByName_NoIndex_ScansRosterView() {
+
+        Employee alice = new Employee(UUID.randomUUID().toString(), "Alice Doe", 90000, 30, "", "");
+        when(materializedRoster.view())
+                .thenReturn(Optional.of(RosterView.of(List.of(testEmployee, alice), Instant.now())));
+
+        List<Employee> result = employeeService.autocompleteByName("do", 5);
+
+        assertEquals(List.of(alice, testEmployee), result);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reject name queries with a limit outside 1 to 100")
+    void autocompleteByName_LimitOutOfRange_ThrowsRequestValidationException() {
+
+        assertThrows(RequestValidationException.class, () -> employeeService.autocompleteByName("jo", 0));
+        assertThrows(RequestValidationException.class, () -> employeeService.autocompleteByName("jo", 101));
+        assertThrows(RequestValidationException.class, () -> employeeService.fuzzySearchByName(" ", 10));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should compute highest salary locally when the upstream lacks query endpoints")
+    void getHighestSalary_PushdownUnsupported_FallsBackToFullRoster() {
+
+        ReflectionTestUtils.setField(employeeService, "queryPushdownEnabled", true);
+        when(restTemplate.exchange(
+                        any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>();
+        apiResponse.setData(Arrays.asList(
+                testEmployee, new Employee(UUID.randomUUID().toString(), "Alice", 90000, 30, "", "")));
+        apiResponse.setStatus("success");
+        when(restTemplate.exchange(
+                        eq("http://test-domain.com/api/v1/employee"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        assertEquals(90000, employeeService.getHighestSalaryOfEmployees());
+    }
+
+    @Test
+    @DisplayName("Should serve all employees from the roster replica once it is synced")
+    void getAllEmployees_ReplicaSynced_SkipsExternalService() {
+
+        when(rosterReplica.employees()).thenReturn(Optional.of(Collections.singletonList(testEmployee)));
+
+        List<Employee> result = employeeService.getAllEmployees();
+
+        assertEquals(1, result.size());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should fill the id cache from the roster replica as it does from a roster fetch")
+    void getAllEmployees_ReplicaSynced_FillsIdCache() {
+
+        when(rosterReplica.employees()).thenReturn(Optional.of(Collections.singletonList(testEmployee)));
+
+        employeeService.getAllEmployees();
+        Employee result = employeeService.getEmployeeById(employeeId);
+
+        assertEquals(testEmployee, result);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Should serve the last known roster when the external service starts throttling")
+    void getAllEmployees_RateLimitedAfterSuccess_ServesLastKnownRoster() {
+
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>(Collections.singletonList(testEmployee), "success");
+        String expectedUrl = "http://test-domain.com/api/v1/employee";
+        when(restTemplate.exchange(
+                        eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        employeeService.getAllEmployees();
+        List<Employee> result = employeeService.getAllEmployees();
+
+        assertEquals(1, result.size());
+        assertEquals(testEmployee.getEmployeeName(), result.get(0).getEmployeeName());
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups of a missing employee from the negative cache")
+    void getEmployeeById_NotFoundTwice_CallsExternalServiceOnce() {
+
+        String employeeId = UUID.randomUUID().toString();
+        String expectedUrl = "http://test-domain.com/api/v1/employee/" + employeeId;
+        when(restTemplate.exchange(
+                        eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThrows(EntityNotFoundException.class, () -> employeeService.getEmployeeById(employeeId));
+        assertThrows(EntityNotFoundException.class, () -> employeeService.getEmployeeById(employeeId));
+
+        verify(restTemplate, times(1))
+                .exchange(eq(expectedUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("Should serve employees by id from the cache populated by a full roster fetch")
+    void getEmployeeById_AfterRosterFetch_SkipsExternalService() {
+
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>(Collections.singletonList(testEmployee), "success");
+        String rosterUrl = "http://test-domain.com/api/v1/employee";
+        when(restTemplate.exchange(eq(rosterUrl), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        Employee result = employeeService.getEmployeeById(testEmployee.getId());
+
+        assertEquals(testEmployee, result);
+        verify(restTemplate, times(1))
+                .exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
 }
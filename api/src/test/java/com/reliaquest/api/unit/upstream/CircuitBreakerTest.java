@@ -0,0 +1,89 @@
+package com.reliaquest.api.unit.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.unit.MutableClock;
+import com.reliaquest.api.upstream.CircuitBreaker;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Circuit Breaker Tests")
+class CircuitBreakerTest {
+
+    private MutableClock clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), 1, clock);
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive failures and fail fast while open")
+    void onFailure_ThresholdReached_Opens() {
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(Duration.ofSeconds(30), circuitBreaker.remainingOpenDuration());
+    }
+
+    @Test
+    @DisplayName("Should let a single probe through after the open duration and close on success")
+    void tryAcquirePermission_AfterOpenDuration_ProbesThenCloses() {
+
+        openCircuit();
+        clock.advance(Duration.ofSeconds(31));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should re-open when the half-open probe fails")
+    void onFailure_WhileHalfOpen_Reopens() {
+
+        openCircuit();
+        clock.advance(Duration.ofSeconds(31));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count on success")
+    void onSuccess_ResetsConsecutiveFailures() {
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+}
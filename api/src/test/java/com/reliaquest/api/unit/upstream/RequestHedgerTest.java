@@ -0,0 +1,204 @@
+package com.reliaquest.api.unit.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.LocalRejectionException;
+import com.reliaquest.api.upstream.LoadBalancingInterceptor;
+import com.reliaquest.api.upstream.RequestHedger;
+import com.reliaquest.api.upstream.UpstreamEndpoints;
+import com.reliaquest.api.upstream.UpstreamGuard;
+import com.reliaquest.api.upstream.UpstreamOperation;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@DisplayName("Request Hedger Tests")
+class RequestHedgerTest {
+
+    private UpstreamEndpoints endpoints;
+    private UpstreamGuard upstreamGuard;
+    private final Map<UpstreamOperation, String> targets = new ConcurrentHashMap<>();
+    private final CountDownLatch neverReleased = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        endpoints = new UpstreamEndpoints(
+                URI.create("http://localhost:8112"),
+                List.of(URI.create("http://localhost:8112"), URI.create("http://localhost:8113")),
+                3,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(30),
+                Clock.systemUTC());
+        upstreamGuard = new UpstreamGuard(
+                3,
+                Duration.ofSeconds(30),
+                1,
+                10,
+                Duration.ZERO,
+                new UpstreamScheduler(0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should answer from a hedge sent to another instance when the first attempt is slow")
+    void call_SlowPrimary_HedgeToOtherInstanceWins() {
+
+        RequestHedger hedger = hedger(true, 100);
+
+        String answer = hedger.call((operation, request) -> {
+            String target = request.getHeaders().getFirst(LoadBalancingInterceptor.ENDPOINT_HEADER);
+            targets.put(operation, target);
+            if (operation == UpstreamOperation.GET_BY_ID) {
+                awaitQuietly(neverReleased, 5);
+            }
+            return target;
+        });
+
+        assertEquals(targets.get(UpstreamOperation.HEDGE), answer);
+        assertNotEquals(targets.get(UpstreamOperation.GET_BY_ID), answer);
+    }
+
+    @Test
+    @DisplayName("Should not hedge once the hedge budget is spent")
+    void call_NoBudget_WaitsForPrimary() {
+
+        RequestHedger hedger = hedger(true, 0);
+
+        String answer = hedger.call((operation, request) -> {
+            targets.put(operation, "called");
+            awaitQuietly(neverReleased, 0.1);
+            return operation.name();
+        });
+
+        assertEquals("GET_BY_ID", answer);
+        assertNull(targets.get(UpstreamOperation.HEDGE));
+    }
+
+    @Test
+    @DisplayName("Should wait for the other attempt when one fails")
+    void call_HedgeFails_PrimaryStillAnswers() {
+
+        RequestHedger hedger = hedger(true, 100);
+
+        String answer = hedger.call((operation, request) -> {
+            if (operation == UpstreamOperation.HEDGE) {
+                throw new ExternalServiceException("hedge failed");
+            }
+            awaitQuietly(neverReleased, 0.1);
+            return "primary";
+        });
+
+        assertEquals("primary", answer);
+    }
+
+    @Test
+    @DisplayName("Should report the first attempt's answer when a hedge is rejected before reaching the upstream")
+    void call_HedgeRejectedLocally_PrimaryNotFoundReported() {
+
+        RequestHedger hedger = hedger(true, 100);
+
+        HttpClientErrorException thrown = assertThrows(
+                HttpClientErrorException.class, () -> hedger.call((operation, request) -> {
+                    if (operation == UpstreamOperation.HEDGE) {
+                        throw new LocalRejectionException("No spare upstream request budget", Duration.ZERO);
+                    }
+                    awaitQuietly(neverReleased, 0.1);
+                    throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+                }));
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should refund the hedge budget for a hedge rejected before reaching the upstream")
+    void call_HedgeRejectedLocally_BudgetRefunded() {
+
+        RequestHedger hedger = hedger(true, 50);
+        AtomicInteger hedges = new AtomicInteger();
+
+        for (int call = 0; call < 3; call++) {
+            hedger.call((operation, request) -> {
+                if (operation == UpstreamOperation.HEDGE) {
+                    hedges.incrementAndGet();
+                    throw new LocalRejectionException("Too many concurrent HEDGE calls", Duration.ZERO);
+                }
+                awaitQuietly(neverReleased, 0.1);
+                return "primary";
+            });
+        }
+
+        assertEquals(2, hedges.get());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure when every attempt fails")
+    void call_AllAttemptsFail_Throws() {
+
+        RequestHedger hedger = hedger(true, 100);
+
+        assertThrows(ExternalServiceException.class, () -> hedger.call((operation, request) -> {
+            throw new ExternalServiceException("failed");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should make a single direct attempt when hedging is disabled")
+    void call_Disabled_SingleInlineAttempt() {
+
+        RequestHedger hedger = hedger(false, 100);
+        Thread caller = Thread.currentThread();
+
+        String answer = hedger.call((operation, request) -> {
+            assertNull(request);
+            assertEquals(caller, Thread.currentThread());
+            return operation.name();
+        });
+
+        assertEquals("GET_BY_ID", answer);
+    }
+
+    private RequestHedger hedger(boolean enabled, double budgetPercent) {
+        return new RequestHedger(
+                endpoints,
+                upstreamGuard,
+                enabled,
+                0.95,
+                Duration.ofMillis(20),
+                Duration.ofMillis(20),
+                budgetPercent,
+                4);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch, double seconds) {
+        try {
+            latch.await((long) (seconds * 1000), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
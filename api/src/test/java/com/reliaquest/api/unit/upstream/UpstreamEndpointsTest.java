@@ -0,0 +1,115 @@
+package com.reliaquest.api.unit.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.unit.MutableClock;
+import com.reliaquest.api.upstream.UpstreamEndpoints;
+import com.reliaquest.api.upstream.UpstreamEndpoints.Endpoint;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Upstream Endpoints Tests")
+class UpstreamEndpointsTest {
+
+    private static final URI LOGICAL = URI.create("http://localhost:8112");
+
+    private MutableClock clock;
+    private UpstreamEndpoints endpoints;
+    private Endpoint first;
+    private Endpoint second;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        endpoints = new UpstreamEndpoints(
+                LOGICAL,
+                List.of(URI.create("http://localhost:8112"), URI.create("http://localhost:8113")),
+                3,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(60),
+                clock);
+        first = endpoints.all().get(0);
+        second = endpoints.all().get(1);
+    }
+
+    @Test
+    @DisplayName("Should pick the instance with fewer outstanding requests")
+    void choose_UnevenLoad_PicksLessLoaded() {
+
+        first.onStart();
+        first.onStart();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, endpoints.choose());
+        }
+    }
+
+    @Test
+    @DisplayName("Should avoid an instance that answered 429 until its throttle backoff has passed")
+    void choose_ThrottledInstance_AvoidedUntilBackoffPasses() {
+
+        second.onStart();
+        second.onStart();
+        first.onThrottled();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, endpoints.choose());
+        }
+
+        clock.advance(Duration.ofSeconds(61));
+
+        assertSame(first, endpoints.choose());
+    }
+
+    @Test
+    @DisplayName("Should eject an instance after consecutive failures and fail open when none is available")
+    void onFailure_ThresholdReached_Ejects() {
+
+        first.onFailure();
+        first.onFailure();
+        assertTrue(first.isAvailable(clock.instant()));
+        first.onFailure();
+
+        assertFalse(first.isAvailable(clock.instant()));
+        assertSame(second, endpoints.choose());
+
+        clock.advance(Duration.ofSeconds(10));
+        second.onThrottled();
+
+        assertSame(first, endpoints.choose());
+    }
+
+    @Test
+    @DisplayName("Should keep pinned calls on one instance while it stays available")
+    void pinned_AvailableInstance_Sticks() {
+
+        Endpoint pinned = endpoints.pinned("roster-replica");
+        for (int i = 0; i < 20; i++) {
+            assertSame(pinned, endpoints.pinned("roster-replica"));
+        }
+
+        pinned.onThrottled();
+
+        Endpoint other = pinned == first ? second : first;
+        assertSame(other, endpoints.pinned("roster-replica"));
+    }
+
+    @Test
+    @DisplayName("Should send requests for the logical upstream to the chosen instance")
+    void resolve_LogicalUri_RewritesHostAndPort() {
+
+        URI request = URI.create("http://localhost:8112/api/v1/employee/search?name=J%20Doe");
+
+        assertTrue(endpoints.serves(request));
+        assertFalse(endpoints.serves(URI.create("http://example.com/api/v1/employee")));
+        assertEquals(URI.create("http://localhost:8113/api/v1/employee/search?name=J%20Doe"), second.resolve(request));
+    }
+}
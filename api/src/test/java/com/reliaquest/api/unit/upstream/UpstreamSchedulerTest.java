@@ -0,0 +1,115 @@
+package com.reliaquest.api.unit.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.LocalRejectionException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.upstream.UpstreamPriority;
+import com.reliaquest.api.upstream.UpstreamScheduler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Upstream Scheduler Tests")
+class UpstreamSchedulerTest {
+
+    @Test
+    @DisplayName("Should grant calls within the burst and reject calls that cannot make their deadline")
+    void acquire_BudgetExhausted_RejectsPastDeadline() {
+
+        UpstreamScheduler scheduler =
+                new UpstreamScheduler(1, 2, Duration.ZERO, Duration.ofSeconds(10), Duration.ofSeconds(30));
+
+        scheduler.acquire(UpstreamPriority.INTERACTIVE);
+        scheduler.acquire(UpstreamPriority.INTERACTIVE);
+
+        UpstreamUnavailableException exception = assertThrows(
+                UpstreamUnavailableException.class, () -> scheduler.acquire(UpstreamPriority.INTERACTIVE));
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    @DisplayName("Should grant the next token to a waiting interactive call before an earlier background call")
+    void acquire_Contended_PrefersInteractive() throws InterruptedException {
+
+        UpstreamScheduler scheduler = new UpstreamScheduler(
+                5, 1, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        scheduler.acquire(UpstreamPriority.BACKGROUND);
+
+        List<UpstreamPriority> granted = Collections.synchronizedList(new ArrayList<>());
+        Thread background = new Thread(() -> {
+            scheduler.acquire(UpstreamPriority.BACKGROUND);
+            granted.add(UpstreamPriority.BACKGROUND);
+        });
+        Thread interactive = new Thread(() -> {
+            scheduler.acquire(UpstreamPriority.INTERACTIVE);
+            granted.add(UpstreamPriority.INTERACTIVE);
+        });
+
+        background.start();
+        Thread.sleep(20);
+        interactive.start();
+        background.join(5000);
+        interactive.join(5000);
+
+        assertEquals(List.of(UpstreamPriority.INTERACTIVE, UpstreamPriority.BACKGROUND), granted);
+    }
+
+    @Test
+    @DisplayName("Should make a refunded token available to the next call")
+    void refund_TokenReturned_GrantsNextCall() {
+
+        UpstreamScheduler scheduler = new UpstreamScheduler(0.001, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        scheduler.acquire(UpstreamPriority.INTERACTIVE);
+        assertFalse(scheduler.tryAcquire());
+
+        scheduler.refund();
+
+        assertTrue(scheduler.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should drop an interrupted call from the queue so later calls still get tokens")
+    void acquire_Interrupted_LeavesQueue() throws InterruptedException {
+
+        UpstreamScheduler scheduler = new UpstreamScheduler(
+                10, 1, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        scheduler.acquire(UpstreamPriority.INTERACTIVE);
+
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                scheduler.acquire(UpstreamPriority.INTERACTIVE);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        waiter.start();
+        Thread.sleep(20);
+        waiter.interrupt();
+        waiter.join(5000);
+        Thread.sleep(200);
+
+        assertInstanceOf(LocalRejectionException.class, failure.get());
+        assertTrue(scheduler.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should never wait when scheduling is disabled")
+    void acquire_RateZero_NeverWaits() {
+
+        UpstreamScheduler scheduler = new UpstreamScheduler(0, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.acquire(UpstreamPriority.BACKGROUND);
+        }
+    }
+}
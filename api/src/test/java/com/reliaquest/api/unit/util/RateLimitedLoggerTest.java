@@ -0,0 +1,55 @@
+package com.reliaquest.api.unit.util;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.util.RateLimitedLogger;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+@DisplayName("Rate Limited Logger Tests")
+class RateLimitedLoggerTest {
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+        when(logger.isWarnEnabled()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should drop messages beyond the permits of the current interval")
+    void warn_OverPermits_DropsExcess() {
+        RateLimitedLogger rateLimitedLogger = RateLimitedLogger.of(logger, 2, Duration.ofHours(1));
+
+        for (int i = 0; i < 10; i++) {
+            rateLimitedLogger.warn("Rejected call {}", i);
+        }
+
+        verify(logger, times(2)).warn(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should report a suppressed count only when messages were dropped, ahead of a trailing throwable")
+    void warn_AfterInterval_ReportsSuppressedCount() throws InterruptedException {
+        RateLimitedLogger rateLimitedLogger = RateLimitedLogger.of(logger, 1, Duration.ofMillis(50));
+        RuntimeException failure = new RuntimeException("boom");
+
+        rateLimitedLogger.warn("Rejected call {}", 0, failure);
+        rateLimitedLogger.warn("Rejected call {}", 1, failure);
+        rateLimitedLogger.warn("Rejected call {}", 2, failure);
+        Thread.sleep(60);
+        rateLimitedLogger.warn("Rejected call {}", 3, failure);
+
+        verify(logger).warn("Rejected call {}", new Object[] {0, failure});
+        verify(logger).warn("Rejected call {} [{} similar suppressed]", 3, 2L, failure);
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.unit.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.util.Uuids;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("UUID Parsing Tests")
+class UuidsTest {
+
+    @Test
+    @DisplayName("Should parse canonical UUIDs in either case to the same value as UUID.fromString")
+    void parseOrNull_Canonical_MatchesFromString() {
+
+        for (int i = 0; i < 1000; i++) {
+            UUID expected = UUID.randomUUID();
+
+            assertEquals(expected, Uuids.parseOrNull(expected.toString()));
+            assertEquals(expected, Uuids.parseOrNull(expected.toString().toUpperCase(Locale.ROOT)));
+            assertTrue(Uuids.matches(expected, expected.toString()));
+        }
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(
+            strings = {
+                "invalid-uuid",
+                "123e4567-e89b-12d3-a456-42661417400g",
+                "123e4567-e89b-12d3-a456_426614174000",
+                "123e4567-e89b-12d3-a456-4266141740000",
+                "123e4567e89b12d3a456426614174000"
+            })
+    @DisplayName("Should reject anything but the canonical form without throwing")
+    void parseOrNull_Invalid_ReturnsNull(String value) {
+
+        assertNull(Uuids.parseOrNull(value));
+        assertFalse(Uuids.isValid(value));
+    }
+
+    @Test
+    @DisplayName("Should not match a different id")
+    void matches_DifferentId_ReturnsFalse() {
+
+        assertFalse(Uuids.matches(UUID.randomUUID(), UUID.randomUUID().toString()));
+        assertFalse(Uuids.matches(null, UUID.randomUUID().toString()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.api.unit.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.web.AdaptiveConcurrencyLimit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Adaptive Concurrency Limit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private long now;
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 1.0, Duration.ofMillis(1), 1, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should reject requests beyond the limit until a permit is released")
+    void tryAcquire_AtLimit_Rejects() {
+
+        List<AdaptiveConcurrencyLimit.Permit> permits = acquireAll();
+
+        assertEquals(20, permits.size());
+        assertFalse(concurrencyLimit.tryAcquire().isPresent());
+
+        permits.get(0).release();
+
+        assertTrue(concurrencyLimit.tryAcquire().isPresent());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency holds and shrink it when latency rises")
+    void release_LatencyChanges_AdaptsLimit() {
+
+        for (int round = 0; round < 5; round++) {
+            runRound(10);
+        }
+        int grownLimit = concurrencyLimit.getLimit();
+        assertTrue(grownLimit > 20, "limit should grow at steady latency, was " + grownLimit);
+
+        for (int round = 0; round < 5; round++) {
+            runRound(100);
+        }
+
+        int shrunkLimit = concurrencyLimit.getLimit();
+        assertTrue(shrunkLimit < grownLimit / 2, "limit should shrink as latency rises, was " + shrunkLimit);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit when most permits go unused")
+    void release_LightLoad_KeepsLimit() {
+
+        for (int round = 0; round < 5; round++) {
+            Optional<AdaptiveConcurrencyLimit.Permit> permit = concurrencyLimit.tryAcquire();
+            now += TimeUnit.MILLISECONDS.toNanos(10);
+            permit.orElseThrow().release();
+        }
+
+        assertEquals(20, concurrencyLimit.getLimit());
+    }
+
+    /*
+     * Fills the limit, lets the requests run for the given latency, then completes them.
+     */
+    private void runRound(long latencyMillis) {
+        List<AdaptiveConcurrencyLimit.Permit> permits = acquireAll();
+        now += TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        permits.forEach(AdaptiveConcurrencyLimit.Permit::release);
+    }
+
+    private List<AdaptiveConcurrencyLimit.Permit> acquireAll() {
+        List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+        Optional<AdaptiveConcurrencyLimit.Permit> permit;
+        while ((permit = concurrencyLimit.tryAcquire()).isPresent()) {
+            permits.add(permit.get());
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,178 @@
+package com.reliaquest.api.unit.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.dto.CreateStatus;
+import com.reliaquest.api.dto.EmployeeRequest;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.impl.EmployeeService;
+import com.reliaquest.api.writebehind.WriteBehindCreateQueue;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Write-Behind Create Queue Tests")
+class WriteBehindCreateQueueTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private WriteBehindCreateQueue createQueue;
+    private EmployeeRequest aliceRequest;
+    private EmployeeRequest bobRequest;
+
+    @BeforeEach
+    void setUp() {
+        createQueue = new WriteBehindCreateQueue(employeeService, 2, 50, 10, Duration.ZERO, Duration.ofMinutes(15));
+        aliceRequest = new EmployeeRequest("Alice", 100000, 30, "Engineer");
+        bobRequest = new EmployeeRequest("Bob", 90000, 40, "Manager");
+    }
+
+    @Test
+    @DisplayName("Should create queued employees in one batch and report them as created")
+    void dispatch_BatchSupported_CreatesAllQueued() {
+
+        Employee alice = new Employee("a-id", "Alice", 100000, 30, "Engineer", "alice@company.com");
+        Employee bob = new Employee("b-id", "Bob", 90000, 40, "Manager", "bob@company.com");
+        when(employeeService.submitEmployees(List.of(aliceRequest, bobRequest)))
+                .thenReturn(Optional.of(List.of(alice, bob)));
+
+        CreateStatus queuedAlice = createQueue.submit(aliceRequest);
+        CreateStatus queuedBob = createQueue.submit(bobRequest);
+        assertEquals(CreateStatus.State.PENDING, queuedAlice.getState());
+
+        createQueue.dispatch();
+
+        CreateStatus createdAlice = createQueue.status(queuedAlice.getTrackingId()).orElseThrow();
+        assertEquals(CreateStatus.State.CREATED, createdAlice.getState());
+        assertEquals(alice, createdAlice.getEmployee());
+        assertEquals(bob, createQueue.status(queuedBob.getTrackingId()).orElseThrow().getEmployee());
+        verify(employeeService, never()).submitEmployee(any());
+    }
+
+    @Test
+    @DisplayName("Should create one employee per dispatch when the upstream has no batch endpoint")
+    void dispatch_BatchUnsupported_CreatesOnePerDispatch() {
+
+        Employee alice = new Employee("a-id", "Alice", 100000, 30, "Engineer", "alice@company.com");
+        when(employeeService.submitEmployees(anyList())).thenReturn(Optional.empty());
+        when(employeeService.submitEmployee(aliceRequest)).thenReturn(alice);
+
+        CreateStatus queuedAlice = createQueue.submit(aliceRequest);
+        CreateStatus queuedBob = createQueue.submit(bobRequest);
+
+        createQueue.dispatch();
+
+        assertEquals(
+                CreateStatus.State.CREATED,
+                createQueue.status(queuedAlice.getTrackingId()).orElseThrow().getState());
+        assertEquals(
+                CreateStatus.State.PENDING,
+                createQueue.status(queuedBob.getTrackingId()).orElseThrow().getState());
+        verify(employeeService, times(1)).submitEmployee(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the batch pending and retry it when the upstream throttles")
+    void dispatch_Throttled_RetriesSameBatch() {
+
+        Employee alice = new Employee("a-id", "Alice", 100000, 30, "Engineer", "alice@company.com");
+        when(employeeService.submitEmployees(List.of(aliceRequest)))
+                .thenThrow(new TooManyRequestsException("Too many requests"))
+                .thenReturn(Optional.of(List.of(alice)));
+
+        CreateStatus queued = createQueue.submit(aliceRequest);
+
+        createQueue.dispatch();
+        CreateStatus throttled = createQueue.status(queued.getTrackingId()).orElseThrow();
+        assertEquals(CreateStatus.State.PENDING, throttled.getState());
+        assertEquals(1, throttled.getAttempts());
+
+        createQueue.dispatch();
+        CreateStatus created = createQueue.status(queued.getTrackingId()).orElseThrow();
+        assertEquals(CreateStatus.State.CREATED, created.getState());
+        assertEquals(2, created.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should split a rejected batch and fail only the create the upstream rejects on its own")
+    void dispatch_BatchRejected_SplitsAndFailsOffendingCreate() {
+
+        Employee alice = new Employee("a-id", "Alice", 100000, 30, "Engineer", "alice@company.com");
+        ExternalServiceException rejected = new ExternalServiceException(
+                "Failed to create employees in external service",
+                new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        when(employeeService.submitEmployees(List.of(aliceRequest, bobRequest))).thenThrow(rejected);
+        when(employeeService.submitEmployees(List.of(aliceRequest))).thenReturn(Optional.of(List.of(alice)));
+        when(employeeService.submitEmployees(List.of(bobRequest))).thenThrow(rejected);
+
+        CreateStatus queuedAlice = createQueue.submit(aliceRequest);
+        CreateStatus queuedBob = createQueue.submit(bobRequest);
+
+        createQueue.dispatch();
+        createQueue.dispatch();
+        createQueue.dispatch();
+
+        assertEquals(
+                CreateStatus.State.CREATED,
+                createQueue.status(queuedAlice.getTrackingId()).orElseThrow().getState());
+        CreateStatus failedBob = createQueue.status(queuedBob.getTrackingId()).orElseThrow();
+        assertEquals(CreateStatus.State.FAILED, failedBob.getState());
+        assertEquals(1, failedBob.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should fail a batch whose outcome is unknown instead of sending it again")
+    void dispatch_OutcomeUnknown_FailsWithoutResending() {
+
+        when(employeeService.submitEmployees(List.of(aliceRequest, bobRequest)))
+                .thenThrow(new ExternalServiceException(
+                        "Failed to create employees in external service",
+                        new ResourceAccessException("Read timed out")));
+
+        CreateStatus queuedAlice = createQueue.submit(aliceRequest);
+        CreateStatus queuedBob = createQueue.submit(bobRequest);
+
+        createQueue.dispatch();
+        createQueue.dispatch();
+
+        CreateStatus failedAlice = createQueue.status(queuedAlice.getTrackingId()).orElseThrow();
+        assertEquals(CreateStatus.State.FAILED, failedAlice.getState());
+        assertTrue(failedAlice.getError().startsWith("Outcome unknown, may have been created"));
+        assertEquals(
+                CreateStatus.State.FAILED,
+                createQueue.status(queuedBob.getTrackingId()).orElseThrow().getState());
+        verify(employeeService, times(1)).submitEmployees(anyList());
+        verify(employeeService, never()).submitEmployee(any());
+    }
+
+    @Test
+    @DisplayName("Should reject creates once the queue is full")
+    void submit_QueueFull_Throws() {
+
+        createQueue.submit(aliceRequest);
+        createQueue.submit(bobRequest);
+
+        assertThrows(TooManyRequestsException.class, () -> createQueue.submit(aliceRequest));
+    }
+}
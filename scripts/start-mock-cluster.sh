@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+#
+# Starts several Mock Employee API instances on consecutive ports, all generating the same employees, for running the
+# API module against more than one upstream instance. Stops them all on Ctrl-C.
+#
+#   scripts/start-mock-cluster.sh [instances] [first-port] [seed]
+#
+# Point the API module at them with, for three instances:
+#   app.employee-service.endpoints=http://localhost:8112,http://localhost:8113,http://localhost:8114
+
+set -euo pipefail
+
+instances="${1:-3}"
+first_port="${2:-8112}"
+seed="${3:-42}"
+
+cd "$(dirname "$0")/.."
+./gradlew -q server:bootJar
+jar="$(ls server/build/libs/server-*.jar | grep -v -- '-plain' | head -n 1)"
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null; wait' EXIT INT TERM
+
+for ((i = 0; i < instances; i++)); do
+    port=$((first_port + i))
+    java -jar "$jar" --server.port="$port" --mock.employees.seed="$seed" > "server/build/mock-$port.log" 2>&1 &
+    pids+=("$!")
+    echo "Mock Employee API instance on port $port (log: server/build/mock-$port.log)"
+done
+
+wait
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+#
+# Starts a sharded Mock Employee API: shard processes on the ports after the router's, each owning the employees whose
+# ids hash to it, and a router on the given port that serves the usual employee API over all of them. Stops them all
+# on Ctrl-C.
+#
+#   scripts/start-sharded-cluster.sh [shards] [router-port] [seed]
+#
+# The API module needs no changes; it talks to the router as it would to a single server.
+
+set -euo pipefail
+
+shards="${1:-3}"
+router_port="${2:-8112}"
+seed="${3:-42}"
+
+cd "$(dirname "$0")/.."
+./gradlew -q server:bootJar
+jar="$(ls server/build/libs/server-*.jar | grep -v -- '-plain' | head -n 1)"
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null; wait' EXIT INT TERM
+
+shard_uris=()
+for ((i = 0; i < shards; i++)); do
+    port=$((router_port + 1 + i))
+    java -jar "$jar" --server.port="$port" --mock.employees.seed="$seed" \
+        --mock.shard.count="$shards" --mock.shard.index="$i" > "server/build/shard-$port.log" 2>&1 &
+    pids+=("$!")
+    shard_uris+=("http://localhost:$port")
+    echo "Shard $i on port $port (log: server/build/shard-$port.log)"
+done
+
+java -jar "$jar" --spring.profiles.active=router --server.port="$router_port" \
+    --mock.router.shards="$(IFS=,; echo "${shard_uris[*]}")" > "server/build/router-$router_port.log" 2>&1 &
+pids+=("$!")
+echo "Router on port $router_port (log: server/build/router-$router_port.log)"
+
+wait
@@ -1,43 +1,100 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.fault.FaultInjectionFilter;
+import com.reliaquest.server.fault.FaultInjector;
+import com.reliaquest.server.fault.FaultProperties;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.ShardRing;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(FaultProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final Environment environment;
+
+    /*
+     * With mock.employees.seed set, every instance started with the same seed generates the same employees, so several
+     * instances can stand in for one horizontally scaled upstream.
+     */
+    @Bean
+    public Faker faker(@Value("${mock.employees.seed:#{null}}") Long seed) {
+        return seed == null ? new Faker(Locale.getDefault()) : new Faker(Locale.getDefault(), new Random(seed));
+    }
+
+    /*
+     * Registered alongside the JSON converter so clients may negotiate the compact binary encoding via Accept.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    /*
+     * With mock.shard.count above one, this instance is one shard of a cluster and keeps only the employees it owns out
+     * of the mock.employees.max generated, so shards started with the same seed split one roster between them. An index
+     * outside the ring would own no employees and never find an id for a new one, so it stops startup instead.
+     */
     @Bean
-    public Faker faker() {
-        return new Faker(Locale.getDefault());
+    public ShardRing shardRing(
+            @Value("${mock.shard.count:1}") int shardCount, @Value("${mock.shard.index:0}") int shardIndex) {
+        final var shardRing = new ShardRing(shardCount);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("mock.shard.index must be between 0 and " + (shardCount - 1)
+                    + " for mock.shard.count " + shardCount + ", got " + shardIndex);
+        }
+        return shardRing;
     }
 
     /*
      * This list is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            ShardRing shardRing,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.shard.index:0}") int shardIndex) {
         final var transformer = new JavaObjectTransformer();
+        final Supplier<UUID> ids = seed == null ? UUID::randomUUID : seededIds(new Random(seed));
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", ids),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -48,12 +105,45 @@ public class ServerConfiguration implements WebMvcConfigurer {
                                 faker.twitter().userName().toLowerCase())));
         return IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
+                .filter(mockEmployee -> shardRing.ownerOf(mockEmployee.getId()) == shardIndex)
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /*
+     * Version 4 UUIDs drawn from a seeded generator instead of SecureRandom.
+     */
+    private static Supplier<UUID> seededIds(Random random) {
+        return () -> {
+            final var bytes = new byte[16];
+            random.nextBytes(bytes);
+            bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40);
+            bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80);
+            final var buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        };
+    }
+
+    /*
+     * Runs ahead of everything else, so injected latency and errors also precede the rate limit's 429s.
+     */
+    @Bean
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(
+            FaultInjector faultInjector, ObjectMapper objectMapper) {
+        final var registration =
+                new FilterRegistrationBean<>(new FaultInjectionFilter(faultInjector, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /*
+     * The router leaves rate limiting to the shards behind it and passes their 429s on. Admin calls are never limited.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!environment.acceptsProfiles(Profiles.of("router"))) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor()).excludePathPatterns("/admin/**");
+        }
     }
 }
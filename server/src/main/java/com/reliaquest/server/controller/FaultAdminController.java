@@ -0,0 +1,53 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.fault.FaultInjector;
+import com.reliaquest.server.fault.FaultRule;
+import com.reliaquest.server.model.Response;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reads and replaces the fault rules at runtime: {@code PUT} swaps in a new list, {@code DELETE} restores the ones
+ * configured under {@code mock.faults.rules}. Admin calls are neither rate limited nor subject to faults.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+public class FaultAdminController {
+
+    private final FaultInjector faultInjector;
+
+    @GetMapping()
+    public Response<List<FaultRule>> getRules() {
+        return Response.handledWith(faultInjector.rules());
+    }
+
+    @PutMapping()
+    public Response<List<FaultRule>> replaceRules(@RequestBody List<FaultRule> rules) {
+        faultInjector.replace(rules);
+        return Response.handledWith(faultInjector.rules());
+    }
+
+    @DeleteMapping()
+    public Response<List<FaultRule>> resetRules() {
+        faultInjector.reset();
+        return Response.handledWith(faultInjector.rules());
+    }
+
+    /*
+     * Rules are checked as they are read, so an invalid one surfaces as an unreadable body.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<Response<?>> handleInvalidRules(HttpMessageNotReadableException ex) {
+        return ResponseEntity.badRequest().body(Response.error(ex.getMostSpecificCause().getMessage()));
+    }
+}
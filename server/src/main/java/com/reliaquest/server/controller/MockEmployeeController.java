@@ -1,14 +1,21 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.ChangeFeed;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.ChangeLog;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterResponseCache;
+import com.reliaquest.server.web.WireFormat;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,19 +23,47 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
+@Profile("!router")
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    public static final String ROSTER_EPOCH_HEADER = "X-Roster-Epoch";
+
+    private static final long MAX_CHANGES_WAIT_MS = 30_000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final RosterResponseCache rosterResponseCache;
+    private final ChangeLog changeLog;
 
+    /*
+     * Served from pre-encoded bytes; the body is identical to Response.handledWith(mockEmployees) in the negotiated
+     * wire format. Already gzipped bodies carry Content-Encoding, which makes Tomcat skip its own compression. The
+     * version and epoch headers let change-feed clients resume from exactly this roster.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        final var format = WireFormat.negotiate(accept);
+        final var encoded = rosterResponseCache.encoded(format);
+        final var response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .header(ROSTER_VERSION_HEADER, String.valueOf(encoded.version()))
+                .header(ROSTER_EPOCH_HEADER, changeLog.getEpoch());
+        if (encoded.gzipped() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzipped());
+        }
+        return response.body(encoded.body());
     }
 
     @GetMapping("/{id}")
@@ -39,13 +74,97 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    @GetMapping("/query/search")
+    public Response<List<MockEmployee>> searchEmployees(
+            @RequestParam("name") String name,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return Response.handledWith(
+                mockEmployeeService.searchByName(name, limit == null ? Integer.MAX_VALUE : Math.max(1, limit)));
+    }
+
+    @GetMapping("/query/highestSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.highestSalary().orElse(0));
+    }
+
+    @GetMapping("/query/topSalaries")
+    public Response<List<MockEmployee>> getTopSalaries(
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.topBySalary(Math.max(1, limit)));
+    }
+
+    /*
+     * Long-polls for up to waitMs when there is nothing newer than the given sequence yet.
+     */
+    @GetMapping("/changes")
+    public DeferredResult<Response<ChangeFeed>> getChanges(
+            @RequestParam("since") long since,
+            @RequestParam(value = "epoch", required = false) String epoch,
+            @RequestParam(value = "waitMs", defaultValue = "0") long waitMs,
+            @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        final var boundedLimit = Math.max(1, limit);
+        final var boundedWait = Math.min(Math.max(0, waitMs), MAX_CHANGES_WAIT_MS);
+        final var nextChange = changeLog.nextChange();
+        final var feed = changeLog.since(epoch, since, boundedLimit);
+        final var result = new DeferredResult<Response<ChangeFeed>>(
+                boundedWait, () -> Response.handledWith(changeLog.since(epoch, since, boundedLimit)));
+        if (boundedWait == 0 || feed.resyncRequired() || !feed.events().isEmpty()) {
+            result.setResult(Response.handledWith(feed));
+        } else {
+            nextChange.thenRun(
+                    () -> result.setResult(Response.handledWith(changeLog.since(epoch, since, boundedLimit))));
+        }
+        return result;
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Counts as a single request against the random request limit, however many employees it creates.
+     */
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(@Valid @RequestBody CreateMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.createAll(input.getEmployees()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Whether Accept-Encoding allows gzip: listed by name, or covered by "*" when not listed, with a q-value above
+     * zero. Codings with an unreadable q-value are ignored.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String element : acceptEncoding.split(",")) {
+            final var parts = element.split(";");
+            final var coding = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                final var parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = -1;
+                    }
+                }
+            }
+            if (coding.equalsIgnoreCase("gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
 }
@@ -0,0 +1,99 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.shard.ShardRouter;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * The employee API of a sharded cluster, served by the router in place of {@link MockEmployeeController}. Responses
+ * match a single server's, except that the roster carries no version headers and there is no change feed, since
+ * shards number their changes independently; clients fall back to reading the roster whole.
+ */
+@RestController
+@Profile("router")
+@RequestMapping("/api/v1/employee")
+@RequiredArgsConstructor
+public class ShardRouterController {
+
+    private final ShardRouter shardRouter;
+
+    @GetMapping()
+    public Response<List<MockEmployee>> getEmployees() {
+        return Response.handledWith(shardRouter.getAll());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+        return shardRouter
+                .findById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    @GetMapping("/query/search")
+    public Response<List<MockEmployee>> searchEmployees(
+            @RequestParam("name") String name,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return Response.handledWith(
+                shardRouter.searchByName(name, limit == null ? Integer.MAX_VALUE : Math.max(1, limit)));
+    }
+
+    @GetMapping("/query/highestSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(shardRouter.highestSalary());
+    }
+
+    @GetMapping("/query/topSalaries")
+    public Response<List<MockEmployee>> getTopSalaries(
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(shardRouter.topBySalary(Math.max(1, limit)));
+    }
+
+    @PostMapping()
+    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
+        return Response.handledWith(shardRouter.create(input));
+    }
+
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(@Valid @RequestBody CreateMockEmployeesInput input) {
+        return Response.handledWith(shardRouter.createAll(input));
+    }
+
+    @DeleteMapping()
+    public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
+        return Response.handledWith(shardRouter.delete(input));
+    }
+
+    /*
+     * A shard's error answer, 429s above all, reaches the client as the shard gave it.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<byte[]> handleShardError(HttpStatusCodeException ex) {
+        final var response = ResponseEntity.status(ex.getStatusCode());
+        final var headers = ex.getResponseHeaders();
+        if (headers != null && headers.getContentType() != null) {
+            response.contentType(headers.getContentType());
+        }
+        return response.body(ex.getResponseBodyAsByteArray());
+    }
+}
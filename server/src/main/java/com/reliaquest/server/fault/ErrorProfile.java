@@ -0,0 +1,65 @@
+package com.reliaquest.server.fault;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fractions of requests that fail instead of being handled: {@code rate} answered with {@code status}, {@code
+ * timeoutRate} left hanging for {@code timeout} before the connection is dropped unanswered, and {@code resetRate}
+ * dropped straight after the response headers, which clients see as the connection closing mid-response.
+ */
+public record ErrorProfile(Double rate, Integer status, Double timeoutRate, Duration timeout, Double resetRate) {
+
+    private static final int DEFAULT_STATUS = 503;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    public ErrorProfile {
+        rate = fraction("errors.rate", rate);
+        timeoutRate = fraction("errors.timeout-rate", timeoutRate);
+        resetRate = fraction("errors.reset-rate", resetRate);
+        if (rate + timeoutRate + resetRate > 1) {
+            throw new IllegalArgumentException("errors rates must add up to at most 1");
+        }
+        if (status == null) {
+            status = DEFAULT_STATUS;
+        } else if (status < 400 || status > 599) {
+            throw new IllegalArgumentException("errors.status must be a 4xx or 5xx status, got " + status);
+        }
+        if (timeout == null) {
+            timeout = DEFAULT_TIMEOUT;
+        } else if (timeout.isNegative()) {
+            throw new IllegalArgumentException("errors.timeout must be zero or more, got " + timeout);
+        }
+    }
+
+    public Fault roll(RandomGenerator random) {
+        final var roll = random.nextDouble();
+        if (roll < resetRate) {
+            return Fault.RESET;
+        }
+        if (roll < resetRate + timeoutRate) {
+            return Fault.TIMEOUT;
+        }
+        if (roll < resetRate + timeoutRate + rate) {
+            return Fault.STATUS;
+        }
+        return Fault.NONE;
+    }
+
+    private static double fraction(String name, Double value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1, got " + value);
+        }
+        return value;
+    }
+
+    public enum Fault {
+        NONE,
+        STATUS,
+        TIMEOUT,
+        RESET
+    }
+}
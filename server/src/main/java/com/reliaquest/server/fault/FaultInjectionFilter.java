@@ -0,0 +1,173 @@
+package com.reliaquest.server.fault;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the {@link FaultInjector}'s rule for a request: sleeps for a sampled latency, then either fails the request
+ * as its error profile rolls or hands it on, with the response body paced to the rule's bytes per second if it has
+ * one. Delays hold the Tomcat worker thread, like a slow upstream would.
+ *
+ * <p>Dropped connections are emulated by committing headers that promise a body, asking Tomcat to close the connection
+ * and sending nothing more; clients see the connection end mid-response.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private static final long PACING_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final FaultInjector faultInjector;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var path = request.getRequestURI().substring(request.getContextPath().length());
+        final var rule = faultInjector.match(request.getMethod(), path).orElse(null);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final var random = ThreadLocalRandom.current();
+        if (rule.latency() != null) {
+            sleep(rule.latency().sample(random));
+        }
+        final var fault = rule.errors() == null ? ErrorProfile.Fault.NONE : rule.errors().roll(random);
+        switch (fault) {
+            case STATUS -> {
+                log.debug("event=fault_injected fault=status status={} path={}", rule.errors().status(), path);
+                response.setStatus(rule.errors().status());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault"));
+            }
+            case TIMEOUT -> {
+                log.debug("event=fault_injected fault=timeout timeout={} path={}", rule.errors().timeout(), path);
+                sleep(rule.errors().timeout());
+                dropConnection(response);
+            }
+            case RESET -> {
+                log.debug("event=fault_injected fault=reset path={}", path);
+                dropConnection(response);
+            }
+            case NONE -> filterChain.doFilter(
+                    request,
+                    rule.bodyBytesPerSecond() == null
+                            ? response
+                            : new PacedResponse(response, rule.bodyBytesPerSecond()));
+        }
+    }
+
+    private static void dropConnection(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(1);
+        response.flushBuffer();
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Writes the body in slices of a tenth of a second's worth of bytes, flushing each and sleeping until it is due.
+     * Only the output stream is paced; every handler here writes through it.
+     */
+    private static final class PacedResponse extends HttpServletResponseWrapper {
+
+        private final int bytesPerSecond;
+        private ServletOutputStream pacedStream;
+
+        PacedResponse(HttpServletResponse response, int bytesPerSecond) {
+            super(response);
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (pacedStream == null) {
+                pacedStream = new PacedOutputStream(super.getOutputStream(), bytesPerSecond);
+            }
+            return pacedStream;
+        }
+    }
+
+    private static final class PacedOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final int bytesPerSecond;
+        private final int sliceBytes;
+        private final long startedAt = System.nanoTime();
+        private long written;
+
+        PacedOutputStream(ServletOutputStream delegate, int bytesPerSecond) {
+            this.delegate = delegate;
+            this.bytesPerSecond = bytesPerSecond;
+            this.sliceBytes = (int) Math.max(1, bytesPerSecond * PACING_INTERVAL_NANOS / TimeUnit.SECONDS.toNanos(1));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                final var slice = Math.min(length, sliceBytes);
+                delegate.write(bytes, offset, slice);
+                delegate.flush();
+                written += slice;
+                offset += slice;
+                length -= slice;
+                final var dueAt = startedAt + written * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+                sleep(Duration.ofNanos(Math.max(0, dueAt - System.nanoTime())));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
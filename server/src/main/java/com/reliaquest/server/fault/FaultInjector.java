@@ -0,0 +1,66 @@
+package com.reliaquest.server.fault;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Holds the active fault rules, starting from {@link FaultProperties} and replaced whole through the admin endpoint.
+ * The first rule matching a request's method and path applies; requests matching none are left alone.
+ */
+@Slf4j
+@Component
+public class FaultInjector {
+
+    private final List<FaultRule> configured;
+    private volatile List<CompiledRule> active;
+
+    public FaultInjector(FaultProperties properties) {
+        this.configured = properties.rules();
+        this.active = compile(configured);
+        if (!configured.isEmpty()) {
+            log.info("event=fault_rules_configured rules={}", configured);
+        }
+    }
+
+    public List<FaultRule> rules() {
+        return active.stream().map(CompiledRule::rule).toList();
+    }
+
+    public void replace(@NonNull List<FaultRule> rules) {
+        active = compile(rules);
+        log.info("event=fault_rules_replaced rules={}", rules);
+    }
+
+    public void reset() {
+        active = compile(configured);
+        log.info("event=fault_rules_reset rules={}", configured);
+    }
+
+    public Optional<FaultRule> match(String method, String path) {
+        final var rules = active;
+        if (rules.isEmpty()) {
+            return Optional.empty();
+        }
+        final var pathContainer = PathContainer.parsePath(path);
+        for (final var rule : rules) {
+            if ((rule.rule().method() == null || rule.rule().method().equals(method))
+                    && rule.pattern().matches(pathContainer)) {
+                return Optional.of(rule.rule());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<CompiledRule> compile(List<FaultRule> rules) {
+        return rules.stream()
+                .map(rule -> new CompiledRule(rule, rule.pattern()))
+                .toList();
+    }
+
+    private record CompiledRule(FaultRule rule, PathPattern pattern) {}
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.fault;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Fault rules to start with, bound from {@code mock.faults.rules}. The admin endpoint can replace them at runtime.
+ */
+@ConfigurationProperties("mock.faults")
+public record FaultProperties(List<FaultRule> rules) {
+
+    public FaultProperties {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+}
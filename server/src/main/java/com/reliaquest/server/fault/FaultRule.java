@@ -0,0 +1,31 @@
+package com.reliaquest.server.fault;
+
+import java.util.Locale;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Faults injected into requests matching {@code path}, a Spring path pattern such as {@code /api/v1/employee/*}, and
+ * {@code method} when one is given. Any of latency, errors and a slow body may be left out.
+ */
+public record FaultRule(
+        String method, String path, LatencyProfile latency, ErrorProfile errors, Integer bodyBytesPerSecond) {
+
+    public FaultRule {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("A fault rule needs a path pattern");
+        }
+        if (method != null) {
+            method = method.toUpperCase(Locale.ROOT);
+        }
+        if (bodyBytesPerSecond != null && bodyBytesPerSecond < 1) {
+            throw new IllegalArgumentException("body-bytes-per-second must be at least 1, got " + bodyBytesPerSecond);
+        }
+        // Fails here rather than on the first request if the pattern does not parse.
+        PathPatternParser.defaultInstance.parse(path);
+    }
+
+    PathPattern pattern() {
+        return PathPatternParser.defaultInstance.parse(path);
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.server.fault;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of the delay added before a request is handled. {@code base} is the fixed delay, the mean of the normal
+ * distribution or the minimum of the Pareto one; {@code spread} is the normal distribution's standard deviation and
+ * {@code shape} the Pareto tail index, where lower values give a longer tail. Samples never exceed {@code max}.
+ */
+public record LatencyProfile(
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES) Distribution distribution,
+        Duration base,
+        Duration spread,
+        Double shape,
+        Duration max) {
+
+    private static final Duration DEFAULT_MAX = Duration.ofSeconds(30);
+
+    public LatencyProfile {
+        if (distribution == null) {
+            throw new IllegalArgumentException("latency.distribution is required: fixed, normal or pareto");
+        }
+        if (base == null || base.isNegative()) {
+            throw new IllegalArgumentException("latency.base must be zero or more, got " + base);
+        }
+        if (distribution == Distribution.NORMAL && (spread == null || spread.isNegative())) {
+            throw new IllegalArgumentException("latency.spread must be zero or more for a normal distribution");
+        }
+        if (distribution == Distribution.PARETO && (shape == null || shape <= 0)) {
+            throw new IllegalArgumentException("latency.shape must be above zero for a Pareto distribution");
+        }
+        if (max == null) {
+            max = DEFAULT_MAX;
+        }
+    }
+
+    public Duration sample(RandomGenerator random) {
+        final long nanos =
+                switch (distribution) {
+                    case FIXED -> base.toNanos();
+                    case NORMAL -> Math.round(base.toNanos() + spread.toNanos() * random.nextGaussian());
+                    case PARETO -> Math.round(base.toNanos() / Math.pow(1 - random.nextDouble(), 1 / shape));
+                };
+        return Duration.ofNanos(Math.max(0, Math.min(nanos, max.toNanos())));
+    }
+
+    public enum Distribution {
+        FIXED,
+        NORMAL,
+        PARETO
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * A single roster mutation. Sequences start at 1 and match the roster version the mutation produced.
+ */
+public record ChangeEvent(long sequence, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
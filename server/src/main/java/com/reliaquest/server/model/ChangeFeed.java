@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after a client's last seen sequence. {@code resyncRequired} is set when the client fell behind the retained
+ * history (or comes from another server epoch) and must reload the full roster instead.
+ */
+public record ChangeFeed(String epoch, long latestSequence, boolean resyncRequired, List<ChangeEvent> events) {}
@@ -0,0 +1,17 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class CreateMockEmployeesInput {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    @NotEmpty
+    @Size(max = MAX_BATCH_SIZE)
+    private List<@Valid CreateMockEmployeeInput> employees;
+}
@@ -6,9 +6,11 @@ import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.NonNull;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
@@ -22,8 +24,13 @@ public class MockEmployee {
     private String email;
 
     public static MockEmployee from(@NonNull String email, @NonNull CreateMockEmployeeInput input) {
+        return from(UUID.randomUUID(), email, input);
+    }
+
+    public static MockEmployee from(
+            @NonNull UUID id, @NonNull String email, @NonNull CreateMockEmployeeInput input) {
         return MockEmployee.builder()
-                .id(UUID.randomUUID())
+                .id(id)
                 .email(email)
                 .name(input.getName())
                 .salary(input.getSalary())
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Immutable copy of the roster taken at a given roster version.
+ */
+public record RosterSnapshot(long version, List<MockEmployee> employees) {}
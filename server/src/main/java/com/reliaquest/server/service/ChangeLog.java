@@ -0,0 +1,63 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.ChangeEvent;
+import com.reliaquest.server.model.ChangeFeed;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded ring buffer of the most recent roster mutations. The epoch changes on every server start, so clients can
+ * tell a restarted roster apart from one they have already synced.
+ */
+@Component
+public class ChangeLog {
+
+    @Getter
+    private final String epoch = UUID.randomUUID().toString();
+
+    private final ChangeEvent[] ring;
+    private long latestSequence;
+    private CompletableFuture<Void> nextChange = new CompletableFuture<>();
+
+    public ChangeLog(@Value("${mock.changes.capacity:1024}") int capacity) {
+        this.ring = new ChangeEvent[capacity];
+    }
+
+    public void append(ChangeEvent event) {
+        final CompletableFuture<Void> waiting;
+        synchronized (this) {
+            ring[(int) (event.sequence() % ring.length)] = event;
+            latestSequence = event.sequence();
+            waiting = nextChange;
+            nextChange = new CompletableFuture<>();
+        }
+        waiting.complete(null);
+    }
+
+    /*
+     * Completes on the next append; long-polling clients fetch this before reading the feed so no change is missed.
+     */
+    public synchronized CompletableFuture<Void> nextChange() {
+        return nextChange;
+    }
+
+    public synchronized ChangeFeed since(String clientEpoch, long sequence, int limit) {
+        final var oldestRetained = Math.max(1, latestSequence - ring.length + 1);
+        if ((clientEpoch != null && !epoch.equals(clientEpoch))
+                || sequence > latestSequence
+                || sequence + 1 < oldestRetained) {
+            return new ChangeFeed(epoch, latestSequence, true, List.of());
+        }
+        final var upTo = Math.min(latestSequence, sequence + limit);
+        final var events = new ArrayList<ChangeEvent>((int) (upTo - sequence));
+        for (var next = sequence + 1; next <= upTo; next++) {
+            events.add(ring[(int) (next % ring.length)]);
+        }
+        return new ChangeFeed(epoch, latestSequence, false, events);
+    }
+}
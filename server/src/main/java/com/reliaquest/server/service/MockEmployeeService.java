@@ -1,58 +1,181 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.ChangeEvent;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterSnapshot;
+import com.reliaquest.server.shard.ShardRing;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
+    private static final Comparator<MockEmployee> BY_SALARY_DESCENDING = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .reversed()
+            .thenComparing(MockEmployee::getId, Comparator.nullsLast(Comparator.<UUID>naturalOrder()));
+
     private final Faker faker;
+    private final ChangeLog changeLog;
+    private final ShardRing shardRing;
+    private final int shardIndex;
 
     @Getter
     private final List<MockEmployee> mockEmployees;
 
+    /*
+     * Bumped on every roster mutation so encoded responses can be cached per version; doubles as the change sequence.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /*
+     * Secondary indexes over mockEmployees, maintained on every create and delete.
+     */
+    private final Map<UUID, MockEmployee> employeesById = new ConcurrentHashMap<>();
+    private final Map<UUID, String> lowerCaseNamesById = new ConcurrentHashMap<>();
+    private final NavigableSet<MockEmployee> employeesBySalary = new ConcurrentSkipListSet<>(BY_SALARY_DESCENDING);
+
+    public MockEmployeeService(
+            Faker faker,
+            ChangeLog changeLog,
+            List<MockEmployee> mockEmployees,
+            ShardRing shardRing,
+            @Value("${mock.shard.index:0}") int shardIndex) {
+        this.faker = faker;
+        this.changeLog = changeLog;
+        this.shardRing = shardRing;
+        this.shardIndex = shardIndex;
+        this.mockEmployees = mockEmployees;
+        mockEmployees.forEach(this::index);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public synchronized RosterSnapshot snapshot() {
+        return new RosterSnapshot(version.get(), List.copyOf(mockEmployees));
+    }
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(employeesById.get(uuid));
+    }
+
+    /*
+     * Matches in roster order, the order the full list is served in, so a limited search always returns the same
+     * employees for the same roster. Scans under the lock, as the roster list is only safe to iterate there.
+     */
+    public synchronized List<MockEmployee> searchByName(@NonNull String fragment, int limit) {
+        final var lowerCaseFragment = fragment.toLowerCase(Locale.ROOT);
         return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
+                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId()))
+                .filter(mockEmployee -> {
+                    final var lowerCaseName = lowerCaseNamesById.get(mockEmployee.getId());
+                    return lowerCaseName != null && lowerCaseName.contains(lowerCaseFragment);
+                })
+                .limit(limit)
+                .toList();
+    }
+
+    public Optional<Integer> highestSalary() {
+        return employeesBySalary.stream()
+                .map(MockEmployee::getSalary)
+                .filter(Objects::nonNull)
                 .findFirst();
     }
 
-    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+    public List<MockEmployee> topBySalary(int limit) {
+        return employeesBySalary.stream()
+                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getSalary()))
+                .limit(limit)
+                .toList();
+    }
+
+    public synchronized MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
+                newOwnedId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
         mockEmployees.add(mockEmployee);
+        index(mockEmployee);
+        changeLog.append(new ChangeEvent(version.incrementAndGet(), ChangeEvent.Type.CREATED, mockEmployee));
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
+    /*
+     * Creates every employee under one lock, so the batch lands as consecutive change events.
+     */
+    public synchronized List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        return inputs.stream().map(this::create).toList();
+    }
+
+    public synchronized boolean delete(@NonNull DeleteMockEmployeeInput input) {
         final var mockEmployee = mockEmployees.stream()
                 .filter(employee -> Objects.nonNull(employee.getName())
                         && employee.getName().equalsIgnoreCase(input.getName()))
                 .findFirst();
         if (mockEmployee.isPresent()) {
             mockEmployees.remove(mockEmployee.get());
+            unindex(mockEmployee.get());
+            changeLog.append(
+                    new ChangeEvent(version.incrementAndGet(), ChangeEvent.Type.DELETED, mockEmployee.get()));
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    /*
+     * A random id that hashes to this shard, so the router finds the employee where it was created. Takes about as
+     * many draws as there are shards.
+     */
+    private UUID newOwnedId() {
+        UUID id;
+        do {
+            id = UUID.randomUUID();
+        } while (shardRing.ownerOf(id) != shardIndex);
+        return id;
+    }
+
+    private void index(MockEmployee mockEmployee) {
+        if (Objects.isNull(mockEmployee.getId())) {
+            return;
+        }
+        employeesById.put(mockEmployee.getId(), mockEmployee);
+        if (Objects.nonNull(mockEmployee.getName())) {
+            lowerCaseNamesById.put(mockEmployee.getId(), mockEmployee.getName().toLowerCase(Locale.ROOT));
+        }
+        employeesBySalary.add(mockEmployee);
+    }
+
+    private void unindex(MockEmployee mockEmployee) {
+        if (Objects.isNull(mockEmployee.getId())) {
+            return;
+        }
+        employeesById.remove(mockEmployee.getId());
+        lowerCaseNamesById.remove(mockEmployee.getId());
+        employeesBySalary.remove(mockEmployee);
+    }
 }
@@ -0,0 +1,97 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.WireFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Keeps the encoded body of {@code GET /api/v1/employee} for the current roster version, so repeated full-list reads
+ * cost a buffer copy instead of a reflective serialization of every employee. Any create or delete bumps the roster
+ * version in {@link MockEmployeeService}, which invalidates the cached bytes on the next read.
+ *
+ * <p>Bodies above the configured compression threshold are also kept gzip-compressed, so compressed responses do not
+ * pay the deflate cost on every request either.
+ */
+@Slf4j
+@Component
+public class RosterResponseCache {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final boolean compressionEnabled;
+    private final long compressionMinSize;
+    private final Map<WireFormat, ObjectMapper> objectMappers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, EncodedRoster> encodedRosters = new ConcurrentHashMap<>();
+
+    public RosterResponseCache(
+            MockEmployeeService mockEmployeeService,
+            ObjectMapper objectMapper,
+            MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter,
+            @Value("${server.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${server.compression.min-response-size:2KB}") DataSize compressionMinSize) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionMinSize = compressionMinSize.toBytes();
+        this.objectMappers.put(WireFormat.JSON, objectMapper);
+        this.objectMappers.put(WireFormat.SMILE, smileHttpMessageConverter.getObjectMapper());
+    }
+
+    public EncodedRoster encoded(WireFormat format) {
+        final var cached = encodedRosters.get(format);
+        if (cached != null && cached.version() == mockEmployeeService.getVersion()) {
+            return cached;
+        }
+        return encode(format);
+    }
+
+    private synchronized EncodedRoster encode(WireFormat format) {
+        final var snapshot = mockEmployeeService.snapshot();
+        final var cached = encodedRosters.get(format);
+        if (cached != null && cached.version() == snapshot.version()) {
+            return cached;
+        }
+        try {
+            final var body =
+                    objectMappers.get(format).writeValueAsBytes(Response.handledWith(snapshot.employees()));
+            final var gzipped = compressionEnabled && body.length >= compressionMinSize ? gzip(body) : null;
+            final var encoded = new EncodedRoster(snapshot.version(), body, gzipped);
+            encodedRosters.put(format, encoded);
+            log.debug(
+                    "Encoded roster version {} as {} ({} bytes, {} gzipped)",
+                    snapshot.version(),
+                    format,
+                    body.length,
+                    gzipped == null ? "not" : gzipped.length);
+            return encoded;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode employee roster.", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        final var buffer = new ByteArrayOutputStream(body.length / 4);
+        try (var gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * @param gzipped the gzip-compressed body, or {@code null} when the body is below the compression threshold
+     */
+    public record EncodedRoster(long version, byte[] body, byte[] gzipped) {}
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.server.shard;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Consistent hash ring deciding which of {@code shards} owns an employee id. Every shard is placed on the ring at
+ * {@link #VIRTUAL_NODES} points and owns the ids hashing up to each of them, which spreads ids evenly and means adding
+ * a shard moves only about 1/N of them. Shards and the router build the same ring from the shard count alone.
+ */
+public class ShardRing {
+
+    public static final int VIRTUAL_NODES = 128;
+
+    @Getter
+    private final int shards;
+
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    public ShardRing(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("A shard ring needs at least one shard, got " + shards);
+        }
+        this.shards = shards;
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                ring.put(mix(((long) shard << 32) | node), shard);
+            }
+        }
+    }
+
+    public int ownerOf(@NonNull UUID id) {
+        final var position = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        final Map.Entry<Long, Integer> entry = ring.ceilingEntry(position);
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    /*
+     * SplitMix64 finalizer; random UUIDs are already uniform, but seeded or hand-written ones need not be.
+     */
+    private static long mix(long value) {
+        var z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,216 @@
+package com.reliaquest.server.shard;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Fronts a cluster of mock employee shards as if it were one server. Point reads go to the shard owning the id on the
+ * {@link ShardRing}; list, search and aggregate calls are sent to every shard at once and their answers merged. Shards
+ * choose ids they own when creating, so creates go round-robin and still land where later reads look for them.
+ *
+ * <p>Deletes address employees by name, which says nothing about ownership, so they try the shards in turn until one
+ * removes a match. Errors a shard answers with, including its 429s, are passed through unchanged.
+ */
+@Slf4j
+@Service
+@Profile("router")
+public class ShardRouter implements DisposableBean {
+
+    private static final String BASE_PATH = "/api/v1/employee";
+    private static final Comparator<MockEmployee> BY_SALARY_DESCENDING = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .reversed()
+            .thenComparing(MockEmployee::getId, Comparator.nullsLast(Comparator.<UUID>naturalOrder()));
+
+    private final List<URI> shards;
+    private final ShardRing ring;
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final AtomicInteger nextWriteShard = new AtomicInteger();
+
+    public ShardRouter(
+            RestTemplateBuilder restTemplateBuilder,
+            @Value("${mock.router.shards}") List<URI> shards,
+            @Value("${mock.router.timeout:5s}") Duration timeout) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("mock.router.shards must list at least one shard");
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = new ShardRing(shards.size());
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .build();
+        final var threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards.size() * 4, runnable -> {
+            final var thread = new Thread(runnable, "shard-router-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Routing to {} shards: {}", shards.size(), shards);
+    }
+
+    public List<MockEmployee> getAll() {
+        return scatter(shard -> get(uri(shard, ""), new ParameterizedTypeReference<Response<List<MockEmployee>>>() {}))
+                .stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        try {
+            return Optional.ofNullable(get(
+                    uri(shards.get(ring.ownerOf(id)), "/" + id),
+                    new ParameterizedTypeReference<Response<MockEmployee>>() {}));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    public List<MockEmployee> searchByName(@NonNull String fragment, int limit) {
+        return scatter(shard -> get(
+                        UriComponentsBuilder.fromUri(uri(shard, "/query/search"))
+                                .queryParam("name", fragment)
+                                .queryParam("limit", limit)
+                                .encode()
+                                .build()
+                                .toUri(),
+                        new ParameterizedTypeReference<Response<List<MockEmployee>>>() {}))
+                .stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .limit(limit)
+                .toList();
+    }
+
+    public int highestSalary() {
+        return scatter(shard ->
+                        get(uri(shard, "/query/highestSalary"), new ParameterizedTypeReference<Response<Integer>>() {}))
+                .stream()
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(0);
+    }
+
+    /*
+     * The overall top n is among the union of every shard's top n.
+     */
+    public List<MockEmployee> topBySalary(int limit) {
+        return scatter(shard -> get(
+                        UriComponentsBuilder.fromUri(uri(shard, "/query/topSalaries"))
+                                .queryParam("limit", limit)
+                                .build()
+                                .toUri(),
+                        new ParameterizedTypeReference<Response<List<MockEmployee>>>() {}))
+                .stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .sorted(BY_SALARY_DESCENDING)
+                .limit(limit)
+                .toList();
+    }
+
+    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        return exchange(
+                uri(nextWriteShard(), ""),
+                HttpMethod.POST,
+                input,
+                new ParameterizedTypeReference<Response<MockEmployee>>() {});
+    }
+
+    /*
+     * The whole batch goes to one shard, so it still counts as a single request against that shard's limit.
+     */
+    public List<MockEmployee> createAll(@NonNull CreateMockEmployeesInput input) {
+        return exchange(
+                uri(nextWriteShard(), "/batch"),
+                HttpMethod.POST,
+                input,
+                new ParameterizedTypeReference<Response<List<MockEmployee>>>() {});
+    }
+
+    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
+        for (URI shard : shards) {
+            final Boolean deleted = exchange(
+                    uri(shard, ""), HttpMethod.DELETE, input, new ParameterizedTypeReference<Response<Boolean>>() {});
+            if (Boolean.TRUE.equals(deleted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /*
+     * Calls every shard concurrently and returns their answers in shard order; the first failure is rethrown as is.
+     */
+    private <T> List<T> scatter(Function<URI, T> call) {
+        final var futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> call.apply(shard), executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private URI nextWriteShard() {
+        return shards.get(Math.floorMod(nextWriteShard.getAndIncrement(), shards.size()));
+    }
+
+    private <T> T get(URI uri, ParameterizedTypeReference<Response<T>> type) {
+        return exchange(uri, HttpMethod.GET, null, type);
+    }
+
+    private <T> T exchange(URI uri, HttpMethod method, Object body, ParameterizedTypeReference<Response<T>> type) {
+        final var response = restTemplate.exchange(uri, method, body == null ? null : new HttpEntity<>(body), type);
+        return response.getBody() == null ? null : response.getBody().data();
+    }
+
+    private static URI uri(URI shard, String path) {
+        return UriComponentsBuilder.fromUri(shard)
+                .path(BASE_PATH)
+                .path(path)
+                .build()
+                .toUri();
+    }
+}
@@ -1,41 +1,56 @@
 package com.reliaquest.server.web;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+@Slf4j
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
     private static final Duration REQUEST_BACKOFF_DURATION =
             Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private static final long REJECTION_LOG_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
 
 //    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(1, 2);
 //    private static final Duration REQUEST_BACKOFF_DURATION =
 //        Duration.ofSeconds(RandomGenerator.getDefault().nextInt(1000, 2000));
 
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private final AtomicLong rejectedSinceLastLog = new AtomicLong();
+    private final AtomicLong lastRejectionLoggedAt = new AtomicLong(System.nanoTime() - REJECTION_LOG_INTERVAL_NANOS);
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Completion of a long-poll was already counted when the request first arrived.
+            return true;
+        }
         if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
-                System.out.println("*************Too many requests**************");
+                logRejection(request);
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isAfter(requestLimit.get().getLastRequested())) {
-                System.out.println("*************SET LIMIT**************");
+                log.info(
+                        "event=request_limit_reset limit={} backoff={}s rejected={}",
+                        REQUEST_LIMIT,
+                        REQUEST_BACKOFF_DURATION.toSeconds(),
+                        rejectedSinceLastLog.getAndSet(0));
                 requestLimit.set(RequestLimit.init());
             }
         } else {
@@ -46,6 +61,24 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    /*
+     * At most one line per second while throttling, carrying the number of requests rejected since the last one.
+     */
+    private void logRejection(HttpServletRequest request) {
+        final var rejected = rejectedSinceLastLog.incrementAndGet();
+        final var now = System.nanoTime();
+        final var last = lastRejectionLoggedAt.get();
+        if (now - last >= REJECTION_LOG_INTERVAL_NANOS && lastRejectionLoggedAt.compareAndSet(last, now)) {
+            log.warn(
+                    "event=request_limit_exceeded method={} path={} limit={} rejected={}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    REQUEST_LIMIT,
+                    rejected);
+            rejectedSinceLastLog.addAndGet(-rejected);
+        }
+    }
+
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
         public static RequestLimit init() {
             return new RequestLimit(0, Instant.now());
@@ -0,0 +1,41 @@
+package com.reliaquest.server.web;
+
+import lombok.Getter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Body encodings the mock server can answer with. JSON stays the default; Smile is only chosen when the client asks
+ * for it at least as strongly as for JSON.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    @Getter
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        double smileQuality = 0;
+        double jsonQuality = 0;
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (SMILE.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    smileQuality = Math.max(smileQuality, mediaType.getQualityValue());
+                } else if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                    jsonQuality = Math.max(jsonQuality, mediaType.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        return smileQuality > 0 && smileQuality >= jsonQuality ? SMILE : JSON;
+    }
+}